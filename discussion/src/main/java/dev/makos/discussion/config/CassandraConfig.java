@@ -0,0 +1,56 @@
+package dev.makos.discussion.config;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.CqlSessionBuilder;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.cassandra.DriverConfigLoaderBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.cassandra.SessionFactory;
+import org.springframework.data.cassandra.core.CassandraTemplate;
+import org.springframework.data.cassandra.core.convert.CassandraConverter;
+
+@EnableConfigurationProperties({CommentStorageProperties.class, CqlProperties.class})
+@Configuration
+public class CassandraConfig {
+
+    @Bean
+    public DriverConfigLoaderBuilderCustomizer cqlExecutionProfiles(CqlProperties properties) {
+        CqlProperties.Consistency consistency = properties.getConsistency();
+        CqlProperties.SpeculativeExecution speculativeExecution = properties.getSpeculativeExecution();
+        return builder -> builder
+                .startProfile(CqlOperation.READ.profileName())
+                .withString(DefaultDriverOption.REQUEST_CONSISTENCY, consistency.getRead().name())
+                .withBoolean(DefaultDriverOption.REQUEST_DEFAULT_IDEMPOTENCE, true)
+                .withString(DefaultDriverOption.SPECULATIVE_EXECUTION_POLICY_CLASS, "ConstantSpeculativeExecutionPolicy")
+                .withInt(DefaultDriverOption.SPECULATIVE_EXECUTION_MAX, speculativeExecution.getMaxExecutions())
+                .withDuration(DefaultDriverOption.SPECULATIVE_EXECUTION_DELAY, speculativeExecution.getDelay())
+                .endProfile()
+                .startProfile(CqlOperation.WRITE.profileName())
+                .withString(DefaultDriverOption.REQUEST_CONSISTENCY, consistency.getWrite().name())
+                .endProfile()
+                .startProfile(CqlOperation.COUNTER.profileName())
+                .withString(DefaultDriverOption.REQUEST_CONSISTENCY, consistency.getCounter().name())
+                .endProfile();
+    }
+
+    @Bean
+    @Lazy
+    public CqlSession cassandraSession(CqlSessionBuilder cqlSessionBuilder, MeterRegistry meterRegistry) {
+        return new ProfiledCqlSession(cqlSessionBuilder
+                .addRequestTracker(new CqlRequestMetrics(meterRegistry))
+                .build());
+    }
+
+    @Bean
+    public CassandraTemplate cassandraTemplate(SessionFactory sessionFactory,
+                                               CqlSession session,
+                                               CassandraConverter converter) {
+        return new CassandraTemplate(new DeadlineCqlTemplate(sessionFactory, session.getContext().getConfig()
+                .getDefaultProfile()
+                .getDuration(DefaultDriverOption.REQUEST_TIMEOUT)), converter);
+    }
+}
@@ -0,0 +1,33 @@
+package dev.makos.discussion.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "discussion.comment-storage")
+public class CommentStorageProperties {
+
+    private Phase phase = Phase.DUAL_WRITE_READ_OLD;
+    private boolean backfill;
+
+    /**
+     * Steps of the move from {@code tbl_comment}, partitioned by country only, to {@code tbl_comment_by_tweet},
+     * partitioned by country and tweet. Every instance must run a dual-write phase before the backfill starts,
+     * and the backfill must finish before reads switch to the new table.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Phase {
+        OLD(true, false, false),
+        DUAL_WRITE_READ_OLD(true, true, false),
+        DUAL_WRITE_READ_NEW(true, true, true),
+        NEW(false, true, true);
+
+        private final boolean writesOld;
+        private final boolean writesNew;
+        private final boolean readsNew;
+    }
+}
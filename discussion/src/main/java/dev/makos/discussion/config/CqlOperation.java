@@ -0,0 +1,50 @@
+package dev.makos.discussion.config;
+
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Kind of a CQL statement. Each kind runs with the driver execution profile of the same name, which carries
+ * the consistency level configured in {@link CqlProperties.Consistency}.
+ */
+public enum CqlOperation {
+
+    READ,
+    WRITE,
+    COUNTER;
+
+    private static final Pattern SELECT = Pattern.compile("^\\s*SELECT\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern COUNTER_UPDATE =
+            Pattern.compile("^\\s*UPDATE\\b.*\\bSET\\s+(\\w+)\\s*=\\s*\\1\\s*[+-]", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    public String profileName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Classifies by the CQL text: selects are reads, {@code SET c = c + ?} updates are counter writes and
+     * everything else is a write. Statements on counter tables that this rule misses, like reading a counter
+     * right after incrementing it, should set {@link #COUNTER} explicitly.
+     */
+    public static CqlOperation of(Statement<?> statement) {
+        if (statement instanceof BatchStatement batch) {
+            return batch.getBatchType() == DefaultBatchType.COUNTER ? COUNTER : WRITE;
+        }
+
+        String cql = switch (statement) {
+            case BoundStatement bound -> bound.getPreparedStatement().getQuery();
+            case SimpleStatement simple -> simple.getQuery();
+            default -> "";
+        };
+        if (SELECT.matcher(cql).find()) {
+            return READ;
+        }
+        return COUNTER_UPDATE.matcher(cql).find() ? COUNTER : WRITE;
+    }
+}
@@ -0,0 +1,58 @@
+package dev.makos.discussion.config;
+
+import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "discussion.cql")
+public class CqlProperties {
+
+    /**
+     * Statements sent to Cassandra but not answered yet. Further statements are rejected right away instead of
+     * queueing in the driver, so callers see overload as a 503 rather than as growing latency.
+     */
+    private int maxInFlight = 1024;
+
+    private final Consistency consistency = new Consistency();
+
+    private final SpeculativeExecution speculativeExecution = new SpeculativeExecution();
+
+    @Getter
+    @Setter
+    public static class Consistency {
+
+        private DefaultConsistencyLevel read = DefaultConsistencyLevel.LOCAL_ONE;
+
+        private DefaultConsistencyLevel write = DefaultConsistencyLevel.LOCAL_ONE;
+
+        /**
+         * Also used to read counters back, so an increment is visible to the read that follows it.
+         */
+        private DefaultConsistencyLevel counter = DefaultConsistencyLevel.LOCAL_QUORUM;
+
+    }
+
+    /**
+     * Applies to reads only, because the driver retries nothing that is not idempotent.
+     */
+    @Getter
+    @Setter
+    public static class SpeculativeExecution {
+
+        /**
+         * Executions of one read including the first; {@code 1} turns speculative execution off.
+         */
+        private int maxExecutions = 1;
+
+        /**
+         * Time to wait for a replica before asking the next one. Should sit near the p99 read latency.
+         */
+        private Duration delay = Duration.ofMillis(50);
+
+    }
+}
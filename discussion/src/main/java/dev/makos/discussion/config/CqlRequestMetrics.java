@@ -0,0 +1,59 @@
+package dev.makos.discussion.config;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.api.core.tracker.RequestTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every CQL statement, including its speculative executions, as one sample of
+ * {@code discussion.cql.requests}, tagged with the operation, the consistency level it ran with and the outcome.
+ */
+public class CqlRequestMetrics implements RequestTracker {
+
+    private final MeterRegistry meterRegistry;
+
+    public CqlRequestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onSuccess(Request request, long latencyNanos, DriverExecutionProfile executionProfile, Node node,
+                          String requestLogPrefix) {
+        record(request, latencyNanos, executionProfile, "success");
+    }
+
+    @Override
+    public void onError(Request request, Throwable error, long latencyNanos, DriverExecutionProfile executionProfile,
+                        Node node, String requestLogPrefix) {
+        record(request, latencyNanos, executionProfile, "error");
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private void record(Request request, long latencyNanos, DriverExecutionProfile executionProfile, String outcome) {
+        if (!(request instanceof Statement<?> statement)) {
+            return;
+        }
+
+        ConsistencyLevel consistency = statement.getConsistencyLevel();
+        Timer.builder("discussion.cql.requests")
+                .tag("operation", executionProfile.getName())
+                .tag("consistency", consistency != null
+                        ? consistency.name()
+                        : executionProfile.getString(DefaultDriverOption.REQUEST_CONSISTENCY))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+}
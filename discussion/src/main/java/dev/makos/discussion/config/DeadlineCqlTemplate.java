@@ -0,0 +1,46 @@
+package dev.makos.discussion.config;
+
+import com.datastax.oss.driver.api.core.cql.Statement;
+import dev.makos.discussion.util.Deadline;
+import dev.makos.discussion.util.ErrorMessage;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.cassandra.SessionFactory;
+import org.springframework.data.cassandra.core.cql.CqlTemplate;
+
+import java.time.Duration;
+
+/**
+ * Shortens the timeout of every statement to the time the caller has left, and refuses to send
+ * statements whose answer would arrive after the caller has given up.
+ */
+public class DeadlineCqlTemplate extends CqlTemplate {
+
+    private final Duration defaultTimeout;
+
+    public DeadlineCqlTemplate(SessionFactory sessionFactory, Duration defaultTimeout) {
+        super(sessionFactory);
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    @Override
+    protected Statement<?> applyStatementSettings(Statement<?> statement) {
+        return withDeadline(super.applyStatementSettings(statement), defaultTimeout);
+    }
+
+    public static Statement<?> withDeadline(Statement<?> statement, Duration defaultTimeout) {
+        return withDeadline(statement, defaultTimeout, Deadline.current());
+    }
+
+    public static Statement<?> withDeadline(Statement<?> statement, Duration defaultTimeout, Deadline deadline) {
+        if (deadline == null) {
+            return statement;
+        }
+        if (deadline.isExpired()) {
+            throw new QueryTimeoutException(ErrorMessage.DEADLINE_EXCEEDED.getText());
+        }
+
+        Duration timeout = statement.getTimeout() != null ? statement.getTimeout() : defaultTimeout;
+        Duration remaining = deadline.remaining();
+        return remaining.compareTo(timeout) < 0 ? statement.setTimeout(remaining) : statement;
+    }
+}
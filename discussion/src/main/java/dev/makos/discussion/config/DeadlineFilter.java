@@ -0,0 +1,50 @@
+package dev.makos.discussion.config;
+
+import dev.makos.discussion.util.Deadline;
+import dev.makos.discussion.util.ErrorMessage;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Binds the caller's remaining time budget from {@link Deadline#TIMEOUT_HEADER} to the request thread,
+ * so Cassandra statements stop waiting once the caller has given up.
+ */
+@Profile("!reactive")
+@Component
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(Deadline.TIMEOUT_HEADER);
+        if (header == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long timeoutMillis;
+        try {
+            timeoutMillis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + Deadline.TIMEOUT_HEADER + " header");
+            return;
+        }
+        if (timeoutMillis <= 0) {
+            response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), ErrorMessage.DEADLINE_EXCEEDED.getText());
+            return;
+        }
+
+        try (Deadline.Scope ignored = Deadline.after(Duration.ofMillis(timeoutMillis)).bind()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
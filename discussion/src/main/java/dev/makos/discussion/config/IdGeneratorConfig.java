@@ -0,0 +1,30 @@
+package dev.makos.discussion.config;
+
+import dev.makos.discussion.id.CounterIdGenerator;
+import dev.makos.discussion.id.IdGenerator;
+import dev.makos.discussion.id.SnowflakeIdGenerator;
+import dev.makos.discussion.repository.AsyncCqlExecutor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@EnableConfigurationProperties(IdGeneratorProperties.class)
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(IdGeneratorProperties properties, AsyncCqlExecutor cqlExecutor) {
+        return switch (properties.getType()) {
+            case SNOWFLAKE -> new SnowflakeIdGenerator(requireNodeId(properties));
+            case COUNTER -> new CounterIdGenerator(cqlExecutor);
+        };
+    }
+
+    private static int requireNodeId(IdGeneratorProperties properties) {
+        if (properties.getNodeId() == null) {
+            throw new IllegalStateException("discussion.id-generator.node-id (NODE_ID) must be set to an id "
+                    + "unique to this instance when the snowflake id generator is used");
+        }
+        return properties.getNodeId();
+    }
+}
@@ -0,0 +1,24 @@
+package dev.makos.discussion.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "discussion.id-generator")
+public class IdGeneratorProperties {
+
+    private Type type = Type.SNOWFLAKE;
+
+    /**
+     * Must be unique per running discussion instance when {@link Type#SNOWFLAKE} is used. There is no default,
+     * so two instances cannot silently share one.
+     */
+    private Integer nodeId;
+
+    public enum Type {
+        SNOWFLAKE,
+        COUNTER
+    }
+}
@@ -0,0 +1,97 @@
+package dev.makos.discussion.config;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metrics.Metrics;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.api.core.session.Session;
+import com.datastax.oss.driver.api.core.type.reflect.GenericType;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Runs every statement that does not name an execution profile with the profile of its {@link CqlOperation}.
+ * The template, the async executor and the reactive repositories all send statements through this session,
+ * so consistency levels and speculative execution are configured in one place.
+ */
+@RequiredArgsConstructor
+public class ProfiledCqlSession implements CqlSession {
+
+    private final Session delegate;
+
+    @Override
+    public <RequestT extends Request, ResultT> ResultT execute(RequestT request, GenericType<ResultT> resultType) {
+        if (request instanceof Statement<?> statement
+                && statement.getExecutionProfileName() == null
+                && statement.getExecutionProfile() == null) {
+            return delegate.execute(statement.setExecutionProfileName(CqlOperation.of(statement).profileName()),
+                    resultType);
+        }
+        return delegate.execute(request, resultType);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public boolean isSchemaMetadataEnabled() {
+        return delegate.isSchemaMetadataEnabled();
+    }
+
+    @Override
+    public CompletionStage<Metadata> setSchemaMetadataEnabled(Boolean newValue) {
+        return delegate.setSchemaMetadataEnabled(newValue);
+    }
+
+    @Override
+    public CompletionStage<Metadata> refreshSchemaAsync() {
+        return delegate.refreshSchemaAsync();
+    }
+
+    @Override
+    public CompletionStage<Boolean> checkSchemaAgreementAsync() {
+        return delegate.checkSchemaAgreementAsync();
+    }
+
+    @Override
+    public DriverContext getContext() {
+        return delegate.getContext();
+    }
+
+    @Override
+    public Optional<CqlIdentifier> getKeyspace() {
+        return delegate.getKeyspace();
+    }
+
+    @Override
+    public Optional<Metrics> getMetrics() {
+        return delegate.getMetrics();
+    }
+
+    @Override
+    public CompletionStage<Void> closeFuture() {
+        return delegate.closeFuture();
+    }
+
+    @Override
+    public CompletionStage<Void> closeAsync() {
+        return delegate.closeAsync();
+    }
+
+    @Override
+    public CompletionStage<Void> forceCloseAsync() {
+        return delegate.forceCloseAsync();
+    }
+}
@@ -0,0 +1,49 @@
+package dev.makos.discussion.config;
+
+import dev.makos.discussion.util.Deadline;
+import dev.makos.discussion.util.ErrorMessage;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Reactive counterpart of {@link DeadlineFilter}. There is no request thread to bind the deadline to, so the
+ * whole exchange is cancelled once the caller's time budget from {@link Deadline#TIMEOUT_HEADER} is spent,
+ * which also cancels the Cassandra statements it is waiting for.
+ */
+@Profile("reactive")
+@Component
+public class ReactiveDeadlineFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(Deadline.TIMEOUT_HEADER);
+        if (header == null) {
+            return chain.filter(exchange);
+        }
+
+        long timeoutMillis;
+        try {
+            timeoutMillis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid " + Deadline.TIMEOUT_HEADER + " header"));
+        }
+        if (timeoutMillis <= 0) {
+            return Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                    ErrorMessage.DEADLINE_EXCEEDED.getText()));
+        }
+
+        return chain.filter(exchange)
+                .timeout(Duration.ofMillis(timeoutMillis),
+                        Mono.error(() -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                                ErrorMessage.DEADLINE_EXCEEDED.getText())));
+    }
+}
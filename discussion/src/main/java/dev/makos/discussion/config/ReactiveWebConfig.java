@@ -0,0 +1,36 @@
+package dev.makos.discussion.config;
+
+import dev.makos.discussion.converter.CommentProtobufDecoder;
+import dev.makos.discussion.converter.CommentProtobufEncoder;
+import dev.makos.discussion.mapper.CommentProtoMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolverBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+@Profile("reactive")
+@RequiredArgsConstructor
+@Configuration
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    private final CommentProtoMapper commentProtoMapper;
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new CommentProtobufDecoder(commentProtoMapper));
+        configurer.customCodecs().register(new CommentProtobufEncoder(commentProtoMapper));
+    }
+
+    /**
+     * Custom codecs are consulted before Jackson, so without an explicit Accept header protobuf would win the
+     * negotiation. Falling back to JSON keeps the default representation of the servlet stack.
+     */
+    @Override
+    public void configureContentTypeResolver(RequestedContentTypeResolverBuilder builder) {
+        builder.headerResolver();
+        builder.fixedResolver(MediaType.APPLICATION_JSON);
+    }
+}
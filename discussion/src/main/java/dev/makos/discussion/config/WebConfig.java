@@ -0,0 +1,24 @@
+package dev.makos.discussion.config;
+
+import dev.makos.discussion.converter.CommentProtobufHttpMessageConverter;
+import dev.makos.discussion.mapper.CommentProtoMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CommentProtoMapper commentProtoMapper;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new CommentProtobufHttpMessageConverter(commentProtoMapper));
+    }
+}
@@ -1,53 +1,138 @@
 package dev.makos.discussion.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.makos.discussion.model.dto.CommentBatchDTO;
+import dev.makos.discussion.model.dto.CommentCountDTO;
 import dev.makos.discussion.model.dto.CommentDTO;
+import dev.makos.discussion.model.dto.CommentPageDTO;
 import dev.makos.discussion.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Tag(name = "Comments", description = "Comments API")
+@Profile("!reactive")
 @RequiredArgsConstructor
 @RequestMapping("/api/v1.0/comments")
 @RestController
 public class CommentController {
 
     private final CommentService commentService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Create a comment")
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping
-    public CommentDTO saveOne(@Valid @RequestBody CommentDTO commentDTO) {
+    public CompletableFuture<CommentDTO> saveOne(@Valid @RequestBody CommentDTO commentDTO) {
         return commentService.saveOne(commentDTO);
     }
 
+    @Operation(summary = "Create or update comments in bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping("/batch")
+    public CommentBatchDTO saveAll(@Valid @RequestBody CommentBatchDTO commentBatchDTO) {
+        return commentService.saveAll(commentBatchDTO);
+    }
+
     @Operation(summary = "Get a comment by ID")
     @GetMapping("/{id}")
-    public CommentDTO getOne(@PathVariable Long id) {
+    public CompletableFuture<CommentDTO> getOne(@PathVariable Long id) {
         return commentService.getOne(id);
     }
 
+    @Operation(summary = "Check that a comment exists by ID")
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> existsOne(@PathVariable Long id) {
+        return commentService.existsOne(id)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
     @Operation(summary = "Get all comments")
     @GetMapping
     public List<CommentDTO> getAll() {
         return commentService.getAll();
     }
 
+    @Operation(summary = "Get a page of comments", description = "Pass the returned next cursor to read the following page")
+    @GetMapping(params = "limit")
+    public CommentPageDTO getPage(@RequestParam int limit, @RequestParam(required = false) String next) {
+        return commentService.getPage(limit, next);
+    }
+
+    @Operation(summary = "Get a page of the comments of one tweet, newest first",
+            description = "Pass the returned next cursor to read the following page")
+    @GetMapping(params = {"tweetId", "limit"})
+    public CommentPageDTO getTweetPage(@RequestParam String country, @RequestParam Long tweetId,
+                                       @RequestParam int limit, @RequestParam(required = false) String next) {
+        return commentService.getTweetPage(country, tweetId, limit, next);
+    }
+
+    @Operation(summary = "Get comments by IDs")
+    @GetMapping(params = "ids")
+    public List<CommentDTO> getAllByIds(@RequestParam List<Long> ids) {
+        return commentService.getAllByIds(ids);
+    }
+
+    @Operation(summary = "Count the comments of a tweet")
+    @GetMapping("/counts/{tweetId}")
+    public CompletableFuture<CommentCountDTO> countOne(@PathVariable Long tweetId) {
+        return commentService.countOne(tweetId);
+    }
+
+    @Operation(summary = "Count the comments of several tweets")
+    @GetMapping(value = "/counts", params = "tweetIds")
+    public CompletableFuture<List<CommentCountDTO>> countAll(@RequestParam List<Long> tweetIds) {
+        return commentService.countAll(tweetIds);
+    }
+
+    @Operation(summary = "Stream all comments as newline-delimited JSON")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        Stream<CommentDTO> comments = commentService.streamAll();
+        ObjectWriter writer = objectMapper.writerFor(CommentDTO.class);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> writeNdjson(comments, writer, outputStream));
+    }
+
     @Operation(summary = "Delete a comment by ID")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @DeleteMapping("/{id}")
-    public void deleteOne(@PathVariable Long id) {
-        commentService.deleteOne(id);
+    public CompletableFuture<Void> deleteOne(@PathVariable Long id) {
+        return commentService.deleteOne(id);
     }
 
     @Operation(summary = "Update a comment by ID")
     @PutMapping
-    public CommentDTO updateOne(@Valid @RequestBody CommentDTO commentDTO) {
-        return commentService.updateOne(commentDTO);
+    public CommentDTO updateOne(@Valid @RequestBody CommentDTO commentDTO,
+                                @RequestParam(defaultValue = "false") boolean moveTweet) {
+        return commentService.updateOne(commentDTO, moveTweet);
+    }
+
+    private static void writeNdjson(Stream<CommentDTO> comments, ObjectWriter writer, OutputStream outputStream)
+            throws IOException {
+        try (comments) {
+            Iterator<CommentDTO> iterator = comments.iterator();
+            while (iterator.hasNext()) {
+                outputStream.write(writer.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+            }
+        }
     }
 }
@@ -0,0 +1,120 @@
+package dev.makos.discussion.controller;
+
+import dev.makos.discussion.model.dto.CommentBatchDTO;
+import dev.makos.discussion.model.dto.CommentCountDTO;
+import dev.makos.discussion.model.dto.CommentDTO;
+import dev.makos.discussion.model.dto.CommentPageDTO;
+import dev.makos.discussion.service.ReactiveCommentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Serves the same REST contract as {@link CommentController} on the reactive stack.
+ */
+@Tag(name = "Comments", description = "Comments API")
+@Profile("reactive")
+@RequiredArgsConstructor
+@RequestMapping("/api/v1.0/comments")
+@RestController
+public class ReactiveCommentController {
+
+    private final ReactiveCommentService commentService;
+
+    @Operation(summary = "Create a comment")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping
+    public Mono<CommentDTO> saveOne(@Valid @RequestBody CommentDTO commentDTO) {
+        return commentService.saveOne(commentDTO);
+    }
+
+    @Operation(summary = "Create or update comments in bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping("/batch")
+    public Mono<CommentBatchDTO> saveAll(@Valid @RequestBody CommentBatchDTO commentBatchDTO) {
+        return commentService.saveAll(commentBatchDTO);
+    }
+
+    @Operation(summary = "Get a comment by ID")
+    @GetMapping("/{id}")
+    public Mono<CommentDTO> getOne(@PathVariable Long id) {
+        return commentService.getOne(id);
+    }
+
+    @Operation(summary = "Check that a comment exists by ID")
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public Mono<ResponseEntity<Void>> existsOne(@PathVariable Long id) {
+        return commentService.existsOne(id)
+                .map(exists -> exists
+                        ? ResponseEntity.ok().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+    @Operation(summary = "Get all comments")
+    @GetMapping
+    public Mono<List<CommentDTO>> getAll() {
+        return commentService.getAll();
+    }
+
+    @Operation(summary = "Get a page of comments", description = "Pass the returned next cursor to read the following page")
+    @GetMapping(params = "limit")
+    public Mono<CommentPageDTO> getPage(@RequestParam int limit, @RequestParam(required = false) String next) {
+        return commentService.getPage(limit, next);
+    }
+
+    @Operation(summary = "Get a page of the comments of one tweet, newest first",
+            description = "Pass the returned next cursor to read the following page")
+    @GetMapping(params = {"tweetId", "limit"})
+    public Mono<CommentPageDTO> getTweetPage(@RequestParam String country, @RequestParam Long tweetId,
+                                             @RequestParam int limit, @RequestParam(required = false) String next) {
+        return commentService.getTweetPage(country, tweetId, limit, next);
+    }
+
+    @Operation(summary = "Get comments by IDs")
+    @GetMapping(params = "ids")
+    public Mono<List<CommentDTO>> getAllByIds(@RequestParam List<Long> ids) {
+        return commentService.getAllByIds(ids);
+    }
+
+    @Operation(summary = "Count the comments of a tweet")
+    @GetMapping("/counts/{tweetId}")
+    public Mono<CommentCountDTO> countOne(@PathVariable Long tweetId) {
+        return commentService.countOne(tweetId);
+    }
+
+    @Operation(summary = "Count the comments of several tweets")
+    @GetMapping(value = "/counts", params = "tweetIds")
+    public Mono<List<CommentCountDTO>> countAll(@RequestParam List<Long> tweetIds) {
+        return commentService.countAll(tweetIds);
+    }
+
+    @Operation(summary = "Stream all comments as newline-delimited JSON")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CommentDTO> streamAll() {
+        return commentService.streamAll();
+    }
+
+    @Operation(summary = "Delete a comment by ID")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteOne(@PathVariable Long id) {
+        return commentService.deleteOne(id);
+    }
+
+    @Operation(summary = "Update a comment by ID")
+    @PutMapping
+    public Mono<CommentDTO> updateOne(@Valid @RequestBody CommentDTO commentDTO,
+                                      @RequestParam(defaultValue = "false") boolean moveTweet) {
+        return commentService.updateOne(commentDTO, moveTweet);
+    }
+}
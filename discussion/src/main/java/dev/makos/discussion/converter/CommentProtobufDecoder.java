@@ -0,0 +1,57 @@
+package dev.makos.discussion.converter;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import dev.makos.discussion.mapper.CommentProtoMapper;
+import dev.makos.discussion.model.dto.CommentBatchDTO;
+import dev.makos.discussion.model.proto.CommentListMessage;
+import dev.makos.discussion.model.proto.CommentMessage;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDataBufferDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+import java.util.List;
+import java.util.Map;
+
+import static dev.makos.discussion.converter.CommentProtobufHttpMessageConverter.APPLICATION_PROTOBUF;
+
+/**
+ * Reads the protobuf representation of {@link CommentProtobufHttpMessageConverter} on the reactive stack.
+ */
+public class CommentProtobufDecoder extends AbstractDataBufferDecoder<Object> {
+
+    private final CommentProtoMapper commentProtoMapper;
+
+    public CommentProtobufDecoder(CommentProtoMapper commentProtoMapper) {
+        super(APPLICATION_PROTOBUF);
+        this.commentProtoMapper = commentProtoMapper;
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
+        return CommentProtobufEncoder.isCommentType(elementType) && super.canDecode(elementType, mimeType);
+    }
+
+    @Override
+    public Object decode(DataBuffer dataBuffer, ResolvableType targetType, @Nullable MimeType mimeType,
+                         @Nullable Map<String, Object> hints) {
+        byte[] bytes = new byte[dataBuffer.readableByteCount()];
+        dataBuffer.read(bytes);
+        DataBufferUtils.release(dataBuffer);
+        try {
+            Class<?> clazz = targetType.toClass();
+            if (List.class.isAssignableFrom(clazz)) {
+                return commentProtoMapper.toDTOs(CommentListMessage.parseFrom(bytes));
+            }
+            if (clazz == CommentBatchDTO.class) {
+                return new CommentBatchDTO(commentProtoMapper.toDTOs(CommentListMessage.parseFrom(bytes)));
+            }
+            return commentProtoMapper.toDTO(CommentMessage.parseFrom(bytes));
+        } catch (InvalidProtocolBufferException e) {
+            throw new DecodingException("Malformed protobuf comment payload", e);
+        }
+    }
+}
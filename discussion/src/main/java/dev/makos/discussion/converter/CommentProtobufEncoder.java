@@ -0,0 +1,71 @@
+package dev.makos.discussion.converter;
+
+import dev.makos.discussion.mapper.CommentProtoMapper;
+import dev.makos.discussion.model.dto.CommentBatchDTO;
+import dev.makos.discussion.model.dto.CommentDTO;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+import static dev.makos.discussion.converter.CommentProtobufHttpMessageConverter.APPLICATION_PROTOBUF;
+
+/**
+ * Writes the protobuf representation of {@link CommentProtobufHttpMessageConverter} on the reactive stack.
+ */
+public class CommentProtobufEncoder extends AbstractEncoder<Object> {
+
+    private final CommentProtoMapper commentProtoMapper;
+
+    public CommentProtobufEncoder(CommentProtoMapper commentProtoMapper) {
+        super(APPLICATION_PROTOBUF);
+        this.commentProtoMapper = commentProtoMapper;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+        return isCommentType(elementType) && supportsMimeType(mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, @Nullable MimeType mimeType,
+                                   @Nullable Map<String, Object> hints) {
+        return Flux.from(inputStream)
+                .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        byte[] bytes;
+        if (value instanceof CommentDTO commentDTO) {
+            bytes = commentProtoMapper.toMessage(commentDTO).toByteArray();
+        } else if (value instanceof CommentBatchDTO commentBatchDTO) {
+            bytes = commentProtoMapper.toListMessage(commentBatchDTO.getComments()).toByteArray();
+        } else {
+            bytes = commentProtoMapper.toListMessage((List<CommentDTO>) value).toByteArray();
+        }
+        return bufferFactory.wrap(bytes);
+    }
+
+    private boolean supportsMimeType(@Nullable MimeType mimeType) {
+        return mimeType == null || getEncodableMimeTypes().stream().anyMatch(supported -> supported.isCompatibleWith(mimeType));
+    }
+
+    static boolean isCommentType(ResolvableType type) {
+        Class<?> clazz = type.toClass();
+        if (clazz == CommentDTO.class || clazz == CommentBatchDTO.class) {
+            return true;
+        }
+        return List.class.isAssignableFrom(clazz) && type.getGeneric(0).toClass() == CommentDTO.class;
+    }
+}
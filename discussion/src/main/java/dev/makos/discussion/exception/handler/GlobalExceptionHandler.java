@@ -2,7 +2,10 @@ package dev.makos.discussion.exception.handler;
 
 import dev.makos.discussion.exception.CustomException;
 import dev.makos.discussion.model.dto.exception.ErrorResponseDTO;
+import dev.makos.discussion.util.ErrorMessage;
+import org.springframework.context.annotation.Profile;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -20,6 +23,7 @@ import java.util.Map;
 
 import static java.util.stream.Collectors.toMap;
 
+@Profile("!reactive")
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
@@ -53,6 +57,17 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(ex.getHttpStatus()).body(errorResponse);
     }
 
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<Object> handleQueryTimeoutException(QueryTimeoutException ex) {
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                .dateTime(LocalDateTime.now())
+                .code(HttpStatus.GATEWAY_TIMEOUT.value())
+                .message(ErrorMessage.DEADLINE_EXCEEDED.getText())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAllExceptions(Exception ex) {
         ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
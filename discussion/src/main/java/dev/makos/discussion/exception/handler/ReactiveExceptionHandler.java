@@ -0,0 +1,84 @@
+package dev.makos.discussion.exception.handler;
+
+import dev.makos.discussion.exception.CustomException;
+import dev.makos.discussion.model.dto.exception.ErrorResponseDTO;
+import dev.makos.discussion.util.ErrorMessage;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Renders errors of the reactive stack with the same status codes and bodies as {@link GlobalExceptionHandler}.
+ */
+@Profile("reactive")
+@ControllerAdvice
+public class ReactiveExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(WebExchangeBindException ex,
+                                                                         HttpHeaders headers,
+                                                                         HttpStatusCode status,
+                                                                         ServerWebExchange exchange) {
+        Map<String, String> invalidFields = ex.getFieldErrors().stream()
+                .filter(fieldError -> fieldError != null && fieldError.getDefaultMessage() != null)
+                .collect(toMap(FieldError::getField, DefaultMessageSourceResolvable::getDefaultMessage));
+
+        ErrorResponseDTO errorResponseDTO = ErrorResponseDTO.builder()
+                .dateTime(LocalDateTime.now())
+                .code(status.value())
+                .message("Validation Error")
+                .invalidFields(invalidFields)
+                .build();
+
+        return Mono.just(ResponseEntity.status(status).body(errorResponseDTO));
+    }
+
+    @ExceptionHandler(CustomException.class)
+    public ResponseEntity<Object> handleCustomException(CustomException ex) {
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                .dateTime(LocalDateTime.now())
+                .code(ex.getHttpStatus().value())
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(ex.getHttpStatus()).body(errorResponse);
+    }
+
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<Object> handleQueryTimeoutException(QueryTimeoutException ex) {
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                .dateTime(LocalDateTime.now())
+                .code(HttpStatus.GATEWAY_TIMEOUT.value())
+                .message(ErrorMessage.DEADLINE_EXCEEDED.getText())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(errorResponse);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Object> handleAllExceptions(Exception ex) {
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                .dateTime(LocalDateTime.now())
+                .code(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                .message("An unexpected error occurred: " + ex.getLocalizedMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+}
@@ -0,0 +1,47 @@
+package dev.makos.discussion.id;
+
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import dev.makos.discussion.config.CqlOperation;
+import dev.makos.discussion.repository.AsyncCqlExecutor;
+import lombok.RequiredArgsConstructor;
+
+import java.util.stream.LongStream;
+
+import static dev.makos.discussion.repository.AsyncCqlExecutor.join;
+
+/**
+ * Hands out ids from a Cassandra counter. Needs two round trips per reservation and is only safe with a single
+ * discussion instance, because counters are not read-your-write.
+ */
+@RequiredArgsConstructor
+public class CounterIdGenerator implements IdGenerator {
+
+    private static final String COMMENT_ID = "comment_id";
+    private static final String INCREMENT = "UPDATE ids SET next_id = next_id + ? WHERE name = ?";
+    private static final String CURRENT_ID = "SELECT next_id FROM ids WHERE name = ?";
+
+    private final AsyncCqlExecutor cqlExecutor;
+
+    @Override
+    public synchronized long nextId() {
+        return reserve(1);
+    }
+
+    @Override
+    public synchronized long[] nextIds(int count) {
+        long last = reserve(count);
+        return LongStream.rangeClosed(last - count + 1, last).toArray();
+    }
+
+    private long reserve(long count) {
+        join(cqlExecutor.execute(counter(cqlExecutor.prepared(INCREMENT).bind(count, COMMENT_ID))));
+        return join(cqlExecutor.execute(counter(cqlExecutor.prepared(CURRENT_ID).bind(COMMENT_ID))
+                        .setIdempotent(true)))
+                .one()
+                .getLong(0);
+    }
+
+    private static BoundStatement counter(BoundStatement statement) {
+        return statement.setExecutionProfileName(CqlOperation.COUNTER.profileName());
+    }
+}
@@ -0,0 +1,50 @@
+package dev.makos.discussion.mapper;
+
+import dev.makos.discussion.model.dto.CommentDTO;
+import dev.makos.discussion.model.proto.CommentListMessage;
+import dev.makos.discussion.model.proto.CommentMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class CommentProtoMapper {
+
+    public CommentMessage toMessage(CommentDTO commentDTO) {
+        CommentMessage.Builder builder = CommentMessage.newBuilder();
+        if (commentDTO.getCountry() != null) {
+            builder.setCountry(commentDTO.getCountry());
+        }
+        if (commentDTO.getId() != null) {
+            builder.setId(commentDTO.getId());
+        }
+        if (commentDTO.getTweetId() != null) {
+            builder.setTweetId(commentDTO.getTweetId());
+        }
+        if (commentDTO.getContent() != null) {
+            builder.setContent(commentDTO.getContent());
+        }
+        return builder.build();
+    }
+
+    public CommentListMessage toListMessage(List<CommentDTO> commentDTOs) {
+        CommentListMessage.Builder builder = CommentListMessage.newBuilder();
+        commentDTOs.forEach(commentDTO -> builder.addComments(toMessage(commentDTO)));
+        return builder.build();
+    }
+
+    public CommentDTO toDTO(CommentMessage message) {
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setCountry(message.hasCountry() ? message.getCountry() : null);
+        commentDTO.setId(message.hasId() ? message.getId() : null);
+        commentDTO.setTweetId(message.hasTweetId() ? message.getTweetId() : null);
+        commentDTO.setContent(message.hasContent() ? message.getContent() : null);
+        return commentDTO;
+    }
+
+    public List<CommentDTO> toDTOs(CommentListMessage message) {
+        return message.getCommentsList().stream()
+                .map(this::toDTO)
+                .toList();
+    }
+}
@@ -0,0 +1,22 @@
+package dev.makos.discussion.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CommentBatchDTO {
+
+    @Valid
+    @NotEmpty(message = "Comments are not provided")
+    @Size(max = 1000, message = "Batch must contain at most 1000 comments")
+    private List<CommentDTO> comments;
+
+}
@@ -0,0 +1,16 @@
+package dev.makos.discussion.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CommentCountDTO {
+
+    private Long tweetId;
+
+    private long count;
+
+}
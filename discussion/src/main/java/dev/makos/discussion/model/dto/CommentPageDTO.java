@@ -0,0 +1,18 @@
+package dev.makos.discussion.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CommentPageDTO {
+
+    private List<CommentDTO> comments;
+
+    private String next;
+
+}
@@ -0,0 +1,37 @@
+package dev.makos.discussion.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Table(value = "comment_by_id")
+public class CommentById {
+
+    @PrimaryKeyColumn(name = "id", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private Long id;
+
+    @Column
+    private String country;
+
+    @Column("tweet_id")
+    private Long tweetId;
+
+    public static CommentById of(Comment comment) {
+        return new CommentById(comment.getId(), comment.getCountry(), comment.getTweetId());
+    }
+
+    public CommentKey toKey() {
+        return new CommentKey(country, tweetId, id);
+    }
+
+    public CommentByTweetKey toByTweetKey() {
+        return new CommentByTweetKey(country, tweetId, id);
+    }
+}
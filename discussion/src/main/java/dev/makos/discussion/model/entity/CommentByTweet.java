@@ -0,0 +1,31 @@
+package dev.makos.discussion.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Table(value = "tbl_comment_by_tweet")
+public class CommentByTweet {
+
+    @PrimaryKey
+    private CommentByTweetKey key;
+
+    @Column
+    private String content;
+
+    public static CommentByTweet of(Comment comment) {
+        return new CommentByTweet(
+                new CommentByTweetKey(comment.getCountry(), comment.getTweetId(), comment.getId()),
+                comment.getContent());
+    }
+
+    public Comment toComment() {
+        return new Comment(new CommentKey(key.getCountry(), key.getTweetId(), key.getId()), content);
+    }
+}
@@ -0,0 +1,27 @@
+package dev.makos.discussion.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyClass;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@PrimaryKeyClass
+public class CommentByTweetKey {
+
+    @PrimaryKeyColumn(name = "country", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private String country;
+
+    @PrimaryKeyColumn(name = "tweet_id", ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private Long tweetId;
+
+    @PrimaryKeyColumn(name = "id", ordinal = 2, type = PrimaryKeyType.CLUSTERED)
+    private Long id;
+
+}
@@ -0,0 +1,16 @@
+package dev.makos.discussion.repository;
+
+import dev.makos.discussion.model.entity.Comment;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncCommentRepository {
+
+    CompletableFuture<Comment> save(Comment comment);
+
+    CompletableFuture<Optional<Comment>> findById(Long id);
+
+    CompletableFuture<Void> delete(Comment comment);
+
+}
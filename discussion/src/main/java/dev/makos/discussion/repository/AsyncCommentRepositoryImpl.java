@@ -0,0 +1,127 @@
+package dev.makos.discussion.repository;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.Row;
+import dev.makos.discussion.config.CommentStorageProperties;
+import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.model.entity.CommentKey;
+import dev.makos.discussion.util.Deadline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of the hot {@link CommentRepository} operations. Statements are prepared once and
+ * rows are mapped by hand, so a call costs no query parsing, no entity metadata lookups and no servlet thread
+ * while Cassandra answers. Every step composes on {@link AsyncCqlExecutor#preparedAsync(String)}, since steps
+ * after the first run on driver threads, where blocking calls are rejected. Storage phases and the
+ * {@code comment_by_id} lookup behave as in {@link CommentBatchRepositoryImpl}.
+ */
+@RequiredArgsConstructor
+@Repository
+public class AsyncCommentRepositoryImpl implements AsyncCommentRepository {
+
+    private static final String FIND_LOOKUP = "SELECT country, tweet_id FROM comment_by_id WHERE id = ?";
+    private static final String FIND_BY_KEY =
+            "SELECT country, tweet_id, id, content FROM tbl_comment WHERE country = ? AND tweet_id = ? AND id = ?";
+    private static final String FIND_BY_TWEET_KEY = "SELECT country, tweet_id, id, content FROM tbl_comment_by_tweet "
+            + "WHERE country = ? AND tweet_id = ? AND id = ?";
+    private static final String INSERT_LOOKUP = "INSERT INTO comment_by_id (id, country, tweet_id) VALUES (?, ?, ?)";
+    private static final String INSERT =
+            "INSERT INTO tbl_comment (country, tweet_id, id, content) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_BY_TWEET =
+            "INSERT INTO tbl_comment_by_tweet (country, tweet_id, id, content) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_LOOKUP = "DELETE FROM comment_by_id WHERE id = ?";
+    private static final String DELETE = "DELETE FROM tbl_comment WHERE country = ? AND tweet_id = ? AND id = ?";
+    private static final String DELETE_BY_TWEET =
+            "DELETE FROM tbl_comment_by_tweet WHERE country = ? AND tweet_id = ? AND id = ?";
+
+    private final AsyncCqlExecutor cqlExecutor;
+    private final CommentStorageProperties storageProperties;
+
+    @Override
+    public CompletableFuture<Comment> save(Comment comment) {
+        CommentStorageProperties.Phase phase = storageProperties.getPhase();
+        List<CompletableFuture<BoundStatement>> statements = new ArrayList<>(3);
+        statements.add(cqlExecutor.preparedAsync(INSERT_LOOKUP)
+                .thenApply(insert -> insert.bind(comment.getId(), comment.getCountry(), comment.getTweetId())));
+        if (phase.isWritesOld()) {
+            statements.add(cqlExecutor.preparedAsync(INSERT).thenApply(insert -> insert.bind(comment.getCountry(),
+                    comment.getTweetId(), comment.getId(), comment.getContent())));
+        }
+        if (phase.isWritesNew()) {
+            statements.add(cqlExecutor.preparedAsync(INSERT_BY_TWEET).thenApply(insert -> insert.bind(
+                    comment.getCountry(), comment.getTweetId(), comment.getId(), comment.getContent())));
+        }
+
+        return executeBatch(statements, Deadline.current())
+                .thenApply(resultSet -> comment);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Comment>> findById(Long id) {
+        Deadline deadline = Deadline.current();
+        String findByKey = storageProperties.getPhase().isReadsNew() ? FIND_BY_TWEET_KEY : FIND_BY_KEY;
+        return cqlExecutor.preparedAsync(FIND_LOOKUP)
+                .thenCompose(findLookup -> cqlExecutor.execute(findLookup.bind(id).setIdempotent(true), deadline))
+                .thenCompose(lookup -> {
+                    Row row = lookup.one();
+                    if (row == null) {
+                        return CompletableFuture.completedFuture(Optional.empty());
+                    }
+                    return cqlExecutor.preparedAsync(findByKey)
+                            .thenCompose(find -> cqlExecutor.execute(find.bind(row.getString(0), row.getLong(1), id)
+                                    .setIdempotent(true), deadline))
+                            .thenApply(AsyncCommentRepositoryImpl::firstComment);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(Comment comment) {
+        CommentStorageProperties.Phase phase = storageProperties.getPhase();
+        List<CompletableFuture<BoundStatement>> statements = new ArrayList<>(3);
+        if (phase.isWritesOld()) {
+            statements.add(cqlExecutor.preparedAsync(DELETE)
+                    .thenApply(delete -> delete.bind(comment.getCountry(), comment.getTweetId(), comment.getId())));
+        }
+        if (phase.isWritesNew()) {
+            statements.add(cqlExecutor.preparedAsync(DELETE_BY_TWEET)
+                    .thenApply(delete -> delete.bind(comment.getCountry(), comment.getTweetId(), comment.getId())));
+        }
+        statements.add(cqlExecutor.preparedAsync(DELETE_LOOKUP)
+                .thenApply(delete -> delete.bind(comment.getId())));
+
+        return executeBatch(statements, Deadline.current())
+                .thenApply(resultSet -> null);
+    }
+
+    /**
+     * Waits for the statements to be prepared without blocking, callers may be running on a driver thread.
+     */
+    private CompletableFuture<AsyncResultSet> executeBatch(List<CompletableFuture<BoundStatement>> statements,
+                                                           Deadline deadline) {
+        return CompletableFuture.allOf(statements.toArray(CompletableFuture[]::new))
+                .thenCompose(ignored -> {
+                    BatchStatementBuilder batch = BatchStatement.builder(DefaultBatchType.LOGGED);
+                    statements.forEach(statement -> batch.addStatement(statement.join()));
+                    return cqlExecutor.execute(batch.setIdempotence(true).build(), deadline);
+                });
+    }
+
+    private static Optional<Comment> firstComment(AsyncResultSet resultSet) {
+        Row row = resultSet.one();
+        if (row == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Comment(new CommentKey(row.getString(0), row.getLong(1), row.getLong(2)),
+                row.getString(3)));
+    }
+}
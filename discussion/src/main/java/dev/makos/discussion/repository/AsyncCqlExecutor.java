@@ -0,0 +1,135 @@
+package dev.makos.discussion.repository;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import dev.makos.discussion.config.CqlProperties;
+import dev.makos.discussion.config.DeadlineCqlTemplate;
+import dev.makos.discussion.exception.CustomException;
+import dev.makos.discussion.util.Deadline;
+import dev.makos.discussion.util.ErrorMessage;
+import org.springframework.data.cassandra.core.cql.CassandraExceptionTranslator;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Sends statements through the driver's async API. Statements are prepared once per CQL string, get the
+ * caller's deadline as timeout, and fail with Spring's {@code DataAccessException}s like the template does.
+ * At most {@link CqlProperties#getMaxInFlight()} statements are outstanding; beyond that new statements fail
+ * immediately with 503.
+ */
+@Component
+public class AsyncCqlExecutor {
+
+    private static final CassandraExceptionTranslator EXCEPTION_TRANSLATOR = new CassandraExceptionTranslator();
+
+    private final CqlSession session;
+    private final Duration defaultTimeout;
+    private final Semaphore inFlight;
+    private final Map<String, CompletableFuture<PreparedStatement>> statements = new ConcurrentHashMap<>();
+
+    public AsyncCqlExecutor(CqlSession session, CqlProperties properties) {
+        this.session = session;
+        this.defaultTimeout = session.getContext().getConfig().getDefaultProfile()
+                .getDuration(DefaultDriverOption.REQUEST_TIMEOUT);
+        this.inFlight = new Semaphore(properties.getMaxInFlight());
+    }
+
+    /**
+     * Waits for the statement to be prepared, so only call this from request threads. Driver callbacks must
+     * compose on {@link #preparedAsync(String)} instead, the driver rejects blocking calls on its own threads.
+     */
+    public PreparedStatement prepared(String cql) {
+        return join(preparedAsync(cql));
+    }
+
+    /**
+     * A failed preparation is not cached, the next call prepares the statement again.
+     */
+    public CompletableFuture<PreparedStatement> preparedAsync(String cql) {
+        CompletableFuture<PreparedStatement> statement = statements.computeIfAbsent(cql, this::prepare);
+        statement.whenComplete((prepared, error) -> {
+            if (error != null) {
+                statements.remove(cql, statement);
+            }
+        });
+        return statement;
+    }
+
+    public CompletableFuture<AsyncResultSet> execute(Statement<?> statement) {
+        return execute(statement, Deadline.current());
+    }
+
+    /**
+     * Use this overload from driver callbacks, where the deadline of the request is no longer bound to the thread.
+     */
+    public CompletableFuture<AsyncResultSet> execute(Statement<?> statement, Deadline deadline) {
+        Statement<?> bounded;
+        try {
+            bounded = DeadlineCqlTemplate.withDeadline(statement, defaultTimeout, deadline);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.failedFuture(CustomException.builder()
+                    .message(ErrorMessage.TOO_MANY_IN_FLIGHT.getText())
+                    .httpStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                    .build());
+        }
+
+        CompletableFuture<AsyncResultSet> result = new CompletableFuture<>();
+        session.executeAsync(bounded).whenComplete((resultSet, error) -> {
+            inFlight.release();
+            if (error != null) {
+                result.completeExceptionally(translate(error));
+            } else {
+                result.complete(resultSet);
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<PreparedStatement> prepare(String cql) {
+        try {
+            return session.prepareAsync(cql).toCompletableFuture();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+        return futures.stream()
+                .map(AsyncCqlExecutor::join)
+                .toList();
+    }
+
+    private static Throwable translate(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RuntimeException runtimeException) {
+            RuntimeException translated = EXCEPTION_TRANSLATOR.translateExceptionIfPossible(runtimeException);
+            return translated != null ? translated : runtimeException;
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,45 @@
+package dev.makos.discussion.repository;
+
+import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.model.entity.CommentById;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface CommentBatchRepository {
+
+    Optional<Comment> findCommentById(Long id);
+
+    boolean existsCommentById(Long id);
+
+    List<Comment> findAllComments();
+
+    Slice<Comment> findAllComments(Pageable pageable);
+
+    List<Comment> findTweetComments(String country, Long tweetId, long beforeId, int limit);
+
+    long countTweetComments(String country, Long tweetId);
+
+    Stream<CommentById> streamLookups();
+
+    Comment saveComment(Comment comment);
+
+    void deleteComment(Comment comment);
+
+    void insertAll(List<Comment> comments);
+
+    void saveLookups(List<Comment> comments);
+
+    long copyToTweetPartitions();
+
+    List<Comment> findAllByIds(Collection<Long> ids);
+
+    boolean updateIfExists(Comment comment);
+
+    void move(Comment from, Comment to);
+
+}
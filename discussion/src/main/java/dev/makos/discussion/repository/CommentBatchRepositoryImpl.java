@@ -0,0 +1,332 @@
+package dev.makos.discussion.repository;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import dev.makos.discussion.config.CommentStorageProperties;
+import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.model.entity.CommentById;
+import dev.makos.discussion.model.entity.CommentByTweet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.UpdateOptions;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.groupingBy;
+
+/**
+ * Comments are found by id through the {@code comment_by_id} lookup table, so a lookup reads two single
+ * partitions instead of scanning {@code tbl_comment}. A lookup row is written before or together with its
+ * comment and removed together with it; a lookup row whose comment is gone reads as a missing comment.
+ * <p>
+ * Comments are being moved from {@code tbl_comment} to {@code tbl_comment_by_tweet}; the configured
+ * {@link CommentStorageProperties.Phase} decides which of the two tables are written and which one is read.
+ */
+@RequiredArgsConstructor
+public class CommentBatchRepositoryImpl implements CommentBatchRepository {
+
+    static final int MAX_BATCH_SIZE = 100;
+    static final int MAX_BATCH_BYTES = 4 * 1024;
+    private static final int ROW_OVERHEAD_BYTES = 32;
+    private static final int COPY_PAGE_SIZE = 500;
+    private static final UpdateOptions IF_EXISTS = UpdateOptions.builder().withIfExists().build();
+    private static final String FIND_LOOKUP = "SELECT country, tweet_id FROM comment_by_id WHERE id = ?";
+    private static final String FIND_BY_KEY =
+            "SELECT * FROM tbl_comment WHERE country = ? AND tweet_id = ? AND id = ?";
+    private static final String FIND_BY_TWEET_KEY =
+            "SELECT * FROM tbl_comment_by_tweet WHERE country = ? AND tweet_id = ? AND id = ?";
+    private static final String FIND_TWEET_SLICE = "SELECT * FROM tbl_comment WHERE country = ? AND tweet_id = ? "
+            + "AND id < ? ORDER BY tweet_id DESC, id DESC LIMIT ?";
+    private static final String FIND_TWEET_PARTITION_SLICE = "SELECT * FROM tbl_comment_by_tweet "
+            + "WHERE country = ? AND tweet_id = ? AND id < ? ORDER BY id DESC LIMIT ?";
+    private static final String COUNT_TWEET =
+            "SELECT COUNT(*) FROM tbl_comment WHERE country = ? AND tweet_id = ?";
+    private static final String COUNT_TWEET_PARTITION =
+            "SELECT COUNT(*) FROM tbl_comment_by_tweet WHERE country = ? AND tweet_id = ?";
+    private static final String INSERT_LOOKUP = "INSERT INTO comment_by_id (id, country, tweet_id) VALUES (?, ?, ?)";
+    private static final String SELECT_FOR_COPY =
+            "SELECT country, tweet_id, id, content, WRITETIME(content) FROM tbl_comment";
+    private static final String COPY_TO_TWEET_PARTITION =
+            "INSERT INTO tbl_comment_by_tweet (country, tweet_id, id, content) VALUES (?, ?, ?, ?) USING TIMESTAMP ?";
+
+    private final CassandraOperations cassandraOperations;
+    private final CqlSession session;
+    private final CommentStorageProperties storageProperties;
+    private final AsyncCqlExecutor cqlExecutor;
+
+    @Override
+    public Optional<Comment> findCommentById(Long id) {
+        CommentById lookup = cassandraOperations.selectOneById(id, CommentById.class);
+        if (lookup == null) {
+            return Optional.empty();
+        }
+        if (phase().isReadsNew()) {
+            return Optional.ofNullable(cassandraOperations.selectOneById(lookup.toByTweetKey(), CommentByTweet.class))
+                    .map(CommentByTweet::toComment);
+        }
+        return Optional.ofNullable(cassandraOperations.selectOneById(lookup.toKey(), Comment.class));
+    }
+
+    @Override
+    public boolean existsCommentById(Long id) {
+        CommentById lookup = cassandraOperations.selectOneById(id, CommentById.class);
+        if (lookup == null) {
+            return false;
+        }
+        return phase().isReadsNew()
+                ? cassandraOperations.exists(lookup.toByTweetKey(), CommentByTweet.class)
+                : cassandraOperations.exists(lookup.toKey(), Comment.class);
+    }
+
+    @Override
+    public List<Comment> findAllComments() {
+        if (phase().isReadsNew()) {
+            return cassandraOperations.select(Query.empty(), CommentByTweet.class).stream()
+                    .map(CommentByTweet::toComment)
+                    .toList();
+        }
+        return cassandraOperations.select(Query.empty(), Comment.class);
+    }
+
+    @Override
+    public Slice<Comment> findAllComments(Pageable pageable) {
+        if (phase().isReadsNew()) {
+            return cassandraOperations.slice(Query.empty().pageRequest(pageable), CommentByTweet.class)
+                    .map(CommentByTweet::toComment);
+        }
+        return cassandraOperations.slice(Query.empty().pageRequest(pageable), Comment.class);
+    }
+
+    /**
+     * Reads the newest comments of one tweet with ids below {@code beforeId} as a single clustering range slice,
+     * so the cost depends on {@code limit} only, not on how many comments the tweet or the country has.
+     */
+    @Override
+    public List<Comment> findTweetComments(String country, Long tweetId, long beforeId, int limit) {
+        boolean readsNew = phase().isReadsNew();
+        PreparedStatement statement = prepared(readsNew ? FIND_TWEET_PARTITION_SLICE : FIND_TWEET_SLICE);
+        Class<?> type = readsNew ? CommentByTweet.class : Comment.class;
+        AsyncResultSet resultSet = join(List.of(execute(statement.bind(country, tweetId, beforeId, limit))))
+                .getFirst();
+
+        List<Comment> comments = new ArrayList<>(limit);
+        for (Row row : resultSet.currentPage()) {
+            comments.add(toComment(row, type));
+        }
+        return comments;
+    }
+
+    @Override
+    public long countTweetComments(String country, Long tweetId) {
+        PreparedStatement statement = prepared(phase().isReadsNew() ? COUNT_TWEET_PARTITION : COUNT_TWEET);
+        return join(List.of(execute(statement.bind(country, tweetId)))).getFirst()
+                .one()
+                .getLong(0);
+    }
+
+    @Override
+    public Stream<CommentById> streamLookups() {
+        return cassandraOperations.stream(Query.empty(), CommentById.class);
+    }
+
+    @Override
+    public Comment saveComment(Comment comment) {
+        cassandraOperations.batchOps(BatchType.LOGGED)
+                .insert(CommentById.of(comment))
+                .insert(tableRows(comment))
+                .execute();
+        return comment;
+    }
+
+    @Override
+    public void deleteComment(Comment comment) {
+        cassandraOperations.batchOps(BatchType.LOGGED)
+                .delete(tableRows(comment))
+                .delete(CommentById.of(comment))
+                .execute();
+    }
+
+    @Override
+    public void insertAll(List<Comment> comments) {
+        saveLookups(comments);
+
+        if (phase().isWritesOld()) {
+            insertByPartition(comments, Comment::getCountry, Comment::getContent);
+        }
+        if (phase().isWritesNew()) {
+            insertByPartition(comments.stream().map(CommentByTweet::of).toList(), row -> List.of(
+                    row.getKey().getCountry(), row.getKey().getTweetId()), CommentByTweet::getContent);
+        }
+    }
+
+    @Override
+    public void saveLookups(List<Comment> comments) {
+        PreparedStatement statement = prepared(INSERT_LOOKUP);
+        for (int from = 0; from < comments.size(); from += MAX_BATCH_SIZE) {
+            join(comments.subList(from, Math.min(from + MAX_BATCH_SIZE, comments.size())).stream()
+                    .map(comment -> execute(statement.bind(comment.getId(), comment.getCountry(), comment.getTweetId())))
+                    .toList());
+        }
+    }
+
+    /**
+     * Copies every row of {@code tbl_comment} with its original write time, so that a comment updated or deleted
+     * through dual writes while the copy runs keeps its newer state in {@code tbl_comment_by_tweet}.
+     */
+    @Override
+    public long copyToTweetPartitions() {
+        PreparedStatement copy = prepared(COPY_TO_TWEET_PARTITION);
+        ResultSet rows = session.execute(SimpleStatement.newInstance(SELECT_FOR_COPY).setPageSize(COPY_PAGE_SIZE));
+        List<CompletableFuture<AsyncResultSet>> chunk = new ArrayList<>(MAX_BATCH_SIZE);
+        long copied = 0;
+        for (Row row : rows) {
+            long writeTime = row.isNull(4) ? 0L : row.getLong(4);
+            chunk.add(execute(copy.bind(row.getString(0), row.getLong(1), row.getLong(2), row.getString(3),
+                    writeTime)));
+            if (chunk.size() == MAX_BATCH_SIZE) {
+                join(chunk);
+                copied += chunk.size();
+                chunk.clear();
+            }
+        }
+        join(chunk);
+        return copied + chunk.size();
+    }
+
+    @Override
+    public List<Comment> findAllByIds(Collection<Long> ids) {
+        PreparedStatement findLookup = prepared(FIND_LOOKUP);
+        boolean readsNew = phase().isReadsNew();
+        PreparedStatement findByKey = prepared(readsNew ? FIND_BY_TWEET_KEY : FIND_BY_KEY);
+        Class<?> type = readsNew ? CommentByTweet.class : Comment.class;
+        List<CompletableFuture<Optional<Comment>>> lookups = ids.stream()
+                .distinct()
+                .map(id -> execute(findLookup.bind(id))
+                        .thenCompose(lookup -> {
+                            Row row = lookup.one();
+                            if (row == null) {
+                                return CompletableFuture.completedFuture(Optional.<Comment>empty());
+                            }
+                            return execute(findByKey.bind(row.getString("country"), row.getLong("tweet_id"), id))
+                                    .thenApply(resultSet -> firstComment(resultSet, type));
+                        }))
+                .toList();
+
+        return join(lookups).stream()
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Override
+    public boolean updateIfExists(Comment comment) {
+        CommentStorageProperties.Phase phase = phase();
+        boolean applied = phase.isReadsNew()
+                ? cassandraOperations.update(CommentByTweet.of(comment), IF_EXISTS).wasApplied()
+                : cassandraOperations.update(comment, IF_EXISTS).wasApplied();
+        if (applied && phase.isWritesOld() && phase.isWritesNew()) {
+            cassandraOperations.update(phase.isReadsNew() ? comment : CommentByTweet.of(comment));
+        }
+        return applied;
+    }
+
+    @Override
+    public void move(Comment from, Comment to) {
+        cassandraOperations.batchOps(BatchType.LOGGED)
+                .delete(tableRows(from))
+                .insert(tableRows(to))
+                .insert(CommentById.of(to))
+                .execute();
+    }
+
+    private CommentStorageProperties.Phase phase() {
+        return storageProperties.getPhase();
+    }
+
+    private List<Object> tableRows(Comment comment) {
+        List<Object> rows = new ArrayList<>(2);
+        if (phase().isWritesOld()) {
+            rows.add(comment);
+        }
+        if (phase().isWritesNew()) {
+            rows.add(CommentByTweet.of(comment));
+        }
+        return rows;
+    }
+
+    private <T> void insertByPartition(List<T> rows, Function<T, Object> partitionKey, Function<T, String> content) {
+        Map<Object, List<T>> partitions = rows.stream()
+                .collect(groupingBy(partitionKey));
+
+        for (List<T> partition : partitions.values()) {
+            for (List<T> batch : sizedBatches(partition, content)) {
+                cassandraOperations.batchOps(BatchType.UNLOGGED)
+                        .insert(batch)
+                        .execute();
+            }
+        }
+    }
+
+    /**
+     * Splits rows into batches of at most {@link #MAX_BATCH_SIZE} rows whose estimated size stays below
+     * {@link #MAX_BATCH_BYTES}, under Cassandra's default {@code batch_size_warn_threshold} of 5 KiB.
+     * A row larger than the limit on its own is written as a batch of one.
+     */
+    static <T> List<List<T>> sizedBatches(List<T> rows, Function<T, String> content) {
+        List<List<T>> batches = new ArrayList<>();
+        int from = 0;
+        int bytes = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            String text = content.apply(rows.get(i));
+            int rowBytes = ROW_OVERHEAD_BYTES + (text == null ? 0 : text.getBytes(StandardCharsets.UTF_8).length);
+            if (i > from && (i - from == MAX_BATCH_SIZE || bytes + rowBytes > MAX_BATCH_BYTES)) {
+                batches.add(rows.subList(from, i));
+                from = i;
+                bytes = 0;
+            }
+            bytes += rowBytes;
+        }
+        if (from < rows.size()) {
+            batches.add(rows.subList(from, rows.size()));
+        }
+        return batches;
+    }
+
+    private Optional<Comment> firstComment(AsyncResultSet resultSet, Class<?> type) {
+        Row row = resultSet.one();
+        return row == null ? Optional.empty() : Optional.of(toComment(row, type));
+    }
+
+    private Comment toComment(Row row, Class<?> type) {
+        Object entity = cassandraOperations.getConverter().read(type, row);
+        return entity instanceof CommentByTweet byTweet ? byTweet.toComment() : (Comment) entity;
+    }
+
+    private CompletableFuture<AsyncResultSet> execute(Statement<?> statement) {
+        return cqlExecutor.execute(statement);
+    }
+
+    private static <T> List<T> join(List<CompletableFuture<T>> futures) {
+        return AsyncCqlExecutor.joinAll(futures);
+    }
+
+    private PreparedStatement prepared(String cql) {
+        return cqlExecutor.prepared(cql);
+    }
+}
@@ -0,0 +1,25 @@
+package dev.makos.discussion.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Comment counts per tweet kept in the {@code comment_count_by_tweet} counter table. Counters are updated after
+ * the comments themselves, so a failed update leaves a count off until {@code CommentCountRepair} fixes it.
+ */
+public interface CommentCountRepository {
+
+    /**
+     * Adds each delta to the count of its tweet. Zero deltas are skipped.
+     */
+    CompletableFuture<Void> add(Map<Long, Long> deltas);
+
+    /**
+     * Returns a count for every requested tweet, in request order; tweets without comments count zero.
+     */
+    CompletableFuture<Map<Long, Long>> findCounts(Collection<Long> tweetIds);
+
+    Map<Long, Long> findAllCounts();
+
+}
@@ -0,0 +1,95 @@
+package dev.makos.discussion.repository;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import dev.makos.discussion.config.CqlOperation;
+import dev.makos.discussion.util.Deadline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Every tweet is its own counter partition, so a count costs one single-partition read and counts of several
+ * tweets are read in parallel. Counter reads use the {@link CqlOperation#COUNTER} consistency level, so they see
+ * the increments that were written with it.
+ * <p>
+ * Updates are usually sent from driver callbacks, so statements are prepared without blocking, and failures are
+ * returned as failed futures rather than thrown, which lets callers treat them as best effort.
+ */
+@RequiredArgsConstructor
+@Repository
+public class CommentCountRepositoryImpl implements CommentCountRepository {
+
+    private static final String ADD = "UPDATE comment_count_by_tweet SET comments = comments + ? WHERE tweet_id = ?";
+    private static final String FIND = "SELECT comments FROM comment_count_by_tweet WHERE tweet_id = ?";
+    private static final String FIND_ALL = "SELECT tweet_id, comments FROM comment_count_by_tweet";
+
+    private final AsyncCqlExecutor cqlExecutor;
+    private final CassandraOperations cassandraOperations;
+
+    @Override
+    public CompletableFuture<Void> add(Map<Long, Long> deltas) {
+        try {
+            Deadline deadline = Deadline.current();
+            return cqlExecutor.preparedAsync(ADD)
+                    .thenCompose(add -> CompletableFuture.allOf(deltas.entrySet().stream()
+                            .filter(delta -> delta.getValue() != 0)
+                            .map(delta -> cqlExecutor.execute(add.bind(delta.getValue(), delta.getKey()), deadline))
+                            .toArray(CompletableFuture[]::new)));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, Long>> findCounts(Collection<Long> tweetIds) {
+        try {
+            Deadline deadline = Deadline.current();
+            List<Long> distinctIds = tweetIds.stream()
+                    .distinct()
+                    .toList();
+            return cqlExecutor.preparedAsync(FIND)
+                    .thenCompose(find -> {
+                        List<CompletableFuture<Long>> counts = distinctIds.stream()
+                                .map(tweetId -> cqlExecutor.execute(find.bind(tweetId)
+                                                .setExecutionProfileName(CqlOperation.COUNTER.profileName())
+                                                .setIdempotent(true), deadline)
+                                        .thenApply(resultSet -> {
+                                            Row row = resultSet.one();
+                                            return row == null ? 0L : row.getLong(0);
+                                        }))
+                                .toList();
+
+                        return CompletableFuture.allOf(counts.toArray(CompletableFuture[]::new))
+                                .thenApply(ignored -> {
+                                    Map<Long, Long> countsByTweet =
+                                            LinkedHashMap.newLinkedHashMap(distinctIds.size());
+                                    for (int i = 0; i < distinctIds.size(); i++) {
+                                        countsByTweet.put(distinctIds.get(i), counts.get(i).join());
+                                    }
+                                    return countsByTweet;
+                                });
+                    });
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public Map<Long, Long> findAllCounts() {
+        Map<Long, Long> counts = new HashMap<>();
+        cassandraOperations.getCqlOperations().query(SimpleStatement.newInstance(FIND_ALL)
+                        .setExecutionProfileName(CqlOperation.COUNTER.profileName()),
+                row -> {
+                    counts.put(row.getLong(0), row.getLong(1));
+                });
+        return counts;
+    }
+}
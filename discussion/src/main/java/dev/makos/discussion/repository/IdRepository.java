@@ -11,6 +11,9 @@ public interface IdRepository extends CrudRepository<IdCounter, String> {
     @Query("UPDATE ids SET next_id = next_id + 1 WHERE name = :name")
     void increment(String name);
 
+    @Query("UPDATE ids SET next_id = next_id + :count WHERE name = :name")
+    void incrementBy(String name, long count);
+
     @Query("SELECT next_id FROM ids WHERE name = :name")
     Long getCurrentId(String name);
 
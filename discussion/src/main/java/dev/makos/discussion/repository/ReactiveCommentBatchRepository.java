@@ -0,0 +1,36 @@
+package dev.makos.discussion.repository;
+
+import dev.makos.discussion.model.entity.Comment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ReactiveCommentBatchRepository {
+
+    Mono<Comment> findCommentById(Long id);
+
+    Mono<Boolean> existsCommentById(Long id);
+
+    Flux<Comment> findAllComments();
+
+    Mono<Slice<Comment>> findAllComments(Pageable pageable);
+
+    Flux<Comment> findTweetComments(String country, Long tweetId, long beforeId, int limit);
+
+    Mono<Comment> saveComment(Comment comment);
+
+    Mono<Void> deleteComment(Comment comment);
+
+    Mono<Void> insertAll(List<Comment> comments);
+
+    Flux<Comment> findAllByIds(Collection<Long> ids);
+
+    Mono<Boolean> updateIfExists(Comment comment);
+
+    Mono<Void> move(Comment from, Comment to);
+
+}
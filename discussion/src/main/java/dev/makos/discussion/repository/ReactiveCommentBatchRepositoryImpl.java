@@ -0,0 +1,174 @@
+package dev.makos.discussion.repository;
+
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import dev.makos.discussion.config.CommentStorageProperties;
+import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.model.entity.CommentById;
+import dev.makos.discussion.model.entity.CommentByTweet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.EntityWriteResult;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.UpdateOptions;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.groupingBy;
+import static org.springframework.data.cassandra.core.query.Criteria.where;
+
+/**
+ * Reactive counterpart of {@link CommentBatchRepositoryImpl} with the same tables, lookup rules and storage phases.
+ */
+@RequiredArgsConstructor
+public class ReactiveCommentBatchRepositoryImpl implements ReactiveCommentBatchRepository {
+
+    private static final int MAX_CONCURRENT_WRITES = 100;
+    private static final int MAX_CONCURRENT_READS = 64;
+    private static final UpdateOptions IF_EXISTS = UpdateOptions.builder().withIfExists().build();
+
+    private final ReactiveCassandraOperations cassandraOperations;
+    private final CommentStorageProperties storageProperties;
+
+    @Override
+    public Mono<Comment> findCommentById(Long id) {
+        return cassandraOperations.selectOneById(id, CommentById.class)
+                .flatMap(lookup -> phase().isReadsNew()
+                        ? cassandraOperations.selectOneById(lookup.toByTweetKey(), CommentByTweet.class)
+                                .map(CommentByTweet::toComment)
+                        : cassandraOperations.selectOneById(lookup.toKey(), Comment.class));
+    }
+
+    @Override
+    public Mono<Boolean> existsCommentById(Long id) {
+        return cassandraOperations.selectOneById(id, CommentById.class)
+                .flatMap(lookup -> phase().isReadsNew()
+                        ? cassandraOperations.exists(lookup.toByTweetKey(), CommentByTweet.class)
+                        : cassandraOperations.exists(lookup.toKey(), Comment.class))
+                .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Flux<Comment> findAllComments() {
+        if (phase().isReadsNew()) {
+            return cassandraOperations.select(Query.empty(), CommentByTweet.class)
+                    .map(CommentByTweet::toComment);
+        }
+        return cassandraOperations.select(Query.empty(), Comment.class);
+    }
+
+    @Override
+    public Mono<Slice<Comment>> findAllComments(Pageable pageable) {
+        if (phase().isReadsNew()) {
+            return cassandraOperations.slice(Query.empty().pageRequest(pageable), CommentByTweet.class)
+                    .map(slice -> slice.map(CommentByTweet::toComment));
+        }
+        return cassandraOperations.slice(Query.empty().pageRequest(pageable), Comment.class);
+    }
+
+    @Override
+    public Flux<Comment> findTweetComments(String country, Long tweetId, long beforeId, int limit) {
+        Query query = Query.query(where("country").is(country), where("tweet_id").is(tweetId), where("id").lt(beforeId))
+                .limit(limit);
+        if (phase().isReadsNew()) {
+            return cassandraOperations.select(query.sort(Sort.by(Sort.Direction.DESC, "id")), CommentByTweet.class)
+                    .map(CommentByTweet::toComment);
+        }
+        return cassandraOperations.select(query.sort(Sort.by(Sort.Direction.DESC, "tweet_id", "id")), Comment.class);
+    }
+
+    @Override
+    public Mono<Comment> saveComment(Comment comment) {
+        return cassandraOperations.batchOps(BatchType.LOGGED)
+                .insert(CommentById.of(comment))
+                .insert(tableRows(comment))
+                .execute()
+                .thenReturn(comment);
+    }
+
+    @Override
+    public Mono<Void> deleteComment(Comment comment) {
+        return cassandraOperations.batchOps(BatchType.LOGGED)
+                .delete(tableRows(comment))
+                .delete(CommentById.of(comment))
+                .execute()
+                .then();
+    }
+
+    @Override
+    public Mono<Void> insertAll(List<Comment> comments) {
+        Mono<Void> lookups = Flux.fromIterable(comments)
+                .flatMap(comment -> cassandraOperations.insert(CommentById.of(comment)), MAX_CONCURRENT_WRITES)
+                .then();
+        Mono<Void> oldRows = phase().isWritesOld()
+                ? insertByPartition(comments, Comment::getCountry, Comment::getContent)
+                : Mono.empty();
+        Mono<Void> newRows = phase().isWritesNew()
+                ? insertByPartition(comments.stream().map(CommentByTweet::of).toList(), row -> List.of(
+                        row.getKey().getCountry(), row.getKey().getTweetId()), CommentByTweet::getContent)
+                : Mono.empty();
+
+        return lookups.then(oldRows).then(newRows);
+    }
+
+    @Override
+    public Flux<Comment> findAllByIds(Collection<Long> ids) {
+        return Flux.fromIterable(ids)
+                .distinct()
+                .flatMapSequential(this::findCommentById, MAX_CONCURRENT_READS);
+    }
+
+    @Override
+    public Mono<Boolean> updateIfExists(Comment comment) {
+        CommentStorageProperties.Phase phase = phase();
+        Mono<Boolean> applied = phase.isReadsNew()
+                ? cassandraOperations.update(CommentByTweet.of(comment), IF_EXISTS).map(EntityWriteResult::wasApplied)
+                : cassandraOperations.update(comment, IF_EXISTS).map(EntityWriteResult::wasApplied);
+        if (!phase.isWritesOld() || !phase.isWritesNew()) {
+            return applied;
+        }
+        return applied.flatMap(wasApplied -> wasApplied
+                ? cassandraOperations.update(phase.isReadsNew() ? comment : CommentByTweet.of(comment)).thenReturn(true)
+                : Mono.just(false));
+    }
+
+    @Override
+    public Mono<Void> move(Comment from, Comment to) {
+        return cassandraOperations.batchOps(BatchType.LOGGED)
+                .delete(tableRows(from))
+                .insert(tableRows(to))
+                .insert(CommentById.of(to))
+                .execute()
+                .then();
+    }
+
+    private CommentStorageProperties.Phase phase() {
+        return storageProperties.getPhase();
+    }
+
+    private List<Object> tableRows(Comment comment) {
+        List<Object> rows = new ArrayList<>(2);
+        if (phase().isWritesOld()) {
+            rows.add(comment);
+        }
+        if (phase().isWritesNew()) {
+            rows.add(CommentByTweet.of(comment));
+        }
+        return rows;
+    }
+
+    private <T> Mono<Void> insertByPartition(List<T> rows, Function<T, Object> partitionKey,
+                                             Function<T, String> content) {
+        return Flux.fromIterable(rows.stream().collect(groupingBy(partitionKey)).values())
+                .flatMapIterable(partition -> CommentBatchRepositoryImpl.sizedBatches(partition, content))
+                .flatMap(chunk -> cassandraOperations.batchOps(BatchType.UNLOGGED).insert(chunk).execute())
+                .then();
+    }
+}
@@ -0,0 +1,14 @@
+package dev.makos.discussion.repository;
+
+import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.model.entity.CommentKey;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+
+@Profile("reactive")
+@Repository
+public interface ReactiveCommentRepository
+        extends ReactiveCassandraRepository<Comment, CommentKey>, ReactiveCommentBatchRepository {
+
+}
@@ -0,0 +1,38 @@
+package dev.makos.discussion.service;
+
+import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.repository.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes a {@code comment_by_id} row for every existing comment. Runs before the application starts accepting
+ * traffic, so lookups by id never miss comments written before the lookup table existed. Rewriting a lookup row
+ * is idempotent, so the job can be re-run safely.
+ */
+@ConditionalOnProperty(name = "discussion.comment-by-id.backfill", havingValue = "true")
+@RequiredArgsConstructor
+@Component
+public class CommentByIdBackfill implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final CommentRepository commentRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Slice<Comment> page = commentRepository.findAllComments(CassandraPageRequest.first(PAGE_SIZE));
+        while (true) {
+            commentRepository.saveLookups(page.getContent());
+            if (!page.hasNext()) {
+                return;
+            }
+            page = commentRepository.findAllComments(page.nextPageable());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package dev.makos.discussion.service;
+
+import dev.makos.discussion.model.entity.CommentById;
+import dev.makos.discussion.repository.CommentCountRepository;
+import dev.makos.discussion.repository.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static dev.makos.discussion.repository.AsyncCqlExecutor.join;
+
+/**
+ * Corrects comment counts that drifted from the comments, for example after a comment was written but its counter
+ * update failed. A pass compares the {@code comment_by_id} lookups with the counters to find suspect tweets, then
+ * counts each suspect's comments in its partition and re-reads its counter right before correcting it. Writes
+ * that race with the scan are therefore not mistaken for drift; one racing with that last step may be, and the
+ * next pass undoes it. The first pass also fills the counters of comments written before the counter table existed.
+ * <p>
+ * Counters can only be incremented, so two instances repairing at once would both apply the same correction.
+ * Enable the repair on one instance only.
+ */
+@Slf4j
+@ConditionalOnProperty(name = "discussion.comment-count.repair", havingValue = "true")
+@RequiredArgsConstructor
+@Component
+public class CommentCountRepair {
+
+    private final CommentRepository commentRepository;
+    private final CommentCountRepository commentCountRepository;
+
+    @Scheduled(initialDelayString = "${discussion.comment-count.repair-interval}",
+            fixedDelayString = "${discussion.comment-count.repair-interval}")
+    public void run() {
+        try {
+            int repaired = repair();
+            log.info("Repaired the comment counts of {} tweets", repaired);
+        } catch (RuntimeException e) {
+            log.error("Repairing comment counts failed, the next run will retry", e);
+        }
+    }
+
+    int repair() {
+        Map<Long, Long> scanned = new HashMap<>();
+        Map<Long, String> countries = new HashMap<>();
+        try (Stream<CommentById> lookups = commentRepository.streamLookups()) {
+            lookups.forEach(lookup -> {
+                scanned.merge(lookup.getTweetId(), 1L, Long::sum);
+                countries.putIfAbsent(lookup.getTweetId(), lookup.getCountry());
+            });
+        }
+        Map<Long, Long> counted = commentCountRepository.findAllCounts();
+
+        Set<Long> suspects = new HashSet<>(scanned.keySet());
+        suspects.addAll(counted.keySet());
+        suspects.removeIf(tweetId -> scanned.getOrDefault(tweetId, 0L).equals(counted.getOrDefault(tweetId, 0L)));
+
+        int repaired = 0;
+        for (Long tweetId : suspects) {
+            String country = countries.get(tweetId);
+            long actual = country == null ? 0 : commentRepository.countTweetComments(country, tweetId);
+            long current = join(commentCountRepository.findCounts(List.of(tweetId))).get(tweetId);
+            if (actual != current) {
+                join(commentCountRepository.add(Map.of(tweetId, actual - current)));
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+}
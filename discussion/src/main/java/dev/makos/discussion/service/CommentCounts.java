@@ -0,0 +1,44 @@
+package dev.makos.discussion.service;
+
+import dev.makos.discussion.model.dto.CommentCountDTO;
+import dev.makos.discussion.model.entity.Comment;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+
+/**
+ * Per-tweet comment count changes caused by a write, and the count responses, shared by the servlet and
+ * reactive services.
+ */
+final class CommentCounts {
+
+    private CommentCounts() {
+    }
+
+    static Map<Long, Long> added(Collection<Comment> comments) {
+        return comments.stream()
+                .collect(groupingBy(Comment::getTweetId, counting()));
+    }
+
+    static Map<Long, Long> removed(Comment comment) {
+        return Map.of(comment.getTweetId(), -1L);
+    }
+
+    static Map<Long, Long> moved(Comment from, Comment to) {
+        Map<Long, Long> deltas = new HashMap<>();
+        deltas.merge(from.getTweetId(), -1L, Long::sum);
+        deltas.merge(to.getTweetId(), 1L, Long::sum);
+        return deltas;
+    }
+
+    /**
+     * Counts that drifted below zero read as zero until they are repaired.
+     */
+    static CommentCountDTO toDTO(Long tweetId, long count) {
+        return new CommentCountDTO(tweetId, Math.max(count, 0));
+    }
+}
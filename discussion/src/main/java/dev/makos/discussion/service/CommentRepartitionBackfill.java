@@ -0,0 +1,36 @@
+package dev.makos.discussion.service;
+
+import dev.makos.discussion.repository.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies existing comments from {@code tbl_comment} into {@code tbl_comment_by_tweet} in the background while
+ * the instance keeps serving traffic. Enable it on one instance once every instance runs a dual-write phase.
+ */
+@Slf4j
+@ConditionalOnProperty(name = "discussion.comment-storage.backfill", havingValue = "true")
+@RequiredArgsConstructor
+@Component
+public class CommentRepartitionBackfill implements ApplicationRunner {
+
+    private final CommentRepository commentRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Thread.ofVirtual().name("comment-repartition-backfill").start(this::copy);
+    }
+
+    void copy() {
+        try {
+            long copied = commentRepository.copyToTweetPartitions();
+            log.info("Copied {} comments to tbl_comment_by_tweet", copied);
+        } catch (RuntimeException e) {
+            log.error("Copying comments to tbl_comment_by_tweet failed, re-run the backfill to resume", e);
+        }
+    }
+}
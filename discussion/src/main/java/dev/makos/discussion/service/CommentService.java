@@ -1,77 +1,266 @@
 package dev.makos.discussion.service;
 
 import dev.makos.discussion.exception.CustomException;
+import dev.makos.discussion.id.IdGenerator;
 import dev.makos.discussion.mapper.CommentMapper;
+import dev.makos.discussion.model.dto.CommentBatchDTO;
+import dev.makos.discussion.model.dto.CommentCountDTO;
 import dev.makos.discussion.model.dto.CommentDTO;
+import dev.makos.discussion.model.dto.CommentPageDTO;
 import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.repository.AsyncCommentRepository;
+import dev.makos.discussion.repository.CommentCountRepository;
 import dev.makos.discussion.repository.CommentRepository;
-import dev.makos.discussion.repository.IdRepository;
 import dev.makos.discussion.util.ErrorMessage;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.toMap;
+
+@Slf4j
 @AllArgsConstructor
 @Service
 public class CommentService {
 
-    private static final String COMMENT_ID = "comment_id";
+    private static final int STREAM_PAGE_SIZE = 500;
+    private static final int MAX_IDS = 1000;
     private final CommentMapper commentMapper;
     private final CommentRepository commentRepository;
-    private final IdRepository idRepository;
+    private final AsyncCommentRepository asyncCommentRepository;
+    private final CommentCountRepository commentCountRepository;
+    private final IdGenerator idGenerator;
 
-    public CommentDTO saveOne(CommentDTO commentDTO) {
+    public CompletableFuture<CommentDTO> saveOne(CommentDTO commentDTO) {
         Comment entity = commentMapper.toEntity(commentDTO);
-        long id = getNextCommentId();
-        entity.setId(id);
-        entity = commentRepository.save(entity);
-        return commentMapper.toDTO(entity);
+        entity.setId(idGenerator.nextId());
+        return asyncCommentRepository.save(entity)
+                .thenCompose(saved -> addCounts(CommentCounts.added(List.of(saved)))
+                        .thenApply(ignored -> commentMapper.toDTO(saved)));
     }
 
-    public CommentDTO getOne(Long id) {
-        return commentRepository.findCommentById(id)
+    public CommentBatchDTO saveAll(CommentBatchDTO commentBatchDTO) {
+        List<CommentDTO> commentDTOs = commentBatchDTO.getComments();
+        int newComments = (int) commentDTOs.stream()
+                .filter(commentDTO -> commentDTO.getId() == null)
+                .count();
+        Map<Long, Comment> existing = findExisting(commentDTOs);
+        long[] ids = newComments > 0 ? idGenerator.nextIds(newComments) : new long[0];
+        int nextId = 0;
+
+        List<Comment> entities = new ArrayList<>(commentDTOs.size());
+        List<Comment> created = new ArrayList<>(newComments);
+        for (CommentDTO commentDTO : commentDTOs) {
+            if (commentDTO.getId() == null) {
+                Comment entity = commentMapper.toEntity(commentDTO);
+                entity.setId(ids[nextId++]);
+                entities.add(entity);
+                created.add(entity);
+            } else {
+                Comment entity = existing.get(commentDTO.getId());
+                entity.setContent(commentDTO.getContent());
+                entities.add(entity);
+            }
+        }
+
+        commentRepository.insertAll(entities);
+        addCounts(CommentCounts.added(created)).join();
+        return new CommentBatchDTO(entities.stream()
                 .map(commentMapper::toDTO)
-                .orElseThrow(() -> CustomException.builder()
+                .toList());
+    }
+
+    /**
+     * Reads the comments a batch updates with one lookup. A batch cannot move comments to another tweet, so an
+     * entry that names a different tweet or country is rejected like in {@link #updateOne} without moveTweet.
+     */
+    private Map<Long, Comment> findExisting(List<CommentDTO> commentDTOs) {
+        List<Long> ids = commentDTOs.stream()
+                .map(CommentDTO::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Comment> existing = commentRepository.findAllByIds(ids).stream()
+                .collect(toMap(Comment::getId, Function.identity()));
+        for (CommentDTO commentDTO : commentDTOs) {
+            if (commentDTO.getId() == null) {
+                continue;
+            }
+
+            Comment current = existing.get(commentDTO.getId());
+            if (current == null) {
+                throw CustomException.builder()
                         .message(ErrorMessage.COMMENT_NOT_FOUND.getText())
                         .httpStatus(HttpStatus.NOT_FOUND)
-                        .build());
+                        .build();
+            }
+            if (!current.getTweetId().equals(commentDTO.getTweetId())
+                    || !current.getCountry().equals(commentDTO.getCountry())) {
+                throw CustomException.builder()
+                        .message(ErrorMessage.COMMENT_TWEET_CHANGED.getText())
+                        .httpStatus(HttpStatus.CONFLICT)
+                        .build();
+            }
+        }
+        return existing;
+    }
+
+    public CompletableFuture<CommentDTO> getOne(Long id) {
+        return asyncCommentRepository.findById(id)
+                .thenApply(comment -> comment
+                        .map(commentMapper::toDTO)
+                        .orElseThrow(() -> CustomException.builder()
+                                .message(ErrorMessage.COMMENT_NOT_FOUND.getText())
+                                .httpStatus(HttpStatus.NOT_FOUND)
+                                .build()));
     }
 
-    public void deleteOne(Long id) {
-        Optional<Comment> commentById = commentRepository.findCommentById(id);
-        if (commentById.isEmpty()) {
+    public List<CommentDTO> getAllByIds(List<Long> ids) {
+        if (ids.size() > MAX_IDS) {
             throw CustomException.builder()
-                    .message(ErrorMessage.COMMENT_NOT_FOUND.getText())
-                    .httpStatus(HttpStatus.NOT_FOUND)
+                    .message(ErrorMessage.TOO_MANY_IDS.getText())
+                    .httpStatus(HttpStatus.BAD_REQUEST)
                     .build();
         }
 
-        commentRepository.deleteById(commentById.get().getKey());
+        return commentRepository.findAllByIds(ids).stream()
+                .map(commentMapper::toDTO)
+                .toList();
+    }
+
+    public boolean existsOne(Long id) {
+        return commentRepository.existsCommentById(id);
+    }
+
+    public CompletableFuture<Void> deleteOne(Long id) {
+        return asyncCommentRepository.findById(id)
+                .thenCompose(commentById -> {
+                    if (commentById.isEmpty()) {
+                        throw CustomException.builder()
+                                .message(ErrorMessage.COMMENT_NOT_FOUND.getText())
+                                .httpStatus(HttpStatus.NOT_FOUND)
+                                .build();
+                    }
+
+                    Comment comment = commentById.get();
+                    return asyncCommentRepository.delete(comment)
+                            .thenCompose(ignored -> addCounts(CommentCounts.removed(comment)));
+                });
     }
 
-    public CommentDTO updateOne(CommentDTO commentDTO) {
-        Comment entity = commentRepository.findCommentById(commentDTO.getId())
+    public CommentDTO updateOne(CommentDTO commentDTO, boolean moveTweet) {
+        Comment entity = commentMapper.toEntity(commentDTO);
+        if (commentRepository.updateIfExists(entity)) {
+            return commentMapper.toDTO(entity);
+        }
+
+        Comment current = commentRepository.findCommentById(commentDTO.getId())
                 .orElseThrow(() -> CustomException.builder()
                         .message(ErrorMessage.COMMENT_NOT_FOUND.getText())
                         .httpStatus(HttpStatus.NOT_FOUND)
                         .build());
+        if (!moveTweet) {
+            throw CustomException.builder()
+                    .message(ErrorMessage.COMMENT_TWEET_CHANGED.getText())
+                    .httpStatus(HttpStatus.CONFLICT)
+                    .build();
+        }
 
-        entity.setContent(commentDTO.getContent());
-        entity = commentRepository.save(entity);
+        commentRepository.move(current, entity);
+        addCounts(CommentCounts.moved(current, entity)).join();
         return commentMapper.toDTO(entity);
     }
 
+    public CompletableFuture<CommentCountDTO> countOne(Long tweetId) {
+        return commentCountRepository.findCounts(List.of(tweetId))
+                .thenApply(counts -> CommentCounts.toDTO(tweetId, counts.get(tweetId)));
+    }
+
+    public CompletableFuture<List<CommentCountDTO>> countAll(List<Long> tweetIds) {
+        if (tweetIds.size() > MAX_IDS) {
+            throw CustomException.builder()
+                    .message(ErrorMessage.TOO_MANY_IDS.getText())
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .build();
+        }
+
+        return commentCountRepository.findCounts(tweetIds)
+                .thenApply(counts -> counts.entrySet().stream()
+                        .map(count -> CommentCounts.toDTO(count.getKey(), count.getValue()))
+                        .toList());
+    }
+
     public List<CommentDTO> getAll() {
-        return commentRepository.findAll().stream()
+        return commentRepository.findAllComments().stream()
                 .map(commentMapper::toDTO)
                 .toList();
     }
 
-    private synchronized long getNextCommentId() {
-        idRepository.increment(COMMENT_ID);
-        return idRepository.getCurrentId(COMMENT_ID);
+    public CommentPageDTO getPage(int limit, String next) {
+        PageCursors.requireValidLimit(limit);
+
+        Pageable pageable = next == null
+                ? CassandraPageRequest.first(limit)
+                : CassandraPageRequest.of(PageRequest.of(0, limit), PageCursors.decode(next));
+        Slice<Comment> page = commentRepository.findAllComments(pageable);
+        return new CommentPageDTO(
+                page.stream()
+                        .map(commentMapper::toDTO)
+                        .toList(),
+                page.hasNext() ? PageCursors.encode(((CassandraPageRequest) page.nextPageable()).getPagingState()) : null);
+    }
+
+    /**
+     * Pages through the comments of one tweet, newest first. The cursor is the id of the last returned comment,
+     * so it stays valid while comments are added or removed and across storage phases.
+     */
+    public CommentPageDTO getTweetPage(String country, Long tweetId, int limit, String next) {
+        PageCursors.requireValidLimit(limit);
+
+        long beforeId = next == null ? Long.MAX_VALUE : PageCursors.decodeId(next);
+        List<Comment> comments = commentRepository.findTweetComments(country, tweetId, beforeId, limit + 1);
+        boolean hasNext = comments.size() > limit;
+        List<Comment> page = hasNext ? comments.subList(0, limit) : comments;
+        return new CommentPageDTO(
+                page.stream()
+                        .map(commentMapper::toDTO)
+                        .toList(),
+                hasNext ? PageCursors.encodeId(page.getLast().getId()) : null);
+    }
+
+    public Stream<CommentDTO> streamAll() {
+        return Stream.iterate(commentRepository.findAllComments(CassandraPageRequest.first(STREAM_PAGE_SIZE)),
+                        Objects::nonNull,
+                        page -> page.hasNext() ? commentRepository.findAllComments(page.nextPageable()) : null)
+                .flatMap(Slice::stream)
+                .map(commentMapper::toDTO);
+    }
+
+    /**
+     * The comments are already written when their counts are updated, so a failed update is logged instead of
+     * failing the request; {@link CommentCountRepair} corrects the count later.
+     */
+    private CompletableFuture<Void> addCounts(Map<Long, Long> deltas) {
+        return commentCountRepository.add(deltas)
+                .exceptionally(e -> {
+                    log.warn("Comment counts {} were not updated, the count repair will correct them", deltas, e);
+                    return null;
+                });
     }
 }
@@ -0,0 +1,62 @@
+package dev.makos.discussion.service;
+
+import dev.makos.discussion.exception.CustomException;
+import dev.makos.discussion.util.ErrorMessage;
+import org.springframework.http.HttpStatus;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Page limits and opaque page cursors shared by the servlet and the reactive comment services. A cursor is either
+ * a Cassandra paging state or, for keyset pages, the id of the last returned comment, both Base64url-encoded.
+ */
+final class PageCursors {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private PageCursors() {
+    }
+
+    static void requireValidLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw CustomException.builder()
+                    .message(ErrorMessage.INVALID_PAGE_LIMIT.getText())
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .build();
+        }
+    }
+
+    static String encode(ByteBuffer pagingState) {
+        byte[] bytes = new byte[pagingState.remaining()];
+        pagingState.duplicate().get(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static String encodeId(long id) {
+        return encode(ByteBuffer.allocate(Long.BYTES).putLong(0, id));
+    }
+
+    static ByteBuffer decode(String cursor) {
+        try {
+            return ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+    }
+
+    static long decodeId(String cursor) {
+        ByteBuffer bytes = decode(cursor);
+        if (bytes.remaining() != Long.BYTES) {
+            throw invalidCursor();
+        }
+        return bytes.getLong();
+    }
+
+    private static CustomException invalidCursor() {
+        return CustomException.builder()
+                .message(ErrorMessage.INVALID_CURSOR.getText())
+                .httpStatus(HttpStatus.BAD_REQUEST)
+                .build();
+    }
+}
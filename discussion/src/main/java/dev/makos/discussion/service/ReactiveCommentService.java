@@ -0,0 +1,241 @@
+package dev.makos.discussion.service;
+
+import dev.makos.discussion.exception.CustomException;
+import dev.makos.discussion.id.IdGenerator;
+import dev.makos.discussion.mapper.CommentMapper;
+import dev.makos.discussion.model.dto.CommentBatchDTO;
+import dev.makos.discussion.model.dto.CommentCountDTO;
+import dev.makos.discussion.model.dto.CommentDTO;
+import dev.makos.discussion.model.dto.CommentPageDTO;
+import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.repository.CommentCountRepository;
+import dev.makos.discussion.repository.ReactiveCommentRepository;
+import dev.makos.discussion.util.ErrorMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Non-blocking counterpart of {@link CommentService} for the {@code reactive} profile, with the same validation
+ * rules, error messages and page cursors.
+ */
+@Slf4j
+@Profile("reactive")
+@RequiredArgsConstructor
+@Service
+public class ReactiveCommentService {
+
+    private static final int MAX_IDS = 1000;
+
+    private final CommentMapper commentMapper;
+    private final ReactiveCommentRepository commentRepository;
+    private final CommentCountRepository commentCountRepository;
+    private final IdGenerator idGenerator;
+
+    public Mono<CommentDTO> saveOne(CommentDTO commentDTO) {
+        Comment entity = commentMapper.toEntity(commentDTO);
+        entity.setId(idGenerator.nextId());
+        return commentRepository.saveComment(entity)
+                .flatMap(saved -> addCounts(CommentCounts.added(List.of(saved)))
+                        .thenReturn(commentMapper.toDTO(saved)));
+    }
+
+    public Mono<CommentBatchDTO> saveAll(CommentBatchDTO commentBatchDTO) {
+        List<CommentDTO> commentDTOs = commentBatchDTO.getComments();
+        int newComments = (int) commentDTOs.stream()
+                .filter(commentDTO -> commentDTO.getId() == null)
+                .count();
+        long[] ids = newComments > 0 ? idGenerator.nextIds(newComments) : new long[0];
+        List<Comment> created = new ArrayList<>(newComments);
+
+        List<Long> existingIds = commentDTOs.stream()
+                .map(CommentDTO::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        Mono<Map<Long, Comment>> existing = existingIds.isEmpty()
+                ? Mono.just(Map.of())
+                : commentRepository.findAllByIds(existingIds).collectMap(Comment::getId);
+
+        return existing
+                .flatMap(found -> {
+                    List<Comment> entities = new ArrayList<>(commentDTOs.size());
+                    int nextId = 0;
+                    for (CommentDTO commentDTO : commentDTOs) {
+                        if (commentDTO.getId() == null) {
+                            Comment entity = commentMapper.toEntity(commentDTO);
+                            entity.setId(ids[nextId++]);
+                            created.add(entity);
+                            entities.add(entity);
+                            continue;
+                        }
+
+                        Comment entity = found.get(commentDTO.getId());
+                        if (entity == null) {
+                            return Mono.error(commentNotFound());
+                        }
+                        if (!entity.getTweetId().equals(commentDTO.getTweetId())
+                                || !entity.getCountry().equals(commentDTO.getCountry())) {
+                            return Mono.error(commentTweetChanged());
+                        }
+                        entity.setContent(commentDTO.getContent());
+                        entities.add(entity);
+                    }
+                    return Mono.just(entities);
+                })
+                .flatMap(entities -> commentRepository.insertAll(entities)
+                        .then(Mono.defer(() -> addCounts(CommentCounts.added(created))))
+                        .thenReturn(new CommentBatchDTO(entities.stream()
+                                .map(commentMapper::toDTO)
+                                .toList())));
+    }
+
+    public Mono<CommentDTO> getOne(Long id) {
+        return commentRepository.findCommentById(id)
+                .map(commentMapper::toDTO)
+                .switchIfEmpty(Mono.error(this::commentNotFound));
+    }
+
+    public Mono<List<CommentDTO>> getAllByIds(List<Long> ids) {
+        if (ids.size() > MAX_IDS) {
+            return Mono.error(CustomException.builder()
+                    .message(ErrorMessage.TOO_MANY_IDS.getText())
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .build());
+        }
+
+        return commentRepository.findAllByIds(ids)
+                .map(commentMapper::toDTO)
+                .collectList();
+    }
+
+    public Mono<Boolean> existsOne(Long id) {
+        return commentRepository.existsCommentById(id);
+    }
+
+    public Mono<Void> deleteOne(Long id) {
+        return commentRepository.findCommentById(id)
+                .switchIfEmpty(Mono.error(this::commentNotFound))
+                .flatMap(comment -> commentRepository.deleteComment(comment)
+                        .then(addCounts(CommentCounts.removed(comment))));
+    }
+
+    public Mono<CommentDTO> updateOne(CommentDTO commentDTO, boolean moveTweet) {
+        Comment entity = commentMapper.toEntity(commentDTO);
+        return commentRepository.updateIfExists(entity)
+                .flatMap(applied -> {
+                    if (applied) {
+                        return Mono.just(commentMapper.toDTO(entity));
+                    }
+
+                    return commentRepository.findCommentById(commentDTO.getId())
+                            .switchIfEmpty(Mono.error(this::commentNotFound))
+                            .flatMap(current -> {
+                                if (!moveTweet) {
+                                    return Mono.error(commentTweetChanged());
+                                }
+
+                                return commentRepository.move(current, entity)
+                                        .then(addCounts(CommentCounts.moved(current, entity)))
+                                        .thenReturn(commentMapper.toDTO(entity));
+                            });
+                });
+    }
+
+    public Mono<CommentCountDTO> countOne(Long tweetId) {
+        return Mono.fromFuture(() -> commentCountRepository.findCounts(List.of(tweetId)))
+                .map(counts -> CommentCounts.toDTO(tweetId, counts.get(tweetId)));
+    }
+
+    public Mono<List<CommentCountDTO>> countAll(List<Long> tweetIds) {
+        if (tweetIds.size() > MAX_IDS) {
+            return Mono.error(CustomException.builder()
+                    .message(ErrorMessage.TOO_MANY_IDS.getText())
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .build());
+        }
+
+        return Mono.fromFuture(() -> commentCountRepository.findCounts(tweetIds))
+                .map(counts -> counts.entrySet().stream()
+                        .map(count -> CommentCounts.toDTO(count.getKey(), count.getValue()))
+                        .toList());
+    }
+
+    public Mono<List<CommentDTO>> getAll() {
+        return streamAll().collectList();
+    }
+
+    public Mono<CommentPageDTO> getPage(int limit, String next) {
+        PageCursors.requireValidLimit(limit);
+
+        Pageable pageable = next == null
+                ? CassandraPageRequest.first(limit)
+                : CassandraPageRequest.of(PageRequest.of(0, limit), PageCursors.decode(next));
+        return commentRepository.findAllComments(pageable)
+                .map(page -> new CommentPageDTO(
+                        page.stream()
+                                .map(commentMapper::toDTO)
+                                .toList(),
+                        page.hasNext()
+                                ? PageCursors.encode(((CassandraPageRequest) page.nextPageable()).getPagingState())
+                                : null));
+    }
+
+    public Mono<CommentPageDTO> getTweetPage(String country, Long tweetId, int limit, String next) {
+        PageCursors.requireValidLimit(limit);
+
+        long beforeId = next == null ? Long.MAX_VALUE : PageCursors.decodeId(next);
+        return commentRepository.findTweetComments(country, tweetId, beforeId, limit + 1)
+                .collectList()
+                .map(comments -> {
+                    boolean hasNext = comments.size() > limit;
+                    List<Comment> page = hasNext ? comments.subList(0, limit) : comments;
+                    return new CommentPageDTO(
+                            page.stream()
+                                    .map(commentMapper::toDTO)
+                                    .toList(),
+                            hasNext ? PageCursors.encodeId(page.getLast().getId()) : null);
+                });
+    }
+
+    public Flux<CommentDTO> streamAll() {
+        return commentRepository.findAllComments()
+                .map(commentMapper::toDTO);
+    }
+
+    /**
+     * Same policy as {@link CommentService}: a failed count update is logged and left to {@link CommentCountRepair}.
+     */
+    private Mono<Void> addCounts(Map<Long, Long> deltas) {
+        return Mono.fromFuture(() -> commentCountRepository.add(deltas))
+                .onErrorResume(e -> {
+                    log.warn("Comment counts {} were not updated, the count repair will correct them", deltas, e);
+                    return Mono.empty();
+                });
+    }
+
+    private CustomException commentNotFound() {
+        return CustomException.builder()
+                .message(ErrorMessage.COMMENT_NOT_FOUND.getText())
+                .httpStatus(HttpStatus.NOT_FOUND)
+                .build();
+    }
+
+    private CustomException commentTweetChanged() {
+        return CustomException.builder()
+                .message(ErrorMessage.COMMENT_TWEET_CHANGED.getText())
+                .httpStatus(HttpStatus.CONFLICT)
+                .build();
+    }
+}
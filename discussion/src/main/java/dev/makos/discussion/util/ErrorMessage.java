@@ -4,7 +4,13 @@ import lombok.Getter;
 
 @Getter
 public enum ErrorMessage {
-    COMMENT_NOT_FOUND("Comment not found");
+    COMMENT_NOT_FOUND("Comment not found"),
+    TOO_MANY_IDS("Too many ids requested"),
+    COMMENT_TWEET_CHANGED("Comment belongs to another tweet"),
+    DEADLINE_EXCEEDED("Request deadline exceeded"),
+    INVALID_PAGE_LIMIT("Page limit must be between 1 and 1000"),
+    INVALID_CURSOR("Invalid page cursor"),
+    TOO_MANY_IN_FLIGHT("Too many Cassandra requests in flight");
 
     private final String text;
 
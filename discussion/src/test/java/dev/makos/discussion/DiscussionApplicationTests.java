@@ -3,7 +3,7 @@ package dev.makos.discussion;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "discussion.id-generator.node-id=0")
 class DiscussionApplicationTests {
 
     @Test
@@ -0,0 +1,94 @@
+package dev.makos.discussion.benchmark;
+
+import dev.makos.discussion.config.CqlProperties;
+import dev.makos.discussion.integration.config.SpringBootTestContainers;
+import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.model.entity.CommentKey;
+import dev.makos.discussion.repository.AsyncCommentRepository;
+import dev.makos.discussion.repository.CommentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the blocking Spring Data path with the async prepared-statement path for the save, get and delete
+ * round trip of one comment. The blocking path gets a thread per concurrent call; the async path issues the same
+ * number of concurrent calls from a single thread.
+ */
+@Tag("benchmark")
+@SpringBootTestContainers
+class CommentRepositoryBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 64);
+    private static final int ROUND_TRIPS = Integer.getInteger("benchmark.round-trips", 20_000);
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private AsyncCommentRepository asyncCommentRepository;
+    @Autowired
+    private CqlProperties cqlProperties;
+
+    @Test
+    void blockingRepository_vs_asyncRepository() throws Exception {
+        assertTrue(cqlProperties.getMaxInFlight() >= CONCURRENCY, "benchmark.concurrency exceeds max in flight");
+        blocking(ROUND_TRIPS / 10);
+        async(ROUND_TRIPS / 10);
+
+        double blocking = blocking(ROUND_TRIPS);
+        double async = async(ROUND_TRIPS);
+
+        System.out.printf("%-24s concurrency=%d throughput=%.0f round trips/s%n", "blocking repository",
+                CONCURRENCY, blocking);
+        System.out.printf("%-24s concurrency=%d throughput=%.0f round trips/s%n", "async repository",
+                CONCURRENCY, async);
+    }
+
+    private double blocking(int roundTrips) throws Exception {
+        long begin = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY)) {
+            List<CompletableFuture<Void>> calls = new ArrayList<>(roundTrips);
+            for (int i = 0; i < roundTrips; i++) {
+                calls.add(CompletableFuture.runAsync(() -> {
+                    Comment comment = commentRepository.saveComment(newComment());
+                    commentRepository.findCommentById(comment.getId()).orElseThrow();
+                    commentRepository.deleteComment(comment);
+                }, executor));
+            }
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+        }
+        return roundTrips / ((System.nanoTime() - begin) / 1_000_000_000.0);
+    }
+
+    private double async(int roundTrips) throws Exception {
+        Semaphore window = new Semaphore(CONCURRENCY);
+        List<CompletableFuture<Void>> calls = new ArrayList<>(roundTrips);
+        long begin = System.nanoTime();
+        for (int i = 0; i < roundTrips; i++) {
+            window.acquire();
+            calls.add(asyncCommentRepository.save(newComment())
+                    .thenCompose(comment -> asyncCommentRepository.findById(comment.getId()))
+                    .thenCompose(comment -> asyncCommentRepository.delete(comment.orElseThrow()))
+                    .whenComplete((ignored, error) -> window.release()));
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+        return roundTrips / ((System.nanoTime() - begin) / 1_000_000_000.0);
+    }
+
+    private Comment newComment() {
+        long id = ids.incrementAndGet();
+        return new Comment(new CommentKey("KZ", id % 100, id), "benchmark-" + id);
+    }
+}
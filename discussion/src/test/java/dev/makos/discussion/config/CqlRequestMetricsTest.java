@@ -0,0 +1,54 @@
+package dev.makos.discussion.config;
+
+import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CqlRequestMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CqlRequestMetrics underTest = new CqlRequestMetrics(meterRegistry);
+
+    @Test
+    void onSuccess_tagsOperationAndProfileConsistency() {
+        // given
+        DriverExecutionProfile profile = mock(DriverExecutionProfile.class);
+        when(profile.getName()).thenReturn("read");
+        when(profile.getString(DefaultDriverOption.REQUEST_CONSISTENCY)).thenReturn("LOCAL_ONE");
+        // when
+        underTest.onSuccess(SimpleStatement.newInstance("SELECT * FROM ids"), TimeUnit.MILLISECONDS.toNanos(3),
+                profile, null, "s0");
+        // then
+        Timer timer = meterRegistry.find("discussion.cql.requests")
+                .tags("operation", "read", "consistency", "LOCAL_ONE", "outcome", "success")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void onError_tagsConsistencySetOnStatement() {
+        // given
+        DriverExecutionProfile profile = mock(DriverExecutionProfile.class);
+        when(profile.getName()).thenReturn("write");
+        // when
+        underTest.onError(SimpleStatement.newInstance("DELETE FROM ids WHERE name = 'a'")
+                        .setConsistencyLevel(DefaultConsistencyLevel.QUORUM),
+                new IllegalStateException(), 1, profile, null, "s0");
+        // then
+        assertNotNull(meterRegistry.find("discussion.cql.requests")
+                .tags("operation", "write", "consistency", "QUORUM", "outcome", "error")
+                .timer());
+    }
+}
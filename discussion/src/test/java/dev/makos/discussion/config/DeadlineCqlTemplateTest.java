@@ -0,0 +1,52 @@
+package dev.makos.discussion.config;
+
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import dev.makos.discussion.util.Deadline;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineCqlTemplateTest {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(2);
+    private static final SimpleStatement STATEMENT = SimpleStatement.newInstance("SELECT * FROM tbl_comment");
+
+    @DisplayName("With deadline leaves the statement untouched when the request has no deadline")
+    @Test
+    void withDeadline_keepsStatement_whenNoDeadline() {
+        // when
+        Statement<?> result = DeadlineCqlTemplate.withDeadline(STATEMENT, DEFAULT_TIMEOUT);
+        // then
+        assertSame(STATEMENT, result);
+    }
+
+    @DisplayName("With deadline shortens the statement timeout to the time the request has left")
+    @Test
+    void withDeadline_shortensTimeout_whenDeadlineIsTighter() {
+        // given
+        Statement<?> result;
+        // when
+        try (Deadline.Scope ignored = Deadline.after(Duration.ofMillis(500)).bind()) {
+            result = DeadlineCqlTemplate.withDeadline(STATEMENT, DEFAULT_TIMEOUT);
+        }
+        // then
+        assertNotNull(result.getTimeout());
+        assertTrue(result.getTimeout().compareTo(Duration.ofMillis(500)) <= 0);
+    }
+
+    @DisplayName("With deadline refuses to send the statement once the deadline has passed")
+    @Test
+    void withDeadline_throws_whenDeadlineExpired() {
+        // when
+        try (Deadline.Scope ignored = Deadline.after(Duration.ZERO).bind()) {
+            // then
+            assertThrows(QueryTimeoutException.class,
+                    () -> DeadlineCqlTemplate.withDeadline(STATEMENT, DEFAULT_TIMEOUT));
+        }
+    }
+}
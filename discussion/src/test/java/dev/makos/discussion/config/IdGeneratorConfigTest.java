@@ -0,0 +1,58 @@
+package dev.makos.discussion.config;
+
+import dev.makos.discussion.id.CounterIdGenerator;
+import dev.makos.discussion.id.IdGenerator;
+import dev.makos.discussion.repository.AsyncCqlExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class IdGeneratorConfigTest {
+
+    private final IdGeneratorConfig underTest = new IdGeneratorConfig();
+
+    @DisplayName("Snowflake id generator refuses to start without a node id")
+    @Test
+    void idGenerator_throwException_whenSnowflakeNodeIdMissing() {
+        // given
+        IdGeneratorProperties properties = bind(Map.of("discussion.id-generator.node-id", ""));
+        // when
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> underTest.idGenerator(properties, mock(AsyncCqlExecutor.class)));
+        // then
+        assertTrue(exception.getMessage().contains("node-id"));
+    }
+
+    @DisplayName("Snowflake id generator starts with an explicit node id")
+    @Test
+    void idGenerator_returnsSnowflake_whenNodeIdSet() {
+        // given
+        IdGeneratorProperties properties = bind(Map.of("discussion.id-generator.node-id", "0"));
+        // when
+        IdGenerator result = underTest.idGenerator(properties, mock(AsyncCqlExecutor.class));
+        // then
+        assertNotEquals(result.nextId(), result.nextId());
+    }
+
+    @DisplayName("Counter id generator does not need a node id")
+    @Test
+    void idGenerator_returnsCounter_whenNodeIdMissing() {
+        // given
+        IdGeneratorProperties properties = bind(Map.of("discussion.id-generator.type", "counter"));
+        // when
+        IdGenerator result = underTest.idGenerator(properties, mock(AsyncCqlExecutor.class));
+        // then
+        assertInstanceOf(CounterIdGenerator.class, result);
+    }
+
+    private static IdGeneratorProperties bind(Map<String, String> values) {
+        return new Binder(new MapConfigurationPropertySource(values))
+                .bindOrCreate("discussion.id-generator", IdGeneratorProperties.class);
+    }
+}
@@ -0,0 +1,90 @@
+package dev.makos.discussion.config;
+
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.session.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProfiledCqlSessionTest {
+
+    @Mock
+    private Session delegate;
+
+    private ProfiledCqlSession underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ProfiledCqlSession(delegate);
+        doReturn(mock(ResultSet.class)).when(delegate).execute(any(), eq(Statement.SYNC));
+    }
+
+    @Test
+    void execute_usesReadProfile_forSelects() {
+        // when
+        underTest.execute(SimpleStatement.newInstance("SELECT * FROM tbl_comment WHERE country = ?", "KZ"));
+        // then
+        assertEquals("read", sentProfile());
+    }
+
+    @Test
+    void execute_usesCounterProfile_forCounterUpdates() {
+        // given
+        PreparedStatement prepared = mock(PreparedStatement.class);
+        BoundStatement bound = mock(BoundStatement.class);
+        when(bound.getPreparedStatement()).thenReturn(prepared);
+        when(prepared.getQuery()).thenReturn("UPDATE ids SET next_id = next_id + ? WHERE name = ?");
+        when(bound.setExecutionProfileName("counter")).thenReturn(bound);
+        // when
+        underTest.execute(bound);
+        // then
+        verify(bound).setExecutionProfileName("counter");
+        verify(delegate).execute(bound, Statement.SYNC);
+    }
+
+    @Test
+    void execute_usesWriteProfile_forInsertsAndBatches() {
+        // when
+        underTest.execute(SimpleStatement.newInstance("INSERT INTO comment_by_id (id, country, tweet_id) VALUES (1, 'KZ', 2)"));
+        underTest.execute(BatchStatement.newInstance(DefaultBatchType.LOGGED,
+                SimpleStatement.newInstance("DELETE FROM comment_by_id WHERE id = 1")));
+        // then
+        ArgumentCaptor<Statement<?>> captor = ArgumentCaptor.forClass(Statement.class);
+        verify(delegate, times(2)).execute(captor.capture(), eq(Statement.SYNC));
+        captor.getAllValues().forEach(statement -> assertEquals("write", statement.getExecutionProfileName()));
+    }
+
+    @Test
+    void execute_keepsExplicitProfile() {
+        // when
+        underTest.execute(SimpleStatement.newInstance("SELECT next_id FROM ids WHERE name = 'comment_id'")
+                .setExecutionProfileName("counter"));
+        // then
+        assertEquals("counter", sentProfile());
+    }
+
+    private String sentProfile() {
+        ArgumentCaptor<Statement<?>> captor = ArgumentCaptor.forClass(Statement.class);
+        verify(delegate).execute(captor.capture(), eq(Statement.SYNC));
+        return captor.getValue().getExecutionProfileName();
+    }
+}
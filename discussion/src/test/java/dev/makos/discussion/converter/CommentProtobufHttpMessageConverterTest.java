@@ -0,0 +1,80 @@
+package dev.makos.discussion.converter;
+
+import dev.makos.discussion.mapper.CommentProtoMapper;
+import dev.makos.discussion.model.dto.CommentBatchDTO;
+import dev.makos.discussion.model.dto.CommentDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static dev.makos.discussion.converter.CommentProtobufHttpMessageConverter.APPLICATION_PROTOBUF;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommentProtobufHttpMessageConverterTest {
+
+    private static final Type COMMENT_LIST = new ParameterizedTypeReference<List<CommentDTO>>() {
+    }.getType();
+
+    private final CommentProtobufHttpMessageConverter underTest =
+            new CommentProtobufHttpMessageConverter(new CommentProtoMapper());
+
+    @Test
+    void writeAndRead_keepsComment_whenIdIsMissing() throws Exception {
+        // given
+        CommentDTO commentDTO = commentDTO(null, "content");
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        // when
+        underTest.write(commentDTO, CommentDTO.class, APPLICATION_PROTOBUF, output);
+        Object actual = underTest.read(CommentDTO.class, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+        // then
+        assertEquals(commentDTO, actual);
+        assertNull(((CommentDTO) actual).getId());
+        assertEquals(APPLICATION_PROTOBUF, output.getHeaders().getContentType());
+    }
+
+    @Test
+    void writeAndRead_keepsCommentList() throws Exception {
+        // given
+        List<CommentDTO> commentDTOs = List.of(commentDTO(1L, "first"), commentDTO(2L, "second"));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        // when
+        underTest.write(commentDTOs, COMMENT_LIST, APPLICATION_PROTOBUF, output);
+        Object actual = underTest.read(COMMENT_LIST, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+        // then
+        assertEquals(commentDTOs, actual);
+    }
+
+    @Test
+    void writeAndRead_keepsCommentBatch() throws Exception {
+        // given
+        CommentBatchDTO batchDTO = new CommentBatchDTO(List.of(commentDTO(null, "first"), commentDTO(3L, "third")));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        // when
+        underTest.write(batchDTO, CommentBatchDTO.class, APPLICATION_PROTOBUF, output);
+        Object actual = underTest.read(CommentBatchDTO.class, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+        // then
+        assertEquals(batchDTO, actual);
+    }
+
+    @Test
+    void canWrite_onlyProtobufAndCommentTypes() {
+        assertTrue(underTest.canWrite(COMMENT_LIST, List.class, APPLICATION_PROTOBUF));
+        assertTrue(underTest.canWrite(CommentDTO.class, CommentDTO.class, APPLICATION_PROTOBUF));
+        assertFalse(underTest.canWrite(CommentDTO.class, CommentDTO.class, MediaType.APPLICATION_JSON));
+        assertFalse(underTest.canWrite(String.class, String.class, APPLICATION_PROTOBUF));
+    }
+
+    private CommentDTO commentDTO(Long id, String content) {
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setCountry("KZ");
+        commentDTO.setId(id);
+        commentDTO.setTweetId(10L);
+        commentDTO.setContent(content);
+        return commentDTO;
+    }
+}
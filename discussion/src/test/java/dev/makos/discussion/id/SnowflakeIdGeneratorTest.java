@@ -0,0 +1,100 @@
+package dev.makos.discussion.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH.toEpochMilli() + 1_000;
+
+    @Test
+    void nextId_returnsUniqueIds_acrossThreadsAndInstances() throws Exception {
+        // given
+        int generators = 4;
+        int threadsPerGenerator = 8;
+        int idsPerThread = 50_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(generators * threadsPerGenerator)) {
+            for (int node = 0; node < generators; node++) {
+                SnowflakeIdGenerator generator = new SnowflakeIdGenerator(node);
+                for (int thread = 0; thread < threadsPerGenerator; thread++) {
+                    boolean batched = thread % 2 == 0;
+                    workers.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < idsPerThread; ) {
+                            if (batched) {
+                                for (long id : generator.nextIds(10)) {
+                                    ids.add(id);
+                                }
+                                i += 10;
+                            } else {
+                                ids.add(generator.nextId());
+                                i++;
+                            }
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        // then
+        assertEquals(generators * threadsPerGenerator * idsPerThread, ids.size());
+    }
+
+    @Test
+    void nextId_keepsIncreasing_whenSequenceOverflowsOrClockMovesBack() {
+        // given
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator underTest = new SnowflakeIdGenerator(1, clock::get);
+        long previous = underTest.nextId();
+        // when
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                clock.addAndGet(-10);
+            }
+            long id = underTest.nextId();
+            // then
+            assertTrue(id > previous, "id " + id + " after " + previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void nextId_encodesTimestampNodeAndSequence() {
+        // given
+        SnowflakeIdGenerator underTest = new SnowflakeIdGenerator(5, () -> NOW);
+        // when
+        long first = underTest.nextId();
+        long second = underTest.nextId();
+        // then
+        assertEquals(1_000, first >>> (SnowflakeIdGenerator.NODE_BITS + SnowflakeIdGenerator.SEQUENCE_BITS));
+        assertEquals(5, (first >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_NODE_ID);
+        assertEquals(0, first & ((1 << SnowflakeIdGenerator.SEQUENCE_BITS) - 1));
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    void constructor_throwException_whenNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+}
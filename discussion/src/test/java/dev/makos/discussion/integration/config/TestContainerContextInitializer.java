@@ -18,7 +18,8 @@ public class TestContainerContextInitializer implements ApplicationContextInitia
         TestPropertyValues.of(
                 "spring.data.cassandra.contact-points=" + cassandraContainer.getHost() + ":" + cassandraContainer.getFirstMappedPort(),
                 "spring.data.cassandra.keyspace-name=testkeyspace",
-                "spring.data.cassandra.local-datacenter=datacenter1"
+                "spring.data.cassandra.local-datacenter=datacenter1",
+                "discussion.id-generator.node-id=1"
         ).applyTo(applicationContext.getEnvironment());
     }
 }
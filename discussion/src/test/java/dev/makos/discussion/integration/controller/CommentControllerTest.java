@@ -2,30 +2,54 @@ package dev.makos.discussion.integration.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.makos.discussion.config.CommentStorageProperties;
+import dev.makos.discussion.converter.CommentProtobufHttpMessageConverter;
 import dev.makos.discussion.integration.config.SpringBootTestContainers;
+import dev.makos.discussion.model.dto.CommentBatchDTO;
+import dev.makos.discussion.model.dto.CommentCountDTO;
 import dev.makos.discussion.model.dto.CommentDTO;
+import dev.makos.discussion.model.dto.CommentPageDTO;
 import dev.makos.discussion.model.dto.exception.ErrorResponseDTO;
 import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.model.proto.CommentMessage;
+import dev.makos.discussion.model.entity.CommentById;
+import dev.makos.discussion.model.entity.CommentByTweet;
 import dev.makos.discussion.model.entity.CommentKey;
 import dev.makos.discussion.repository.CommentRepository;
 import dev.makos.discussion.repository.IdRepository;
+import dev.makos.discussion.service.CommentByIdBackfill;
 import dev.makos.discussion.util.ErrorMessage;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.cassandra.core.CassandraOperations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.client.RestClient;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -36,10 +60,16 @@ class CommentControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
+    @LocalServerPort
+    private int port;
     @Autowired
     private CommentRepository commentRepository;
     @Autowired
     private IdRepository idRepository;
+    @Autowired
+    private CassandraOperations cassandraOperations;
+    @Autowired
+    private CommentStorageProperties commentStorageProperties;
     private Comment comment;
 
     @BeforeEach
@@ -49,12 +79,16 @@ class CommentControllerTest {
 
         CommentKey commentKey = new CommentKey("KZ", 1L, commentId);
         Comment comment = new Comment(commentKey, "init-comment");
-        this.comment = commentRepository.save(comment);
+        this.comment = commentRepository.saveComment(comment);
     }
 
     @AfterEach
     void tearDown() {
         commentRepository.deleteAll();
+        cassandraOperations.truncate(CommentById.class);
+        cassandraOperations.truncate(CommentByTweet.class);
+        cassandraOperations.getCqlOperations().execute("TRUNCATE comment_count_by_tweet");
+        commentStorageProperties.setPhase(CommentStorageProperties.Phase.DUAL_WRITE_READ_OLD);
         idRepository.deleteAll();
     }
 
@@ -64,7 +98,7 @@ class CommentControllerTest {
         Long notExistId = 100L;
 
         // when
-        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1.0/comments/{id}", notExistId))
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.get("/api/v1.0/comments/{id}", notExistId))
                 .andExpect(status().isNotFound()).andReturn();
 
         // then
@@ -78,7 +112,7 @@ class CommentControllerTest {
     @Test
     void getOne_returnsComment() throws Exception {
         // when
-        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1.0/comments/{id}", comment.getId()))
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.get("/api/v1.0/comments/{id}", comment.getId()))
                 .andExpect(status().isOk()).andReturn();
 
         // then
@@ -91,10 +125,181 @@ class CommentControllerTest {
         assertEquals(comment.getCountry(), foundDTO.getCountry());
     }
 
+    @Test
+    void getOne_returnsComment_writtenBeforeLookupTable() throws Exception {
+        // given
+        idRepository.increment("comment_id");
+        Comment legacy = commentRepository.save(new Comment(
+                new CommentKey("KZ", 2L, idRepository.getCurrentId("comment_id")), "legacy-comment"));
+        perform(MockMvcRequestBuilders.get("/api/v1.0/comments/{id}", legacy.getId()))
+                .andExpect(status().isNotFound());
+        // when
+        new CommentByIdBackfill(commentRepository).run(null);
+        // then
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.get("/api/v1.0/comments/{id}", legacy.getId()))
+                .andExpect(status().isOk()).andReturn();
+        CommentDTO foundDTO = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), CommentDTO.class);
+        assertEquals(legacy.getContent(), foundDTO.getContent());
+    }
+
+    @Test
+    void getOne_returnsComment_copiedToTweetPartitions() throws Exception {
+        // given
+        idRepository.increment("comment_id");
+        Comment legacy = commentRepository.save(new Comment(
+                new CommentKey("KZ", 3L, idRepository.getCurrentId("comment_id")), "legacy-comment"));
+        commentRepository.saveLookups(List.of(legacy));
+        // when
+        long copied = commentRepository.copyToTweetPartitions();
+        commentStorageProperties.setPhase(CommentStorageProperties.Phase.NEW);
+        // then
+        assertEquals(2, copied);
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.get("/api/v1.0/comments/{id}", legacy.getId()))
+                .andExpect(status().isOk()).andReturn();
+        CommentDTO foundDTO = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), CommentDTO.class);
+        assertEquals(legacy.getContent(), foundDTO.getContent());
+        assertEquals(legacy.getTweetId(), foundDTO.getTweetId());
+    }
+
+    @Test
+    void existsOne_returnsOk_whenCommentExists() throws Exception {
+        // when
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.head("/api/v1.0/comments/{id}", comment.getId()))
+                .andExpect(status().isOk()).andReturn();
+
+        // then
+        assertEquals(0, mvcResult.getResponse().getContentLength());
+    }
+
+    @Test
+    void existsOne_returnsNotFound_whenCommentNotFound() throws Exception {
+        // given
+        Long notExistId = 100L;
+
+        // when
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.head("/api/v1.0/comments/{id}", notExistId))
+                .andExpect(status().isNotFound()).andReturn();
+
+        // then
+        assertEquals(0, mvcResult.getResponse().getContentLength());
+    }
+
+    @Test
+    void getOne_returnsProtobufComment_whenProtobufAccepted() throws Exception {
+        // when
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.get("/api/v1.0/comments/{id}", comment.getId())
+                        .accept(CommentProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(status().isOk()).andReturn();
+
+        // then
+        CommentMessage message = CommentMessage.parseFrom(mvcResult.getResponse().getContentAsByteArray());
+        assertEquals(comment.getId(), message.getId());
+        assertEquals(comment.getContent(), message.getContent());
+        assertEquals(comment.getTweetId(), message.getTweetId());
+    }
+
+    @Test
+    void getPage_walksAllCommentsWithCursor() throws Exception {
+        // given
+        CommentDTO second = new CommentDTO();
+        second.setCountry("KZ");
+        second.setTweetId(1L);
+        second.setContent("second");
+
+        CommentDTO third = new CommentDTO();
+        third.setCountry("KZ");
+        third.setTweetId(1L);
+        third.setContent("third");
+
+        CommentBatchDTO batch = new CommentBatchDTO(List.of(second, third));
+        perform(MockMvcRequestBuilders.post("/api/v1.0/comments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated());
+        // when
+        CommentPageDTO firstPage = page(2, null);
+        CommentPageDTO secondPage = page(2, firstPage.getNext());
+        // then
+        assertEquals(2, firstPage.getComments().size());
+        assertNotNull(firstPage.getNext());
+        assertEquals(1, secondPage.getComments().size());
+        assertNull(secondPage.getNext());
+    }
+
+    @Test
+    void getPage_returnsBadRequest_whenCursorIsMalformed() throws Exception {
+        perform(MockMvcRequestBuilders.get("/api/v1.0/comments")
+                        .param("limit", "2")
+                        .param("next", "not a cursor!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTweetPage_walksTweetCommentsNewestFirst() throws Exception {
+        // given
+        List<CommentDTO> tweetComments = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CommentDTO commentDTO = new CommentDTO();
+            commentDTO.setCountry("KZ");
+            commentDTO.setTweetId(2L);
+            commentDTO.setContent("tweet-comment-" + i);
+            tweetComments.add(commentDTO);
+        }
+        perform(MockMvcRequestBuilders.post("/api/v1.0/comments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CommentBatchDTO(tweetComments))))
+                .andExpect(status().isCreated());
+        commentStorageProperties.setPhase(CommentStorageProperties.Phase.DUAL_WRITE_READ_NEW);
+        // when
+        CommentPageDTO firstPage = tweetPage(2L, 2, null);
+        CommentPageDTO secondPage = tweetPage(2L, 2, firstPage.getNext());
+        // then
+        List<Long> ids = Stream.concat(firstPage.getComments().stream(),
+                        secondPage.getComments().stream())
+                .map(CommentDTO::getId)
+                .toList();
+        assertEquals(3, ids.size());
+        assertEquals(ids.stream().sorted(Comparator.reverseOrder()).toList(), ids);
+        assertTrue(firstPage.getComments().stream().allMatch(commentDTO -> commentDTO.getTweetId() == 2L));
+        assertNotNull(firstPage.getNext());
+        assertNull(secondPage.getNext());
+    }
+
+    private CommentPageDTO tweetPage(Long tweetId, int limit, String next) throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/api/v1.0/comments")
+                .param("country", "KZ")
+                .param("tweetId", String.valueOf(tweetId))
+                .param("limit", String.valueOf(limit));
+        if (next != null) {
+            request.param("next", next);
+        }
+        MvcResult mvcResult = perform(request).andExpect(status().isOk()).andReturn();
+        return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), CommentPageDTO.class);
+    }
+
+    /**
+     * Performs the request and, for handlers that answer with a future, the dispatch that writes the response.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = this.mockMvc.perform(request);
+        MvcResult mvcResult = actions.andReturn();
+        return mvcResult.getRequest().isAsyncStarted() ? this.mockMvc.perform(asyncDispatch(mvcResult)) : actions;
+    }
+
+    private CommentPageDTO page(int limit, String next) throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/api/v1.0/comments")
+                .param("limit", String.valueOf(limit));
+        if (next != null) {
+            request.param("next", next);
+        }
+        MvcResult mvcResult = perform(request).andExpect(status().isOk()).andReturn();
+        return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), CommentPageDTO.class);
+    }
+
     @Test
     void getAll_returnsComments() throws Exception {
         // when
-        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1.0/comments"))
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.get("/api/v1.0/comments"))
                 .andExpect(status().isOk()).andReturn();
 
         // then
@@ -111,12 +316,55 @@ class CommentControllerTest {
         assertEquals(comment.getCountry(), foundDTO.getCountry());
     }
 
+    @Test
+    void getAllByIds_returnsFoundComments() throws Exception {
+        // given
+        Long notExistId = 100L;
+
+        // when
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.get("/api/v1.0/comments")
+                        .param("ids", String.valueOf(comment.getId()), String.valueOf(notExistId)))
+                .andExpect(status().isOk()).andReturn();
+
+        // then
+        String contentAsString = mvcResult.getResponse().getContentAsString();
+        List<CommentDTO> foundDTOs = objectMapper.readValue(contentAsString, objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, CommentDTO.class));
+
+        assertEquals(1, foundDTOs.size());
+        CommentDTO foundDTO = foundDTOs.getFirst();
+        assertEquals(comment.getId(), foundDTO.getId());
+        assertEquals(comment.getContent(), foundDTO.getContent());
+        assertEquals(comment.getTweetId(), foundDTO.getTweetId());
+        assertEquals(comment.getCountry(), foundDTO.getCountry());
+    }
+
+    @Test
+    void streamAll_returnsNdjsonComments() throws Exception {
+        // when
+        MvcResult asyncResult = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1.0/comments")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted()).andReturn();
+        MvcResult mvcResult = this.mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk()).andReturn();
+
+        // then
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, mvcResult.getResponse().getContentType());
+        String[] lines = mvcResult.getResponse().getContentAsString().split("\n");
+        assertEquals(1, lines.length);
+        CommentDTO foundDTO = objectMapper.readValue(lines[0], CommentDTO.class);
+        assertEquals(comment.getId(), foundDTO.getId());
+        assertEquals(comment.getContent(), foundDTO.getContent());
+        assertEquals(comment.getTweetId(), foundDTO.getTweetId());
+        assertEquals(comment.getCountry(), foundDTO.getCountry());
+    }
+
     @Test
     void deleteOne_deletesComment() throws Exception {
         // when
-        this.mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1.0/comments/{id}", comment.getId()))
+        perform(MockMvcRequestBuilders.delete("/api/v1.0/comments/{id}", comment.getId()))
                 .andExpect(status().isNoContent());
-        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1.0/comments/{id}", comment.getId()))
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.delete("/api/v1.0/comments/{id}", comment.getId()))
                 .andExpect(status().isNotFound()).andReturn();
 
         // then
@@ -134,7 +382,7 @@ class CommentControllerTest {
         Long notExistId = 100L;
 
         // when
-        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1.0/comments/{id}", notExistId))
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.delete("/api/v1.0/comments/{id}", notExistId))
                 .andExpect(status().isNotFound()).andReturn();
 
         // then
@@ -152,7 +400,7 @@ class CommentControllerTest {
 
         String requestBody = objectMapper.writeValueAsString(commentDTO);
         // when
-        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1.0/comments")
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.post("/api/v1.0/comments")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestBody)
                         .characterEncoding("utf-8"))
@@ -181,7 +429,7 @@ class CommentControllerTest {
 
         String requestBody = objectMapper.writeValueAsString(commentDTO);
         // when
-        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1.0/comments")
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.post("/api/v1.0/comments")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestBody)
                         .characterEncoding("utf-8"))
@@ -206,7 +454,7 @@ class CommentControllerTest {
 
         String requestBody = objectMapper.writeValueAsString(commentDTO);
         // when
-        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1.0/comments")
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.post("/api/v1.0/comments")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestBody)
                         .characterEncoding("utf-8"))
@@ -222,6 +470,150 @@ class CommentControllerTest {
         assertEquals(commentDTO.getContent(), savedDTO.getContent());
     }
 
+    @Test
+    void countAll_returnsCountsKeptBySavesAndDeletes() throws Exception {
+        // given
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setCountry("KZ");
+        commentDTO.setTweetId(5L);
+        commentDTO.setContent("content");
+
+        String requestBody = objectMapper.writeValueAsString(commentDTO);
+        List<CommentDTO> saved = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            MvcResult mvcResult = perform(MockMvcRequestBuilders.post("/api/v1.0/comments")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(requestBody)
+                            .characterEncoding("utf-8"))
+                    .andExpect(status().isCreated()).andReturn();
+            saved.add(objectMapper.readValue(mvcResult.getResponse().getContentAsString(), CommentDTO.class));
+        }
+        perform(MockMvcRequestBuilders.delete("/api/v1.0/comments/{id}", saved.getFirst().getId()))
+                .andExpect(status().isNoContent());
+        // when
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.get("/api/v1.0/comments/counts")
+                        .param("tweetIds", "5", "6"))
+                .andExpect(status().isOk()).andReturn();
+        // then
+        String contentAsString = mvcResult.getResponse().getContentAsString();
+        List<CommentCountDTO> counts = objectMapper.readValue(contentAsString, objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, CommentCountDTO.class));
+
+        assertEquals(List.of(new CommentCountDTO(5L, 1), new CommentCountDTO(6L, 0)), counts);
+    }
+
+    @Test
+    void countAll_answersThousandTweetsInChunksOverHttp() {
+        // given
+        RestClient restClient = RestClient.create("http://localhost:" + port);
+        List<Long> tweetIds = LongStream.rangeClosed(1, 1000)
+                .map(id -> Long.MAX_VALUE - id)
+                .boxed()
+                .toList();
+        List<CommentCountDTO> counts = new ArrayList<>();
+        // when
+        for (int from = 0; from < tweetIds.size(); from += 200) {
+            String chunk = tweetIds.subList(from, from + 200).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            counts.addAll(restClient.get()
+                    .uri("/api/v1.0/comments/counts?tweetIds={tweetIds}", chunk)
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<CommentCountDTO>>() {
+                    }));
+        }
+        // then
+        assertEquals(1000, counts.size());
+        assertEquals(Set.copyOf(tweetIds), counts.stream()
+                .map(CommentCountDTO::getTweetId)
+                .collect(Collectors.toSet()));
+        assertTrue(counts.stream().allMatch(count -> count.getCount() == 0));
+    }
+
+    @Test
+    void saveAll_returnsBadRequest_whenBatchIsEmpty() throws Exception {
+        // given
+        String requestBody = objectMapper.writeValueAsString(new CommentBatchDTO(List.of()));
+        // when
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.post("/api/v1.0/comments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody)
+                        .characterEncoding("utf-8"))
+                .andExpect(status().isBadRequest()).andReturn();
+        // then
+        ErrorResponseDTO errorResponseDTO = objectMapper.readValue(mvcResult.getResponse()
+                .getContentAsString(StandardCharsets.UTF_8), ErrorResponseDTO.class);
+
+        assertEquals("Comments are not provided", errorResponseDTO.getInvalidFields().get("comments"));
+    }
+
+    @Test
+    void saveAll_returnsComments() throws Exception {
+        // given
+        CommentDTO first = new CommentDTO();
+        first.setCountry("KZ");
+        first.setTweetId(1L);
+        first.setContent("first");
+
+        CommentDTO second = new CommentDTO();
+        second.setCountry("KZ");
+        second.setTweetId(2L);
+        second.setContent("second");
+
+        CommentDTO updated = new CommentDTO();
+        updated.setId(comment.getId());
+        updated.setCountry(comment.getCountry());
+        updated.setTweetId(comment.getTweetId());
+        updated.setContent("updated-content");
+
+        String requestBody = objectMapper.writeValueAsString(new CommentBatchDTO(List.of(first, second, updated)));
+        // when
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.post("/api/v1.0/comments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody)
+                        .characterEncoding("utf-8"))
+                .andExpect(status().isCreated()).andReturn();
+        // then
+        CommentBatchDTO savedDTO = objectMapper.readValue(mvcResult.getResponse().getContentAsString(),
+                CommentBatchDTO.class);
+
+        assertEquals(3, savedDTO.getComments().size());
+        assertEquals(savedDTO.getComments().get(0).getId() + 1, savedDTO.getComments().get(1).getId());
+        assertEquals(comment.getId(), savedDTO.getComments().get(2).getId());
+        assertEquals(3, commentRepository.count());
+        assertEquals("updated-content", commentRepository.findCommentById(comment.getId()).orElseThrow().getContent());
+    }
+
+    @Test
+    void saveAll_savesMaxLengthCommentsOfOneTweet() throws Exception {
+        // given
+        commentStorageProperties.setPhase(CommentStorageProperties.Phase.DUAL_WRITE_READ_NEW);
+        List<CommentDTO> comments = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            CommentDTO commentDTO = new CommentDTO();
+            commentDTO.setCountry("KZ");
+            commentDTO.setTweetId(7L);
+            commentDTO.setContent(String.valueOf((char) ('a' + i % 26)).repeat(2048));
+            comments.add(commentDTO);
+        }
+
+        String requestBody = objectMapper.writeValueAsString(new CommentBatchDTO(comments));
+        // when
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.post("/api/v1.0/comments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody)
+                        .characterEncoding("utf-8"))
+                .andExpect(status().isCreated()).andReturn();
+        // then
+        CommentBatchDTO savedDTO = objectMapper.readValue(mvcResult.getResponse().getContentAsString(),
+                CommentBatchDTO.class);
+
+        assertEquals(100, savedDTO.getComments().size());
+        assertEquals(100, commentRepository.countTweetComments("KZ", 7L));
+        assertEquals(100, cassandraOperations.count(CommentByTweet.class));
+        assertEquals(101, commentRepository.count());
+    }
+
     @Test
     void updateOne_returnsBadRequest_whenValidationFailed() throws Exception {
         // given
@@ -230,7 +622,7 @@ class CommentControllerTest {
 
         String requestBody = objectMapper.writeValueAsString(commentDTO);
         // when
-        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1.0/comments")
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.put("/api/v1.0/comments")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestBody)
                         .characterEncoding("utf-8"))
@@ -262,7 +654,7 @@ class CommentControllerTest {
 
         String requestBody = objectMapper.writeValueAsString(commentDTO);
         // when
-        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1.0/comments")
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.put("/api/v1.0/comments")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestBody)
                         .characterEncoding("utf-8"))
@@ -286,7 +678,7 @@ class CommentControllerTest {
 
         String requestBody = objectMapper.writeValueAsString(commentDTO);
         // when
-        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1.0/comments")
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.put("/api/v1.0/comments")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestBody)
                         .characterEncoding("utf-8"))
@@ -298,4 +690,52 @@ class CommentControllerTest {
         assertNotNull(updatedDTO);
         assertEquals(commentDTO.getContent(), updatedDTO.getContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateOne_returnsConflict_whenTweetChanged() throws Exception {
+        // given
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setId(comment.getId());
+        commentDTO.setCountry(comment.getCountry());
+        commentDTO.setTweetId(comment.getTweetId() + 1);
+        commentDTO.setContent("updated-content");
+
+        String requestBody = objectMapper.writeValueAsString(commentDTO);
+        // when
+        MvcResult mvcResult = perform(MockMvcRequestBuilders.put("/api/v1.0/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody)
+                        .characterEncoding("utf-8"))
+                .andExpect(status().isConflict()).andReturn();
+        // then
+        ErrorResponseDTO errorResponseDTO = objectMapper.readValue(mvcResult.getResponse()
+                .getContentAsString(StandardCharsets.UTF_8), ErrorResponseDTO.class);
+
+        assertEquals(ErrorMessage.COMMENT_TWEET_CHANGED.getText(), errorResponseDTO.getMessage());
+        assertEquals(comment.getTweetId(), commentRepository.findCommentById(comment.getId()).orElseThrow().getTweetId());
+    }
+
+    @Test
+    void updateOne_movesComment_whenTweetChangeConfirmed() throws Exception {
+        // given
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setId(comment.getId());
+        commentDTO.setCountry(comment.getCountry());
+        commentDTO.setTweetId(comment.getTweetId() + 1);
+        commentDTO.setContent("updated-content");
+
+        String requestBody = objectMapper.writeValueAsString(commentDTO);
+        // when
+        perform(MockMvcRequestBuilders.put("/api/v1.0/comments")
+                        .param("moveTweet", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody)
+                        .characterEncoding("utf-8"))
+                .andExpect(status().isOk());
+        // then
+        Comment moved = commentRepository.findCommentById(comment.getId()).orElseThrow();
+        assertEquals(commentDTO.getTweetId(), moved.getTweetId());
+        assertEquals(commentDTO.getContent(), moved.getContent());
+        assertEquals(1, commentRepository.count());
+    }
+}
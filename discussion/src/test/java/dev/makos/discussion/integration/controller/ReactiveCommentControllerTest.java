@@ -0,0 +1,173 @@
+package dev.makos.discussion.integration.controller;
+
+import dev.makos.discussion.converter.CommentProtobufHttpMessageConverter;
+import dev.makos.discussion.integration.config.SpringBootTestContainers;
+import dev.makos.discussion.model.dto.CommentDTO;
+import dev.makos.discussion.model.dto.CommentPageDTO;
+import dev.makos.discussion.model.dto.exception.ErrorResponseDTO;
+import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.model.entity.CommentById;
+import dev.makos.discussion.model.entity.CommentByTweet;
+import dev.makos.discussion.model.entity.CommentKey;
+import dev.makos.discussion.model.proto.CommentMessage;
+import dev.makos.discussion.repository.IdRepository;
+import dev.makos.discussion.repository.ReactiveCommentRepository;
+import dev.makos.discussion.util.ErrorMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+@SpringBootTestContainers
+class ReactiveCommentControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private ReactiveCommentRepository commentRepository;
+    @Autowired
+    private IdRepository idRepository;
+    @Autowired
+    private CassandraOperations cassandraOperations;
+    private Comment comment;
+
+    @BeforeEach
+    void setUp() {
+        idRepository.increment("comment_id");
+        Long commentId = idRepository.getCurrentId("comment_id");
+
+        CommentKey commentKey = new CommentKey("KZ", 1L, commentId);
+        this.comment = commentRepository.saveComment(new Comment(commentKey, "init-comment")).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cassandraOperations.truncate(Comment.class);
+        cassandraOperations.truncate(CommentById.class);
+        cassandraOperations.truncate(CommentByTweet.class);
+        idRepository.deleteAll();
+    }
+
+    @Test
+    void getOne_returnsComment() {
+        // when
+        CommentDTO foundDTO = webTestClient.get().uri("/api/v1.0/comments/{id}", comment.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CommentDTO.class)
+                .returnResult().getResponseBody();
+        // then
+        assertNotNull(foundDTO);
+        assertEquals(comment.getId(), foundDTO.getId());
+        assertEquals(comment.getContent(), foundDTO.getContent());
+    }
+
+    @Test
+    void getOne_returnsNotFound_whenCommentNotFound() {
+        // when
+        ErrorResponseDTO errorResponseDTO = webTestClient.get().uri("/api/v1.0/comments/{id}", 100L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ErrorResponseDTO.class)
+                .returnResult().getResponseBody();
+        // then
+        assertNotNull(errorResponseDTO);
+        assertEquals(ErrorMessage.COMMENT_NOT_FOUND.getText(), errorResponseDTO.getMessage());
+    }
+
+    @Test
+    void getOne_returnsProtobufComment_whenProtobufAccepted() throws Exception {
+        // when
+        byte[] body = webTestClient.get().uri("/api/v1.0/comments/{id}", comment.getId())
+                .accept(CommentProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+        // then
+        CommentMessage message = CommentMessage.parseFrom(body);
+        assertEquals(comment.getId(), message.getId());
+        assertEquals(comment.getContent(), message.getContent());
+    }
+
+    @Test
+    void saveOne_returnsComment() {
+        // given
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setCountry("KZ");
+        commentDTO.setTweetId(2L);
+        commentDTO.setContent("reactive-comment");
+        // when
+        CommentDTO savedDTO = webTestClient.post().uri("/api/v1.0/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(commentDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(CommentDTO.class)
+                .returnResult().getResponseBody();
+        // then
+        assertNotNull(savedDTO);
+        assertNotNull(savedDTO.getId());
+        assertEquals(commentDTO.getContent(), commentRepository.findCommentById(savedDTO.getId()).block().getContent());
+    }
+
+    @Test
+    void saveOne_returnsBadRequest_whenValidationFailed() {
+        // when
+        ErrorResponseDTO errorResponseDTO = webTestClient.post().uri("/api/v1.0/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CommentDTO())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorResponseDTO.class)
+                .returnResult().getResponseBody();
+        // then
+        assertNotNull(errorResponseDTO);
+        Map<String, String> invalidFields = errorResponseDTO.getInvalidFields();
+        assertEquals(3, invalidFields.size());
+        assertEquals("Content is not provided", invalidFields.get("content"));
+    }
+
+    @Test
+    void getTweetPage_returnsCommentsWithoutCursor_whenLastPage() {
+        // when
+        CommentPageDTO page = webTestClient.get()
+                .uri(builder -> builder.path("/api/v1.0/comments")
+                        .queryParam("country", "KZ")
+                        .queryParam("tweetId", 1L)
+                        .queryParam("limit", 10)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CommentPageDTO.class)
+                .returnResult().getResponseBody();
+        // then
+        assertNotNull(page);
+        assertEquals(1, page.getComments().size());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void deleteOne_deletesComment() {
+        // when
+        webTestClient.delete().uri("/api/v1.0/comments/{id}", comment.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        // then
+        webTestClient.delete().uri("/api/v1.0/comments/{id}", comment.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+        assertFalse(commentRepository.existsCommentById(comment.getId()).block());
+    }
+}
@@ -0,0 +1,96 @@
+package dev.makos.discussion.integration.repository;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import dev.makos.discussion.config.CommentStorageProperties;
+import dev.makos.discussion.config.CqlProperties;
+import dev.makos.discussion.integration.config.SpringBootTestContainers;
+import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.model.entity.CommentById;
+import dev.makos.discussion.model.entity.CommentByTweet;
+import dev.makos.discussion.model.entity.CommentKey;
+import dev.makos.discussion.repository.AsyncCommentRepositoryImpl;
+import dev.makos.discussion.repository.AsyncCqlExecutor;
+import dev.makos.discussion.repository.CommentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.cassandra.core.CassandraOperations;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a fresh {@link AsyncCqlExecutor}, so every statement is prepared by the call under test, partly
+ * on driver threads.
+ */
+@SpringBootTestContainers
+class AsyncCommentRepositoryImplTest {
+
+    @Autowired
+    private CqlSession session;
+    @Autowired
+    private CqlProperties cqlProperties;
+    @Autowired
+    private CommentStorageProperties commentStorageProperties;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private CassandraOperations cassandraOperations;
+    private AsyncCommentRepositoryImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new AsyncCommentRepositoryImpl(new AsyncCqlExecutor(session, cqlProperties),
+                commentStorageProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        cassandraOperations.truncate(CommentById.class);
+        cassandraOperations.truncate(CommentByTweet.class);
+        commentStorageProperties.setPhase(CommentStorageProperties.Phase.DUAL_WRITE_READ_OLD);
+    }
+
+    @Test
+    void findById_returnsComment() {
+        // given
+        Comment comment = commentRepository.saveComment(new Comment(new CommentKey("KZ", 1L, 101L), "content"));
+        // when
+        Optional<Comment> found = underTest.findById(comment.getId()).join();
+        // then
+        assertTrue(found.isPresent());
+        assertEquals(comment.getId(), found.get().getId());
+        assertEquals(comment.getTweetId(), found.get().getTweetId());
+        assertEquals(comment.getContent(), found.get().getContent());
+    }
+
+    @Test
+    void findById_returnsComment_whenReadingTweetPartitions() {
+        // given
+        commentStorageProperties.setPhase(CommentStorageProperties.Phase.DUAL_WRITE_READ_NEW);
+        Comment comment = commentRepository.saveComment(new Comment(new CommentKey("KZ", 1L, 102L), "content"));
+        // when
+        Optional<Comment> found = underTest.findById(comment.getId()).join();
+        // then
+        assertTrue(found.isPresent());
+        assertEquals(comment.getId(), found.get().getId());
+        assertEquals(comment.getTweetId(), found.get().getTweetId());
+        assertEquals(comment.getContent(), found.get().getContent());
+    }
+
+    @Test
+    void delete_deletesComment_afterLookupOnDriverThread() {
+        // given
+        Comment comment = underTest.save(new Comment(new CommentKey("KZ", 1L, 103L), "content")).join();
+        // when
+        underTest.findById(comment.getId())
+                .thenCompose(found -> underTest.delete(found.orElseThrow()))
+                .join();
+        // then
+        assertFalse(commentRepository.findCommentById(comment.getId()).isPresent());
+        assertFalse(underTest.findById(comment.getId()).join().isPresent());
+    }
+}
@@ -0,0 +1,109 @@
+package dev.makos.discussion.repository;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.servererrors.ReadTimeoutException;
+import dev.makos.discussion.config.CqlProperties;
+import dev.makos.discussion.exception.CustomException;
+import dev.makos.discussion.util.Deadline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AsyncCqlExecutorTest {
+
+    private static final SimpleStatement STATEMENT = SimpleStatement.newInstance("SELECT * FROM tbl_comment");
+
+    private CqlSession session;
+    private AsyncCqlExecutor underTest;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(CqlSession.class, RETURNS_DEEP_STUBS);
+        when(session.getContext().getConfig().getDefaultProfile().getDuration(DefaultDriverOption.REQUEST_TIMEOUT))
+                .thenReturn(Duration.ofSeconds(2));
+        CqlProperties properties = new CqlProperties();
+        properties.setMaxInFlight(1);
+        underTest = new AsyncCqlExecutor(session, properties);
+    }
+
+    @DisplayName("Execute rejects statements beyond the in-flight limit until an answer frees a slot")
+    @Test
+    void execute_rejects_whenInFlightLimitReached() {
+        // given
+        CompletableFuture<AsyncResultSet> pending = new CompletableFuture<>();
+        when(session.executeAsync(any(Statement.class))).thenReturn(pending);
+        CompletableFuture<AsyncResultSet> first = underTest.execute(STATEMENT);
+        // when
+        CompletableFuture<AsyncResultSet> rejected = underTest.execute(STATEMENT);
+        pending.complete(mock(AsyncResultSet.class));
+        CompletableFuture<AsyncResultSet> afterAnswer = underTest.execute(STATEMENT);
+        // then
+        assertTrue(first.isDone());
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        CustomException cause = assertInstanceOf(CustomException.class, exception.getCause());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, cause.getHttpStatus());
+        assertTrue(afterAnswer.isDone());
+        verify(session, times(2)).executeAsync(any(Statement.class));
+    }
+
+    @DisplayName("Execute translates driver failures and frees the slot")
+    @Test
+    void execute_translatesDriverFailure() {
+        // given
+        when(session.executeAsync(any(Statement.class))).thenReturn(CompletableFuture.failedFuture(
+                new ReadTimeoutException(null, null, 1, 0, false)));
+        // when
+        CompletableFuture<AsyncResultSet> first = underTest.execute(STATEMENT);
+        CompletableFuture<AsyncResultSet> second = underTest.execute(STATEMENT);
+        // then
+        assertThrows(QueryTimeoutException.class, () -> AsyncCqlExecutor.join(first));
+        assertThrows(QueryTimeoutException.class, () -> AsyncCqlExecutor.join(second));
+    }
+
+    @DisplayName("Execute does not send statements once the deadline has passed")
+    @Test
+    void execute_fails_whenDeadlineExpired() {
+        // when
+        CompletableFuture<AsyncResultSet> result = underTest.execute(STATEMENT, Deadline.after(Duration.ZERO));
+        // then
+        assertThrows(QueryTimeoutException.class, () -> AsyncCqlExecutor.join(result));
+        verify(session, never()).executeAsync(any(Statement.class));
+    }
+
+    @DisplayName("Prepared async prepares without blocking, once per statement, and retries failed preparations")
+    @Test
+    void preparedAsync_preparesOnce_andRetriesAfterFailure() {
+        // given
+        String cql = "SELECT * FROM tbl_comment WHERE id = ?";
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(session.prepareAsync(cql))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(statement));
+        // when
+        CompletableFuture<PreparedStatement> failed = underTest.preparedAsync(cql);
+        CompletableFuture<PreparedStatement> first = underTest.preparedAsync(cql);
+        CompletableFuture<PreparedStatement> second = underTest.preparedAsync(cql);
+        // then
+        assertThrows(IllegalStateException.class, () -> AsyncCqlExecutor.join(failed));
+        assertSame(statement, first.join());
+        assertSame(statement, second.join());
+        verify(session, times(2)).prepareAsync(cql);
+        verify(session, never()).prepare(anyString());
+    }
+}
@@ -0,0 +1,103 @@
+package dev.makos.discussion.repository;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import dev.makos.discussion.config.CommentStorageProperties;
+import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.model.entity.CommentByTweet;
+import dev.makos.discussion.model.entity.CommentKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.cassandra.core.CassandraBatchOperations;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.WriteResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentBatchRepositoryImplTest {
+
+    private static final int BATCH_SIZE_WARN_THRESHOLD = 5 * 1024;
+
+    @Mock
+    private CassandraOperations cassandraOperations;
+
+    @Mock
+    private CassandraBatchOperations batchOperations;
+
+    @Mock
+    private AsyncCqlExecutor cqlExecutor;
+
+    @DisplayName("Insert all splits max length comments of one tweet into batches under the warn threshold")
+    @Test
+    void insertAll_keepsBatchesUnderWarnThreshold_whenCommentsAreMaxLength() {
+        // given
+        CommentStorageProperties storageProperties = new CommentStorageProperties();
+        storageProperties.setPhase(CommentStorageProperties.Phase.NEW);
+        CommentBatchRepositoryImpl underTest = new CommentBatchRepositoryImpl(cassandraOperations, null,
+                storageProperties, cqlExecutor);
+        List<Comment> comments = LongStream.rangeClosed(1, 100)
+                .mapToObj(id -> new Comment(new CommentKey("KZ", 7L, id), "ж".repeat(2048)))
+                .toList();
+
+        PreparedStatement insertLookup = mock(PreparedStatement.class);
+        when(cqlExecutor.prepared(anyString())).thenReturn(insertLookup);
+        when(insertLookup.bind(any(), any(), any())).thenReturn(mock(BoundStatement.class));
+        when(cqlExecutor.execute(any(Statement.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(AsyncResultSet.class)));
+        when(cassandraOperations.batchOps(any())).thenReturn(batchOperations);
+        when(batchOperations.insert(anyIterable())).thenReturn(batchOperations);
+        when(batchOperations.execute()).thenReturn(mock(WriteResult.class));
+        // when
+        underTest.insertAll(comments);
+        // then
+        ArgumentCaptor<Iterable<?>> batches = ArgumentCaptor.forClass(Iterable.class);
+        verify(batchOperations, atLeast(2)).insert(batches.capture());
+
+        List<Object> written = new ArrayList<>();
+        for (Iterable<?> batch : batches.getAllValues()) {
+            List<?> rows = StreamSupport.stream(batch.spliterator(), false).toList();
+            int bytes = rows.stream()
+                    .mapToInt(row -> ((CommentByTweet) row).getContent().getBytes(StandardCharsets.UTF_8).length)
+                    .sum();
+            assertTrue(rows.size() == 1 || bytes < BATCH_SIZE_WARN_THRESHOLD);
+            written.addAll(rows);
+        }
+        assertEquals(100, written.size());
+    }
+
+    @DisplayName("Sized batches cap small rows by count and large rows by size")
+    @Test
+    void sizedBatches_capsByCountAndSize() {
+        // given
+        List<String> small = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            small.add("c");
+        }
+        List<String> large = List.of("a".repeat(3000), "b".repeat(3000), "c".repeat(6000), "d");
+        // when
+        List<List<String>> smallBatches = CommentBatchRepositoryImpl.sizedBatches(small, content -> content);
+        List<List<String>> largeBatches = CommentBatchRepositoryImpl.sizedBatches(large, content -> content);
+        // then
+        assertEquals(List.of(CommentBatchRepositoryImpl.MAX_BATCH_SIZE, CommentBatchRepositoryImpl.MAX_BATCH_SIZE, 50),
+                smallBatches.stream().map(List::size).toList());
+        assertEquals(List.of(1, 1, 1, 1), largeBatches.stream().map(List::size).toList());
+    }
+}
@@ -0,0 +1,65 @@
+package dev.makos.discussion.repository;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.cassandra.core.CassandraOperations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentCountRepositoryImplTest {
+
+    @Mock
+    private AsyncCqlExecutor cqlExecutor;
+
+    @Mock
+    private CassandraOperations cassandraOperations;
+
+    @InjectMocks
+    private CommentCountRepositoryImpl underTest;
+
+    @DisplayName("Add sends one update per changed tweet and skips zero deltas")
+    @Test
+    void add_updatesChangedTweets() {
+        // given
+        PreparedStatement add = mock(PreparedStatement.class);
+        when(cqlExecutor.preparedAsync(anyString())).thenReturn(CompletableFuture.completedFuture(add));
+        when(add.bind(1L, 10L)).thenReturn(mock(BoundStatement.class));
+        when(cqlExecutor.execute(any(Statement.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(AsyncResultSet.class)));
+        // when
+        underTest.add(Map.of(10L, 1L, 11L, 0L)).join();
+        // then
+        verify(add).bind(1L, 10L);
+        verify(cqlExecutor, times(1)).execute(any(Statement.class), any());
+    }
+
+    @DisplayName("Add and find counts return failed futures instead of throwing")
+    @Test
+    void addAndFindCounts_returnFailedFutures_whenPreparationFails() {
+        // given
+        when(cqlExecutor.preparedAsync(anyString())).thenThrow(new IllegalStateException("unavailable"));
+        // when
+        CompletableFuture<Void> added = underTest.add(Map.of(10L, 1L));
+        CompletableFuture<Map<Long, Long>> counts = underTest.findCounts(List.of(10L));
+        // then
+        assertThrows(IllegalStateException.class, () -> AsyncCqlExecutor.join(added));
+        assertThrows(IllegalStateException.class, () -> AsyncCqlExecutor.join(counts));
+        verify(cqlExecutor, never()).prepared(anyString());
+    }
+}
@@ -0,0 +1,54 @@
+package dev.makos.discussion.service;
+
+import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.repository.CommentRepository;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CommentByIdBackfillTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @InjectMocks
+    private CommentByIdBackfill underTest;
+
+    @Test
+    void run_savesLookupsForEveryPage() {
+        // given
+        List<Comment> firstPage = Instancio.ofList(Comment.class).size(2).create();
+        List<Comment> secondPage = Instancio.ofList(Comment.class).size(1).create();
+        CassandraPageRequest firstRequest = CassandraPageRequest.of(PageRequest.of(0, 500), ByteBuffer.wrap(new byte[]{1}));
+        Pageable secondRequest = firstRequest.next();
+
+        when(commentRepository.findAllComments(any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            return pageable.getPageNumber() == 0
+                    ? new SliceImpl<>(firstPage, firstRequest, true)
+                    : new SliceImpl<>(secondPage, secondRequest, false);
+        });
+        // when
+        underTest.run(null);
+        // then
+        verify(commentRepository).saveLookups(firstPage);
+        verify(commentRepository).saveLookups(secondPage);
+        verify(commentRepository, times(2)).findAllComments(any(Pageable.class));
+    }
+}
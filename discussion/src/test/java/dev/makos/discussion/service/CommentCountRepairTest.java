@@ -0,0 +1,76 @@
+package dev.makos.discussion.service;
+
+import dev.makos.discussion.model.entity.CommentById;
+import dev.makos.discussion.repository.CommentCountRepository;
+import dev.makos.discussion.repository.CommentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CommentCountRepairTest {
+
+    private static final String COUNTRY = "KZ";
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private CommentCountRepository commentCountRepository;
+
+    @InjectMocks
+    private CommentCountRepair underTest;
+
+    @Test
+    void repair_correctsOnlyDriftedCounts() {
+        // given
+        when(commentRepository.streamLookups()).thenReturn(Stream.of(
+                new CommentById(1L, COUNTRY, 10L),
+                new CommentById(2L, COUNTRY, 10L),
+                new CommentById(3L, COUNTRY, 11L)));
+        when(commentCountRepository.findAllCounts()).thenReturn(Map.of(10L, 2L, 11L, 3L, 12L, 1L));
+        when(commentRepository.countTweetComments(COUNTRY, 11L)).thenReturn(1L);
+        when(commentCountRepository.findCounts(List.of(11L)))
+                .thenReturn(CompletableFuture.completedFuture(Map.of(11L, 3L)));
+        when(commentCountRepository.findCounts(List.of(12L)))
+                .thenReturn(CompletableFuture.completedFuture(Map.of(12L, 1L)));
+        when(commentCountRepository.add(any())).thenReturn(CompletableFuture.completedFuture(null));
+        // when
+        int repaired = underTest.repair();
+        // then
+        assertEquals(2, repaired);
+        verify(commentCountRepository).add(Map.of(11L, -2L));
+        verify(commentCountRepository).add(Map.of(12L, -1L));
+        verify(commentRepository, never()).countTweetComments(COUNTRY, 10L);
+    }
+
+    @Test
+    void repair_skipsSuspect_whenCounterCaughtUpBeforeCorrection() {
+        // given
+        when(commentRepository.streamLookups()).thenReturn(Stream.of(new CommentById(1L, COUNTRY, 10L)));
+        when(commentCountRepository.findAllCounts()).thenReturn(Map.of());
+        when(commentRepository.countTweetComments(anyString(), anyLong())).thenReturn(1L);
+        when(commentCountRepository.findCounts(List.of(10L)))
+                .thenReturn(CompletableFuture.completedFuture(Map.of(10L, 1L)));
+        // when
+        int repaired = underTest.repair();
+        // then
+        assertEquals(0, repaired);
+        verify(commentCountRepository, never()).add(any());
+    }
+}
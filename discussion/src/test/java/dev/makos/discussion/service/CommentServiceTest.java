@@ -1,13 +1,18 @@
 package dev.makos.discussion.service;
 
 import dev.makos.discussion.exception.CustomException;
+import dev.makos.discussion.id.IdGenerator;
 import dev.makos.discussion.mapper.CommentMapper;
 import dev.makos.discussion.mapper.CommentMapperImpl;
+import dev.makos.discussion.model.dto.CommentBatchDTO;
+import dev.makos.discussion.model.dto.CommentCountDTO;
 import dev.makos.discussion.model.dto.CommentDTO;
+import dev.makos.discussion.model.dto.CommentPageDTO;
 import dev.makos.discussion.model.entity.Comment;
 import dev.makos.discussion.model.entity.CommentKey;
+import dev.makos.discussion.repository.AsyncCommentRepository;
+import dev.makos.discussion.repository.CommentCountRepository;
 import dev.makos.discussion.repository.CommentRepository;
-import dev.makos.discussion.repository.IdRepository;
 import dev.makos.discussion.util.ErrorMessage;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.Test;
@@ -17,32 +22,60 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class CommentServiceTest {
 
-    private static final String COMMENT_ID_COUNTER = "comment_id";
     private static final String COUNTRY = "KZ";
 
     @Spy
     private CommentMapper commentMapper = new CommentMapperImpl();
 
     @Mock
-    private IdRepository idRepository;
+    private IdGenerator idGenerator;
 
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private AsyncCommentRepository asyncCommentRepository;
+
+    @Mock
+    private CommentCountRepository commentCountRepository;
+
     @InjectMocks
     private CommentService underTest;
 
@@ -63,35 +96,148 @@ class CommentServiceTest {
 
         CommentDTO expected = commentMapper.toDTO(comment);
 
-        when(idRepository.getCurrentId(COMMENT_ID_COUNTER)).thenReturn(commentId);
-        when(commentRepository.save(any(Comment.class))).thenReturn(comment);
+        when(idGenerator.nextId()).thenReturn(commentId);
+        when(asyncCommentRepository.save(any(Comment.class))).thenReturn(CompletableFuture.completedFuture(comment));
+        when(commentCountRepository.add(any())).thenReturn(CompletableFuture.completedFuture(null));
         // when
-        CommentDTO actual = underTest.saveOne(commentDTO);
+        CommentDTO actual = underTest.saveOne(commentDTO).join();
         // then
         assertEquals(expected, actual);
 
-        verify(idRepository).getCurrentId(COMMENT_ID_COUNTER);
-        verify(idRepository).increment(COMMENT_ID_COUNTER);
+        verify(idGenerator).nextId();
+        verify(commentCountRepository).add(Map.of(10L, 1L));
 
-        verify(commentRepository).save(capture.capture());
+        verify(asyncCommentRepository).save(capture.capture());
         Comment savedComment = capture.getValue();
         assertEquals(commentDTO.getCountry(), savedComment.getKey().getCountry());
         assertEquals(commentDTO.getTweetId(), savedComment.getKey().getTweetId());
         assertEquals(commentDTO.getContent(), savedComment.getContent());
     }
 
+    @SuppressWarnings("unchecked")
     @Test
-    void getOne_throwException_whenCommentNotFound() {
+    void saveAll_reservesIdBlockAndInsertsOnce() {
         // given
-        long commentId = 1L;
-        when(commentRepository.findCommentById(commentId)).thenReturn(Optional.empty());
+        ArgumentCaptor<List<Comment>> capture = ArgumentCaptor.forClass(List.class);
+
+        CommentDTO first = new CommentDTO();
+        first.setCountry(COUNTRY);
+        first.setTweetId(10L);
+        first.setContent("first");
+
+        CommentDTO second = new CommentDTO();
+        second.setCountry(COUNTRY);
+        second.setTweetId(11L);
+        second.setContent("second");
+
+        CommentDTO updated = new CommentDTO();
+        updated.setId(3L);
+        updated.setCountry(COUNTRY);
+        updated.setTweetId(12L);
+        updated.setContent("updated");
+
+        Comment existing = new Comment(new CommentKey(COUNTRY, 12L, 3L), "old");
+
+        when(idGenerator.nextIds(2)).thenReturn(new long[]{20L, 21L});
+        when(commentRepository.findAllByIds(List.of(3L))).thenReturn(List.of(existing));
+        when(commentCountRepository.add(any())).thenReturn(CompletableFuture.completedFuture(null));
         // when
-        CustomException exception = assertThrows(CustomException.class, () -> underTest.getOne(commentId));
+        CommentBatchDTO actual = underTest.saveAll(new CommentBatchDTO(List.of(first, second, updated)));
+        // then
+        assertEquals(List.of(20L, 21L, 3L), actual.getComments().stream().map(CommentDTO::getId).toList());
+        assertEquals("updated", actual.getComments().get(2).getContent());
+
+        verify(idGenerator).nextIds(2);
+        verify(idGenerator, never()).nextId();
+        verify(commentRepository, never()).findCommentById(anyLong());
+        verify(commentRepository).insertAll(capture.capture());
+        verify(commentRepository, never()).save(any());
+        assertEquals(3, capture.getValue().size());
+        verify(commentCountRepository).add(Map.of(10L, 1L, 11L, 1L));
+    }
+
+    @Test
+    void saveOne_returnsCommentDTO_whenCountUpdateFails() {
+        // given
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setCountry(COUNTRY);
+        commentDTO.setTweetId(10L);
+        commentDTO.setContent("content");
+        Comment comment = new Comment(new CommentKey(COUNTRY, 10L, 1L), "content");
+
+        when(idGenerator.nextId()).thenReturn(1L);
+        when(asyncCommentRepository.save(any(Comment.class))).thenReturn(CompletableFuture.completedFuture(comment));
+        when(commentCountRepository.add(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("unavailable")));
+        // when
+        CommentDTO actual = underTest.saveOne(commentDTO).join();
+        // then
+        assertEquals(commentMapper.toDTO(comment), actual);
+    }
+
+    @Test
+    void saveAll_throwException_whenUpdatedCommentNotFound() {
+        // given
+        CommentDTO updated = new CommentDTO();
+        updated.setId(3L);
+        updated.setCountry(COUNTRY);
+        updated.setTweetId(12L);
+        updated.setContent("updated");
+
+        when(commentRepository.findAllByIds(List.of(3L))).thenReturn(List.of());
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+                () -> underTest.saveAll(new CommentBatchDTO(List.of(updated))));
         // then
         assertEquals(ErrorMessage.COMMENT_NOT_FOUND.getText(), exception.getMessage());
         assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
 
-        verify(commentRepository).findCommentById(commentId);
+        verify(commentRepository, never()).insertAll(any());
+        verify(idGenerator, never()).nextIds(anyInt());
+    }
+
+    @Test
+    void saveAll_throwException_whenUpdatedCommentChangesTweet() {
+        // given
+        CommentDTO updated = new CommentDTO();
+        updated.setId(3L);
+        updated.setCountry(COUNTRY);
+        updated.setTweetId(13L);
+        updated.setContent("updated");
+
+        CommentDTO created = new CommentDTO();
+        created.setCountry(COUNTRY);
+        created.setTweetId(10L);
+        created.setContent("created");
+
+        Comment existing = new Comment(new CommentKey(COUNTRY, 12L, 3L), "old");
+
+        when(commentRepository.findAllByIds(List.of(3L))).thenReturn(List.of(existing));
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+                () -> underTest.saveAll(new CommentBatchDTO(List.of(created, updated))));
+        // then
+        assertEquals(ErrorMessage.COMMENT_TWEET_CHANGED.getText(), exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getHttpStatus());
+
+        verify(commentRepository, never()).insertAll(any());
+        verify(idGenerator, never()).nextIds(anyInt());
+        verifyNoInteractions(commentCountRepository);
+    }
+
+    @Test
+    void getOne_throwException_whenCommentNotFound() {
+        // given
+        long commentId = 1L;
+        when(asyncCommentRepository.findById(commentId)).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        // when
+        CompletionException exception = assertThrows(CompletionException.class, () -> underTest.getOne(commentId).join());
+        // then
+        CustomException cause = assertInstanceOf(CustomException.class, exception.getCause());
+        assertEquals(ErrorMessage.COMMENT_NOT_FOUND.getText(), cause.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND, cause.getHttpStatus());
+
+        verify(asyncCommentRepository).findById(commentId);
     }
 
 
@@ -109,26 +255,154 @@ class CommentServiceTest {
         comment.setKey(commentKey);
         comment.setContent(expected.getContent());
 
-        when(commentRepository.findCommentById(expected.getId())).thenReturn(Optional.of(comment));
+        when(asyncCommentRepository.findById(expected.getId()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(comment)));
+        // when
+        CommentDTO actual = underTest.getOne(expected.getId()).join();
+        // then
+        assertEquals(expected, actual);
+        verify(asyncCommentRepository).findById(expected.getId());
+    }
+
+    @Test
+    void getAllByIds_returnsFoundCommentsDTO() {
+        // given
+        List<Comment> comments = Instancio.ofList(Comment.class).size(2).create();
+        List<Long> ids = List.of(comments.get(0).getId(), comments.get(1).getId(), 404L);
+        List<CommentDTO> expected = comments.stream()
+                .map(commentMapper::toDTO)
+                .toList();
+
+        when(commentRepository.findAllByIds(ids)).thenReturn(comments);
         // when
-        CommentDTO actual = underTest.getOne(expected.getId());
+        List<CommentDTO> actual = underTest.getAllByIds(ids);
         // then
         assertEquals(expected, actual);
-        verify(commentRepository).findCommentById(expected.getId());
+    }
+
+    @Test
+    void getAllByIds_throwException_whenTooManyIds() {
+        // given
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+        // when
+        CustomException exception = assertThrows(CustomException.class, () -> underTest.getAllByIds(ids));
+        // then
+        assertEquals(ErrorMessage.TOO_MANY_IDS.getText(), exception.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        verify(commentRepository, never()).findAllByIds(any());
+    }
+
+    @Test
+    void getPage_returnsCommentsAndNextCursor() {
+        // given
+        List<Comment> comments = Instancio.ofList(Comment.class).size(2).create();
+        CassandraPageRequest nextRequest = CassandraPageRequest.of(PageRequest.of(1, 2), ByteBuffer.wrap(new byte[]{7, 8}));
+
+        when(commentRepository.findAllComments(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(comments, nextRequest, true));
+        // when
+        CommentPageDTO actual = underTest.getPage(2, null);
+        // then
+        assertEquals(comments.stream().map(commentMapper::toDTO).toList(), actual.getComments());
+        assertEquals("Bwg", actual.getNext());
+        ArgumentCaptor<Pageable> capture = ArgumentCaptor.forClass(Pageable.class);
+        verify(commentRepository).findAllComments(capture.capture());
+        assertEquals(2, capture.getValue().getPageSize());
+        assertNull(((CassandraPageRequest) capture.getValue()).getPagingState());
+    }
+
+    @Test
+    void getPage_resumesFromCursor_andReturnsNoCursorOnLastPage() {
+        // given
+        List<Comment> comments = Instancio.ofList(Comment.class).size(1).create();
+
+        when(commentRepository.findAllComments(any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(comments, invocation.getArgument(0), false));
+        // when
+        CommentPageDTO actual = underTest.getPage(2, "Bwg");
+        // then
+        assertNull(actual.getNext());
+        ArgumentCaptor<Pageable> capture = ArgumentCaptor.forClass(Pageable.class);
+        verify(commentRepository).findAllComments(capture.capture());
+        assertEquals(ByteBuffer.wrap(new byte[]{7, 8}), ((CassandraPageRequest) capture.getValue()).getPagingState());
+    }
+
+    @Test
+    void getPage_throwException_whenLimitOutOfRange() {
+        // when
+        CustomException exception = assertThrows(CustomException.class, () -> underTest.getPage(1001, null));
+        // then
+        assertEquals(ErrorMessage.INVALID_PAGE_LIMIT.getText(), exception.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        verify(commentRepository, never()).findAllComments(any(Pageable.class));
+    }
+
+    @Test
+    void getPage_throwException_whenCursorIsMalformed() {
+        // when
+        CustomException exception = assertThrows(CustomException.class, () -> underTest.getPage(10, "not a cursor!"));
+        // then
+        assertEquals(ErrorMessage.INVALID_CURSOR.getText(), exception.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+    }
+
+    @Test
+    void getTweetPage_returnsNewestCommentsAndIdCursor() {
+        // given
+        List<Comment> comments = List.of(
+                new Comment(new CommentKey("KZ", 5L, 30L), "third"),
+                new Comment(new CommentKey("KZ", 5L, 20L), "second"),
+                new Comment(new CommentKey("KZ", 5L, 10L), "first"));
+
+        when(commentRepository.findTweetComments("KZ", 5L, Long.MAX_VALUE, 3)).thenReturn(comments);
+        when(commentRepository.findTweetComments("KZ", 5L, 20L, 3)).thenReturn(comments.subList(2, 3));
+        // when
+        CommentPageDTO firstPage = underTest.getTweetPage("KZ", 5L, 2, null);
+        CommentPageDTO secondPage = underTest.getTweetPage("KZ", 5L, 2, firstPage.getNext());
+        // then
+        assertEquals(List.of(30L, 20L), firstPage.getComments().stream().map(CommentDTO::getId).toList());
+        assertNotNull(firstPage.getNext());
+        assertEquals(List.of(10L), secondPage.getComments().stream().map(CommentDTO::getId).toList());
+        assertNull(secondPage.getNext());
+    }
+
+    @Test
+    void getTweetPage_throwException_whenCursorIsNotAnId() {
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+                () -> underTest.getTweetPage("KZ", 5L, 2, "Bwg"));
+        // then
+        assertEquals(ErrorMessage.INVALID_CURSOR.getText(), exception.getMessage());
+        verify(commentRepository, never()).findTweetComments(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void existsOne_returnsRepositoryResult() {
+        // given
+        long commentId = 1L;
+        when(commentRepository.existsCommentById(commentId)).thenReturn(true);
+        // when
+        boolean actual = underTest.existsOne(commentId);
+        // then
+        assertTrue(actual);
+        verify(commentRepository).existsCommentById(commentId);
+        verify(commentRepository, never()).findCommentById(any());
     }
 
     @Test
     void deleteOne_throwException_whenCommentNotFound() {
         // given
         long commentId = 1L;
-        when(commentRepository.findCommentById(commentId)).thenReturn(Optional.empty());
+        when(asyncCommentRepository.findById(commentId)).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
         // when
-        CustomException exception = assertThrows(CustomException.class, () -> underTest.deleteOne(commentId));
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> underTest.deleteOne(commentId).join());
         // then
-        assertEquals(ErrorMessage.COMMENT_NOT_FOUND.getText(), exception.getMessage());
-        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+        CustomException cause = assertInstanceOf(CustomException.class, exception.getCause());
+        assertEquals(ErrorMessage.COMMENT_NOT_FOUND.getText(), cause.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND, cause.getHttpStatus());
 
-        verify(commentRepository).findCommentById(commentId);
+        verify(asyncCommentRepository, never()).delete(any());
     }
 
     @Test
@@ -139,11 +413,14 @@ class CommentServiceTest {
         CommentKey commentKey = new CommentKey(COUNTRY, 10L, commentId);
         comment.setKey(commentKey);
 
-        when(commentRepository.findCommentById(commentId)).thenReturn(Optional.of(comment));
+        when(asyncCommentRepository.findById(commentId)).thenReturn(CompletableFuture.completedFuture(Optional.of(comment)));
+        when(asyncCommentRepository.delete(comment)).thenReturn(CompletableFuture.completedFuture(null));
+        when(commentCountRepository.add(any())).thenReturn(CompletableFuture.completedFuture(null));
         // when
-        underTest.deleteOne(commentId);
+        underTest.deleteOne(commentId).join();
         // then
-        verify(commentRepository).deleteById(commentKey);
+        verify(asyncCommentRepository).delete(comment);
+        verify(commentCountRepository).add(Map.of(10L, -1L));
     }
 
     @Test
@@ -151,14 +428,18 @@ class CommentServiceTest {
         // given
         CommentDTO commentDTO = new CommentDTO();
         commentDTO.setId(1L);
+        commentDTO.setCountry(COUNTRY);
+        commentDTO.setTweetId(10L);
+        when(commentRepository.updateIfExists(any(Comment.class))).thenReturn(false);
         when(commentRepository.findCommentById(commentDTO.getId())).thenReturn(Optional.empty());
         // when
-        CustomException exception = assertThrows(CustomException.class, () -> underTest.updateOne(commentDTO));
+        CustomException exception = assertThrows(CustomException.class,
+                () -> underTest.updateOne(commentDTO, false));
         // then
         assertEquals(ErrorMessage.COMMENT_NOT_FOUND.getText(), exception.getMessage());
         assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
 
-        verify(commentRepository).findCommentById(commentDTO.getId());
+        verify(commentRepository, never()).move(any(), any());
     }
 
     @Test
@@ -170,25 +451,99 @@ class CommentServiceTest {
         expected.setTweetId(10L);
         expected.setContent("new content");
 
-        CommentKey commentKey = new CommentKey(COUNTRY, expected.getTweetId(), expected.getId());
+        ArgumentCaptor<Comment> capture = ArgumentCaptor.forClass(Comment.class);
+        when(commentRepository.updateIfExists(capture.capture())).thenReturn(true);
+        // when
+        CommentDTO actual = underTest.updateOne(expected, false);
+        // then
+        assertEquals(expected, actual);
+        assertEquals(expected, commentMapper.toDTO(capture.getValue()));
+
+        verify(commentRepository, never()).findCommentById(anyLong());
+    }
+
+    @Test
+    void updateOne_throwException_whenTweetChanged() {
+        // given
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setId(1L);
+        commentDTO.setCountry(COUNTRY);
+        commentDTO.setTweetId(11L);
+        commentDTO.setContent("new content");
+        Comment current = new Comment(new CommentKey(COUNTRY, 10L, 1L), "old content");
 
-        Comment saveComment = new Comment();
-        saveComment.setKey(commentKey);
-        saveComment.setContent("old content");
+        when(commentRepository.updateIfExists(any(Comment.class))).thenReturn(false);
+        when(commentRepository.findCommentById(commentDTO.getId())).thenReturn(Optional.of(current));
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+                () -> underTest.updateOne(commentDTO, false));
+        // then
+        assertEquals(ErrorMessage.COMMENT_TWEET_CHANGED.getText(), exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getHttpStatus());
 
-        Comment updatedComment = new Comment();
-        updatedComment.setKey(commentKey);
-        updatedComment.setContent(expected.getContent());
+        verify(commentRepository, never()).move(any(), any());
+    }
+
+    @Test
+    void updateOne_movesComment_whenTweetChangeConfirmed() {
+        // given
+        CommentDTO expected = new CommentDTO();
+        expected.setId(1L);
+        expected.setCountry(COUNTRY);
+        expected.setTweetId(11L);
+        expected.setContent("new content");
+        Comment current = new Comment(new CommentKey(COUNTRY, 10L, 1L), "old content");
 
-        when(commentRepository.findCommentById(expected.getId())).thenReturn(Optional.of(saveComment));
-        when(commentRepository.save(saveComment)).thenReturn(updatedComment);
+        ArgumentCaptor<Comment> capture = ArgumentCaptor.forClass(Comment.class);
+        when(commentRepository.updateIfExists(any(Comment.class))).thenReturn(false);
+        when(commentRepository.findCommentById(expected.getId())).thenReturn(Optional.of(current));
+        when(commentCountRepository.add(any())).thenReturn(CompletableFuture.completedFuture(null));
         // when
-        CommentDTO actual = underTest.updateOne(expected);
+        CommentDTO actual = underTest.updateOne(expected, true);
         // then
         assertEquals(expected, actual);
 
-        verify(commentRepository).findCommentById(expected.getId());
-        verify(commentRepository).save(saveComment);
+        verify(commentRepository).move(eq(current), capture.capture());
+        assertEquals(expected, commentMapper.toDTO(capture.getValue()));
+        verify(commentCountRepository).add(Map.of(10L, -1L, 11L, 1L));
+    }
+
+    @Test
+    void countOne_returnsZero_whenCountDriftedBelowZero() {
+        // given
+        when(commentCountRepository.findCounts(List.of(10L)))
+                .thenReturn(CompletableFuture.completedFuture(Map.of(10L, -1L)));
+        // when
+        CommentCountDTO actual = underTest.countOne(10L).join();
+        // then
+        assertEquals(new CommentCountDTO(10L, 0), actual);
+    }
+
+    @Test
+    void countAll_returnsCountsInRequestedOrder() {
+        // given
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        counts.put(12L, 3L);
+        counts.put(10L, 0L);
+        when(commentCountRepository.findCounts(List.of(12L, 10L)))
+                .thenReturn(CompletableFuture.completedFuture(counts));
+        // when
+        List<CommentCountDTO> actual = underTest.countAll(List.of(12L, 10L)).join();
+        // then
+        assertEquals(List.of(new CommentCountDTO(12L, 3), new CommentCountDTO(10L, 0)), actual);
+    }
+
+    @Test
+    void countAll_throwException_whenTooManyIds() {
+        // given
+        List<Long> tweetIds = LongStream.rangeClosed(1, 1001).boxed().toList();
+        // when
+        CustomException exception = assertThrows(CustomException.class, () -> underTest.countAll(tweetIds));
+        // then
+        assertEquals(ErrorMessage.TOO_MANY_IDS.getText(), exception.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+
+        verify(commentCountRepository, never()).findCounts(any());
     }
 
     @Test
@@ -199,13 +554,41 @@ class CommentServiceTest {
                 .map(commentMapper::toDTO)
                 .toList();
 
-        when(commentRepository.findAll()).thenReturn(comments);
+        when(commentRepository.findAllComments()).thenReturn(comments);
         // when
         List<CommentDTO> actual = underTest.getAll();
         // then
         assertEquals(expected.size(), actual.size());
         assertEquals(expected, actual);
 
-        verify(commentRepository).findAll();
+        verify(commentRepository).findAllComments();
+    }
+
+    @Test
+    void streamAll_readsNextPageOnlyWhenConsumed() {
+        // given
+        List<Comment> firstPage = Instancio.ofList(Comment.class).size(2).create();
+        List<Comment> secondPage = Instancio.ofList(Comment.class).size(1).create();
+        CassandraPageRequest firstRequest = CassandraPageRequest.of(PageRequest.of(0, 500), ByteBuffer.wrap(new byte[]{1}));
+        Pageable secondRequest = firstRequest.next();
+
+        when(commentRepository.findAllComments(any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            return pageable.getPageNumber() == 0
+                    ? new SliceImpl<>(firstPage, firstRequest, true)
+                    : new SliceImpl<>(secondPage, secondRequest, false);
+        });
+        // when
+        try (Stream<CommentDTO> comments = underTest.streamAll()) {
+            Iterator<CommentDTO> iterator = comments.iterator();
+            // then
+            assertEquals(commentMapper.toDTO(firstPage.getFirst()), iterator.next());
+            verify(commentRepository, times(1)).findAllComments(any(Pageable.class));
+
+            assertEquals(commentMapper.toDTO(firstPage.get(1)), iterator.next());
+            assertEquals(commentMapper.toDTO(secondPage.getFirst()), iterator.next());
+            assertFalse(iterator.hasNext());
+        }
+        verify(commentRepository, times(2)).findAllComments(any(Pageable.class));
     }
-}
\ No newline at end of file
+}
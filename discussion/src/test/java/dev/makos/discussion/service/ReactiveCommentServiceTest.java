@@ -0,0 +1,194 @@
+package dev.makos.discussion.service;
+
+import dev.makos.discussion.exception.CustomException;
+import dev.makos.discussion.id.IdGenerator;
+import dev.makos.discussion.mapper.CommentMapper;
+import dev.makos.discussion.mapper.CommentMapperImpl;
+import dev.makos.discussion.model.dto.CommentBatchDTO;
+import dev.makos.discussion.model.dto.CommentCountDTO;
+import dev.makos.discussion.model.dto.CommentDTO;
+import dev.makos.discussion.model.dto.CommentPageDTO;
+import dev.makos.discussion.model.entity.Comment;
+import dev.makos.discussion.model.entity.CommentKey;
+import dev.makos.discussion.repository.CommentCountRepository;
+import dev.makos.discussion.repository.ReactiveCommentRepository;
+import dev.makos.discussion.util.ErrorMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCommentServiceTest {
+
+    private static final String COUNTRY = "KZ";
+
+    @Spy
+    private CommentMapper commentMapper = new CommentMapperImpl();
+
+    @Mock
+    private IdGenerator idGenerator;
+
+    @Mock
+    private ReactiveCommentRepository commentRepository;
+
+    @Mock
+    private CommentCountRepository commentCountRepository;
+
+    @InjectMocks
+    private ReactiveCommentService underTest;
+
+    @Test
+    void saveOne_returnsCommentDTO() {
+        // given
+        ArgumentCaptor<Comment> capture = ArgumentCaptor.forClass(Comment.class);
+
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setCountry(COUNTRY);
+        commentDTO.setTweetId(10L);
+        commentDTO.setContent("content");
+
+        when(idGenerator.nextId()).thenReturn(1L);
+        when(commentRepository.saveComment(any(Comment.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(commentCountRepository.add(any())).thenReturn(CompletableFuture.completedFuture(null));
+        // when
+        CommentDTO actual = underTest.saveOne(commentDTO).block();
+        // then
+        assertNotNull(actual);
+        assertEquals(1L, actual.getId());
+        verify(commentRepository).saveComment(capture.capture());
+        assertEquals(commentDTO.getTweetId(), capture.getValue().getKey().getTweetId());
+        assertEquals(commentDTO.getContent(), capture.getValue().getContent());
+        verify(commentCountRepository).add(Map.of(10L, 1L));
+    }
+
+    @Test
+    void getOne_throwException_whenCommentNotFound() {
+        // given
+        when(commentRepository.findCommentById(1L)).thenReturn(Mono.empty());
+        // when
+        CustomException exception = assertThrows(CustomException.class, () -> underTest.getOne(1L).block());
+        // then
+        assertEquals(ErrorMessage.COMMENT_NOT_FOUND.getText(), exception.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+    }
+
+    @Test
+    void deleteOne_deletesComment() {
+        // given
+        Comment comment = new Comment(new CommentKey(COUNTRY, 10L, 1L), "content");
+        when(commentRepository.findCommentById(1L)).thenReturn(Mono.just(comment));
+        when(commentRepository.deleteComment(comment)).thenReturn(Mono.empty());
+        when(commentCountRepository.add(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("unavailable")));
+        // when
+        underTest.deleteOne(1L).block();
+        // then
+        verify(commentRepository).deleteComment(comment);
+        verify(commentCountRepository).add(Map.of(10L, -1L));
+    }
+
+    @Test
+    void countOne_returnsCount() {
+        // given
+        when(commentCountRepository.findCounts(List.of(10L)))
+                .thenReturn(CompletableFuture.completedFuture(Map.of(10L, 4L)));
+        // when
+        CommentCountDTO actual = underTest.countOne(10L).block();
+        // then
+        assertEquals(new CommentCountDTO(10L, 4), actual);
+    }
+
+    @Test
+    void updateOne_throwException_whenTweetChanged() {
+        // given
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setId(1L);
+        commentDTO.setCountry(COUNTRY);
+        commentDTO.setTweetId(11L);
+        commentDTO.setContent("updated");
+
+        Comment current = new Comment(new CommentKey(COUNTRY, 10L, 1L), "content");
+        when(commentRepository.updateIfExists(any(Comment.class))).thenReturn(Mono.just(false));
+        when(commentRepository.findCommentById(1L)).thenReturn(Mono.just(current));
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+                () -> underTest.updateOne(commentDTO, false).block());
+        // then
+        assertEquals(ErrorMessage.COMMENT_TWEET_CHANGED.getText(), exception.getMessage());
+        verify(commentRepository, never()).move(any(), any());
+    }
+
+    @Test
+    void saveAll_throwException_whenUpdatedCommentChangesTweet() {
+        // given
+        CommentDTO updated = new CommentDTO();
+        updated.setId(3L);
+        updated.setCountry(COUNTRY);
+        updated.setTweetId(13L);
+        updated.setContent("updated");
+
+        Comment existing = new Comment(new CommentKey(COUNTRY, 12L, 3L), "old");
+        when(commentRepository.findAllByIds(List.of(3L))).thenReturn(Flux.just(existing));
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+                () -> underTest.saveAll(new CommentBatchDTO(List.of(updated))).block());
+        // then
+        assertEquals(ErrorMessage.COMMENT_TWEET_CHANGED.getText(), exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getHttpStatus());
+        verify(commentRepository, never()).insertAll(any());
+        verify(commentRepository, never()).findCommentById(any());
+    }
+
+    @Test
+    void getTweetPage_returnsNewestCommentsAndIdCursor() {
+        // given
+        List<Comment> comments = List.of(
+                new Comment(new CommentKey(COUNTRY, 5L, 30L), "third"),
+                new Comment(new CommentKey(COUNTRY, 5L, 20L), "second"),
+                new Comment(new CommentKey(COUNTRY, 5L, 10L), "first"));
+
+        when(commentRepository.findTweetComments(COUNTRY, 5L, Long.MAX_VALUE, 3)).thenReturn(Flux.fromIterable(comments));
+        when(commentRepository.findTweetComments(COUNTRY, 5L, 20L, 3)).thenReturn(Flux.just(comments.get(2)));
+        // when
+        CommentPageDTO firstPage = underTest.getTweetPage(COUNTRY, 5L, 2, null).block();
+        CommentPageDTO secondPage = underTest.getTweetPage(COUNTRY, 5L, 2, firstPage.getNext()).block();
+        // then
+        assertEquals(List.of(30L, 20L), firstPage.getComments().stream().map(CommentDTO::getId).toList());
+        assertNotNull(firstPage.getNext());
+        assertEquals(List.of(10L), secondPage.getComments().stream().map(CommentDTO::getId).toList());
+        assertNull(secondPage.getNext());
+    }
+
+    @Test
+    void getAllByIds_throwException_whenTooManyIds() {
+        // given
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+        // when
+        CustomException exception = assertThrows(CustomException.class, () -> underTest.getAllByIds(ids).block());
+        // then
+        assertEquals(ErrorMessage.TOO_MANY_IDS.getText(), exception.getMessage());
+        verify(commentRepository, never()).findAllByIds(any());
+    }
+}
@@ -0,0 +1,53 @@
+package dev.makos.publisher.config;
+
+import dev.makos.publisher.util.Deadline;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionManager;
+
+@EnableConfigurationProperties(DeadlineProperties.class)
+@Configuration
+public class DeadlineConfig {
+
+    @Bean
+    public DeadlineFilter deadlineFilter(DeadlineProperties properties) {
+        return new DeadlineFilter(properties);
+    }
+
+    @Bean
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                    ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new DeadlineJpaTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(customizer -> customizer.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+
+    /**
+     * Caps the transaction timeout at the time left until the request deadline. Hibernate applies
+     * the remaining transaction time as the JDBC query timeout of every statement.
+     */
+    static class DeadlineJpaTransactionManager extends JpaTransactionManager {
+
+        DeadlineJpaTransactionManager(EntityManagerFactory entityManagerFactory) {
+            super(entityManagerFactory);
+        }
+
+        @Override
+        protected int determineTimeout(TransactionDefinition definition) {
+            int timeout = super.determineTimeout(definition);
+            Deadline deadline = Deadline.current();
+            if (deadline == null) {
+                return timeout;
+            }
+
+            int remaining = (int) Math.max(1, Math.ceilDiv(deadline.remaining().toMillis(), 1000));
+            return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remaining : Math.min(timeout, remaining);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package dev.makos.publisher.config;
+
+import dev.makos.publisher.util.Deadline;
+import dev.makos.publisher.util.ErrorMessage;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Starts the request deadline from the caller's {@link Deadline#TIMEOUT_HEADER} or, when absent or longer,
+ * from the per-endpoint default, and binds it to the request thread for the downstream calls.
+ */
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final DeadlineProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public DeadlineFilter(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Duration timeout = endpointTimeout(request);
+        String header = request.getHeader(Deadline.TIMEOUT_HEADER);
+        if (header != null) {
+            long timeoutMillis;
+            try {
+                timeoutMillis = Long.parseLong(header.trim());
+            } catch (NumberFormatException e) {
+                response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + Deadline.TIMEOUT_HEADER + " header");
+                return;
+            }
+            if (timeoutMillis <= 0) {
+                response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), ErrorMessage.DEADLINE_EXCEEDED.getText());
+                return;
+            }
+            if (timeoutMillis < timeout.toMillis()) {
+                timeout = Duration.ofMillis(timeoutMillis);
+            }
+        }
+
+        try (Deadline.Scope ignored = Deadline.after(timeout).bind()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private Duration endpointTimeout(HttpServletRequest request) {
+        for (DeadlineProperties.Endpoint endpoint : properties.getEndpoints()) {
+            if ((endpoint.getMethod() == null || endpoint.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(endpoint.getPattern(), request.getRequestURI())) {
+                return endpoint.getTimeout();
+            }
+        }
+        return properties.getDefaultTimeout();
+    }
+}
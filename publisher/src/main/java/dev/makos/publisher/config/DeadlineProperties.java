@@ -0,0 +1,25 @@
+package dev.makos.publisher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "deadline")
+public class DeadlineProperties {
+
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    @Data
+    public static class Endpoint {
+
+        private String method;
+        private String pattern;
+        private Duration timeout;
+
+    }
+}
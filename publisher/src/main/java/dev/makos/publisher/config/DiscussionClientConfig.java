@@ -0,0 +1,134 @@
+package dev.makos.publisher.config;
+
+import dev.makos.publisher.converter.CommentProtobufHttpMessageConverter;
+import dev.makos.publisher.mapper.CommentProtoMapper;
+import dev.makos.publisher.util.Deadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+
+import static dev.makos.publisher.converter.CommentProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE;
+import static dev.makos.publisher.repository.DiscussionCallExecutor.DISCUSSION;
+
+@EnableConfigurationProperties(DiscussionProperties.class)
+@Configuration
+public class DiscussionClientConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager discussionConnectionManager(DiscussionProperties properties) {
+        DiscussionProperties.Client client = properties.getClient();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(client.getMaxConnections())
+                .setMaxConnPerRoute(client.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(client.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(client.getReadTimeout()))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient discussionHttpClient(PoolingHttpClientConnectionManager discussionConnectionManager,
+                                                    DiscussionProperties properties) {
+        DiscussionProperties.Client client = properties.getClient();
+        TimeValue keepAlive = TimeValue.of(client.getKeepAlive());
+        return HttpClients.custom()
+                .setConnectionManager(discussionConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(client.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(client.getReadTimeout()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .evictIdleConnections(keepAlive)
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory discussionRequestFactory(CloseableHttpClient discussionHttpClient,
+                                                             DiscussionProperties properties) {
+        DiscussionProperties.Client client = properties.getClient();
+        if (client.getTransport() == DiscussionProperties.Transport.H2C) {
+            HttpClient http2Client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(client.getConnectTimeout())
+                    .build();
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(http2Client);
+            requestFactory.setReadTimeout(client.getReadTimeout());
+            return requestFactory;
+        }
+
+        return new HttpComponentsClientHttpRequestFactory(discussionHttpClient);
+    }
+
+    @Bean
+    public DiscussionLoadBalancer discussionLoadBalancer(DiscussionProperties properties, MeterRegistry meterRegistry) {
+        return new DiscussionLoadBalancer(properties, meterRegistry);
+    }
+
+    @Bean
+    public DiscussionClientMetrics discussionClientMetrics(MeterRegistry meterRegistry) {
+        return new DiscussionClientMetrics(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder discussionConnectionPoolMetrics(PoolingHttpClientConnectionManager discussionConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(discussionConnectionManager, DISCUSSION);
+    }
+
+    @Bean
+    public RestClient discussionRestClient(RestClient.Builder builder,
+                                           ClientHttpRequestFactory discussionRequestFactory,
+                                           CommentProtoMapper commentProtoMapper,
+                                           DiscussionLoadBalancer discussionLoadBalancer,
+                                           DiscussionClientMetrics discussionClientMetrics,
+                                           DiscussionProperties properties) {
+        if (properties.getClient().getProtocol() == DiscussionProperties.Protocol.PROTOBUF) {
+            builder.messageConverters(converters ->
+                            converters.addFirst(new CommentProtobufHttpMessageConverter(commentProtoMapper)))
+                    .defaultHeader(HttpHeaders.ACCEPT, APPLICATION_PROTOBUF_VALUE, MediaType.APPLICATION_JSON_VALUE);
+        } else {
+            builder.defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        }
+
+        return builder
+                .baseUrl(properties.getEndpoints().getFirst())
+                .requestInterceptor(DiscussionClientConfig::propagateDeadline)
+                .requestInterceptor(discussionLoadBalancer)
+                .requestInterceptor(discussionClientMetrics)
+                .requestFactory(discussionRequestFactory)
+                .build();
+    }
+
+    private static ClientHttpResponse propagateDeadline(HttpRequest request, byte[] body,
+                                                        ClientHttpRequestExecution execution) throws IOException {
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            request.getHeaders().set(Deadline.TIMEOUT_HEADER, String.valueOf(deadline.remaining().toMillis()));
+        }
+        return execution.execute(request, body);
+    }
+}
@@ -0,0 +1,179 @@
+package dev.makos.publisher.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records every HTTP exchange with discussion: time until the response is closed, request and response
+ * body sizes, and the number of exchanges in flight. Exchanges are tagged with the operation bound by
+ * {@link #tagged(String, Callable)}, so hedged attempts show up as extra exchanges of the same operation.
+ */
+public class DiscussionClientMetrics implements ClientHttpRequestInterceptor {
+
+    static final String UNKNOWN_OPERATION = "unknown";
+
+    private static final ThreadLocal<String> OPERATION = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight;
+
+    public DiscussionClientMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.inFlight = meterRegistry.gauge("discussion.client.in-flight", new AtomicInteger());
+    }
+
+    public static <T> Callable<T> tagged(String operation, Callable<T> call) {
+        return () -> {
+            String previous = OPERATION.get();
+            OPERATION.set(operation);
+            try {
+                return call.call();
+            } finally {
+                if (previous == null) {
+                    OPERATION.remove();
+                } else {
+                    OPERATION.set(previous);
+                }
+            }
+        };
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String operation = OPERATION.get() != null ? OPERATION.get() : UNKNOWN_OPERATION;
+        String endpoint = endpoint(request.getURI());
+        size("discussion.client.request.size", operation).record(body.length);
+
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        try {
+            return new MeteredResponse(execution.execute(request, body), operation, endpoint, start);
+        } catch (IOException | RuntimeException e) {
+            inFlight.decrementAndGet();
+            exchangeTimer(operation, endpoint, "IO_ERROR").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer exchangeTimer(String operation, String endpoint, String status) {
+        return Timer.builder("discussion.client.exchanges")
+                .tag("operation", operation)
+                .tag("endpoint", endpoint)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary size(String name, String operation) {
+        return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String endpoint(URI uri) {
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    private final class MeteredResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final String operation;
+        private final String endpoint;
+        private final long start;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private long bytesRead;
+        private InputStream body;
+
+        private MeteredResponse(ClientHttpResponse delegate, String operation, String endpoint, long start) {
+            this.delegate = delegate;
+            this.operation = operation;
+            this.endpoint = endpoint;
+            this.start = start;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(delegate.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        int read = super.read();
+                        if (read >= 0) {
+                            bytesRead++;
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int read = super.read(buffer, offset, length);
+                        if (read > 0) {
+                            bytesRead += read;
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public boolean markSupported() {
+                        return false;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            String status;
+            try {
+                status = String.valueOf(delegate.getStatusCode().value());
+            } catch (IOException e) {
+                status = "IO_ERROR";
+            }
+            try {
+                delegate.close();
+            } finally {
+                inFlight.decrementAndGet();
+                exchangeTimer(operation, endpoint, status).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                size("discussion.client.response.size", operation).record(bytesRead);
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package dev.makos.publisher.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads discussion requests over the configured endpoints with power-of-two-choices on outstanding requests.
+ * Endpoints that keep failing are ejected for a growing period and then re-probed with a single request.
+ * Requests are built against the first endpoint; their path is rebased onto the path of the chosen endpoint.
+ */
+public class DiscussionLoadBalancer implements ClientHttpRequestInterceptor {
+
+    private final List<Endpoint> endpoints;
+    private final String basePath;
+    private final DiscussionProperties.LoadBalancer config;
+    private final MeterRegistry meterRegistry;
+
+    public DiscussionLoadBalancer(DiscussionProperties properties, MeterRegistry meterRegistry) {
+        this.endpoints = properties.getEndpoints().stream()
+                .map(url -> new Endpoint(URI.create(url)))
+                .toList();
+        this.basePath = endpoints.getFirst().path;
+        this.config = properties.getLoadBalancer();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Endpoint endpoint = choose();
+        endpoint.outstanding.incrementAndGet();
+        Outcome outcome = Outcome.NEUTRAL;
+        try {
+            ClientHttpResponse response = execution.execute(new HttpRequestWrapper(request) {
+                @Override
+                public URI getURI() {
+                    return endpoint.resolve(super.getURI(), basePath);
+                }
+            }, body);
+            outcome = response.getStatusCode().is5xxServerError() ? Outcome.FAILURE : Outcome.SUCCESS;
+            return response;
+        } catch (IOException e) {
+            outcome = Thread.currentThread().isInterrupted() ? Outcome.NEUTRAL : Outcome.FAILURE;
+            throw e;
+        } finally {
+            release(endpoint, outcome);
+        }
+    }
+
+    Endpoint choose() {
+        long now = System.nanoTime();
+        List<Endpoint> healthy = new ArrayList<>(endpoints.size());
+        Endpoint leastEjected = null;
+        for (Endpoint endpoint : endpoints) {
+            if (!endpoint.ejected) {
+                healthy.add(endpoint);
+            } else if (now - endpoint.ejectedUntil >= 0 && endpoint.tryProbe()) {
+                return endpoint;
+            } else if (leastEjected == null || endpoint.ejectedUntil - leastEjected.ejectedUntil < 0) {
+                leastEjected = endpoint;
+            }
+        }
+
+        if (healthy.isEmpty()) {
+            return leastEjected;
+        }
+        if (healthy.size() == 1) {
+            return healthy.getFirst();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(healthy.size());
+        int second = random.nextInt(healthy.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint a = healthy.get(first);
+        Endpoint b = healthy.get(second);
+        return a.outstanding.get() <= b.outstanding.get() ? a : b;
+    }
+
+    void release(Endpoint endpoint, Outcome outcome) {
+        endpoint.outstanding.decrementAndGet();
+        switch (outcome) {
+            case SUCCESS -> endpoint.recover();
+            case FAILURE -> {
+                if (endpoint.fail(config)) {
+                    meterRegistry.counter("discussion.client.ejections", "endpoint", endpoint.uri.toString())
+                            .increment();
+                }
+            }
+            case NEUTRAL -> endpoint.probing = false;
+        }
+    }
+
+    List<Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    enum Outcome {
+        SUCCESS,
+        FAILURE,
+        NEUTRAL
+    }
+
+    static final class Endpoint {
+
+        private final URI uri;
+        private final String path;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private int consecutiveFailures;
+        private int ejections;
+        private volatile boolean ejected;
+        private volatile boolean probing;
+        private volatile long ejectedUntil;
+
+        private Endpoint(URI uri) {
+            this.uri = uri;
+            String rawPath = uri.getRawPath() == null ? "" : uri.getRawPath();
+            this.path = rawPath.endsWith("/") ? rawPath.substring(0, rawPath.length() - 1) : rawPath;
+        }
+
+        URI uri() {
+            return uri;
+        }
+
+        boolean isEjected() {
+            return ejected;
+        }
+
+        private URI resolve(URI original, String basePath) {
+            String requestPath = original.getRawPath() == null ? "" : original.getRawPath();
+            if (requestPath.startsWith(basePath)) {
+                requestPath = requestPath.substring(basePath.length());
+            }
+            return UriComponentsBuilder.fromUri(original)
+                    .scheme(uri.getScheme())
+                    .host(uri.getHost())
+                    .port(uri.getPort())
+                    .replacePath(path + requestPath)
+                    .build(true)
+                    .toUri();
+        }
+
+        private synchronized boolean tryProbe() {
+            if (!ejected || probing) {
+                return false;
+            }
+            probing = true;
+            return true;
+        }
+
+        private synchronized void recover() {
+            consecutiveFailures = 0;
+            ejections = 0;
+            ejected = false;
+            probing = false;
+        }
+
+        private synchronized boolean fail(DiscussionProperties.LoadBalancer config) {
+            consecutiveFailures++;
+            if (!probing && (ejected || consecutiveFailures < config.getFailureThreshold())) {
+                return false;
+            }
+
+            Duration ejectionTime = config.getEjectionTime().multipliedBy(1L << Math.min(ejections, 16));
+            if (ejectionTime.compareTo(config.getMaxEjectionTime()) > 0) {
+                ejectionTime = config.getMaxEjectionTime();
+            }
+            ejections++;
+            ejectedUntil = System.nanoTime() + ejectionTime.toNanos();
+            ejected = true;
+            probing = false;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package dev.makos.publisher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "discussion")
+public class DiscussionProperties {
+
+    private String url;
+    private List<String> urls = new ArrayList<>();
+    private Client client = new Client();
+    private LoadBalancer loadBalancer = new LoadBalancer();
+    private Fallback fallback = new Fallback();
+    private Hedging hedging = new Hedging();
+    private Coalescing coalescing = new Coalescing();
+    private Batching batching = new Batching();
+
+    public List<String> getEndpoints() {
+        return urls.isEmpty() ? List.of(url) : urls;
+    }
+
+    @Data
+    public static class Client {
+
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(5);
+        private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+        private Duration keepAlive = Duration.ofSeconds(30);
+        private int maxConnections = 200;
+        private int maxConnectionsPerRoute = 100;
+        private Protocol protocol = Protocol.JSON;
+        private Transport transport = Transport.HTTP1;
+
+    }
+
+    @Data
+    public static class LoadBalancer {
+
+        private int failureThreshold = 3;
+        private Duration ejectionTime = Duration.ofSeconds(10);
+        private Duration maxEjectionTime = Duration.ofMinutes(2);
+
+    }
+
+    @Data
+    public static class Fallback {
+
+        private long maxEntries = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+
+    }
+
+    @Data
+    public static class Hedging {
+
+        private boolean enabled = false;
+        private Duration delay = Duration.ofMillis(50);
+        private boolean adaptive = true;
+        private Duration minDelay = Duration.ofMillis(5);
+        private long minSamples = 100;
+        private int budgetPercent = 10;
+
+    }
+
+    @Data
+    public static class Coalescing {
+
+        private boolean enabled = true;
+        private int maxInFlight = 10_000;
+        private Duration maxWait = Duration.ofSeconds(2);
+
+    }
+
+    @Data
+    public static class Batching {
+
+        private boolean enabled = false;
+        private Duration window = Duration.ofMillis(2);
+        private int maxBatchSize = 100;
+
+    }
+
+    public enum Protocol {
+        JSON,
+        PROTOBUF
+    }
+
+    public enum Transport {
+        HTTP1,
+        H2C
+    }
+}
@@ -1,15 +1,26 @@
 package dev.makos.publisher.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.makos.publisher.model.dto.CommentBatchDTO;
 import dev.makos.publisher.model.dto.CommentDTO;
+import dev.makos.publisher.model.dto.CommentPageDTO;
 import dev.makos.publisher.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Tag(name = "Comments", description = "Comments API")
 @RequiredArgsConstructor
@@ -18,6 +29,7 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Create a comment")
     @ResponseStatus(HttpStatus.CREATED)
@@ -26,6 +38,13 @@ public class CommentController {
         return commentService.saveOne(commentDTO);
     }
 
+    @Operation(summary = "Create or update comments in bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping("/batch")
+    public CommentBatchDTO saveAll(@Valid @RequestBody CommentBatchDTO commentBatchDTO) {
+        return commentService.saveAll(commentBatchDTO);
+    }
+
     @Operation(summary = "Get a comment by ID")
     @GetMapping("/{id}")
     public CommentDTO getOne(@PathVariable Long id) {
@@ -38,6 +57,22 @@ public class CommentController {
         return commentService.getAll();
     }
 
+    @Operation(summary = "Get one page of comments, resuming from the cursor of the previous page")
+    @GetMapping(params = "limit")
+    public CommentPageDTO getPage(@RequestParam int limit, @RequestParam(required = false) String next) {
+        return commentService.getPage(limit, next);
+    }
+
+    @Operation(summary = "Stream all comments as newline-delimited JSON")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        Stream<CommentDTO> comments = commentService.streamAll();
+        ObjectWriter writer = objectMapper.writerFor(CommentDTO.class);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> writeNdjson(comments, writer, outputStream));
+    }
+
     @Operation(summary = "Delete a comment by ID")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @DeleteMapping("/{id}")
@@ -50,4 +85,15 @@ public class CommentController {
     public CommentDTO updateOne(@Valid @RequestBody CommentDTO commentDTO) {
         return commentService.updateOne(commentDTO);
     }
+
+    private static void writeNdjson(Stream<CommentDTO> comments, ObjectWriter writer, OutputStream outputStream)
+            throws IOException {
+        try (comments) {
+            Iterator<CommentDTO> iterator = comments.iterator();
+            while (iterator.hasNext()) {
+                outputStream.write(writer.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+            }
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package dev.makos.publisher.controller;
 
+import dev.makos.publisher.model.dto.CommentPageDTO;
 import dev.makos.publisher.model.dto.TweetDTO;
+import dev.makos.publisher.service.CommentService;
 import dev.makos.publisher.service.TweetService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,6 +20,7 @@ import java.util.List;
 public class TweetController {
 
     private final TweetService tweetService;
+    private final CommentService commentService;
 
     @Operation(summary = "Create a tweet")
     @ResponseStatus(HttpStatus.CREATED)
@@ -32,10 +35,19 @@ public class TweetController {
         return tweetService.getOne(id);
     }
 
-    @Operation(summary = "Get all tweets")
+    @Operation(summary = "Get a page of the comments of a tweet, newest first",
+            description = "Pass the returned next cursor to read the following page")
+    @GetMapping("/{id}/comments")
+    public CommentPageDTO getComments(@PathVariable Long id, @RequestParam int limit,
+                                      @RequestParam(required = false) String next) {
+        return commentService.getPageByTweet(id, limit, next);
+    }
+
+    @Operation(summary = "Get all tweets",
+            description = "Pass includeCommentCount to fill the comment count of every tweet with one batched call")
     @GetMapping
-    public List<TweetDTO> getAll() {
-        return tweetService.getAll();
+    public List<TweetDTO> getAll(@RequestParam(defaultValue = "false") boolean includeCommentCount) {
+        return tweetService.getAll(includeCommentCount);
     }
 
     @Operation(summary = "Delete a tweet by ID")
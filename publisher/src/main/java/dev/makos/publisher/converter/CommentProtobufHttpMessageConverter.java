@@ -0,0 +1,87 @@
+package dev.makos.publisher.converter;
+
+import dev.makos.publisher.mapper.CommentProtoMapper;
+import dev.makos.publisher.model.dto.CommentCassandraBatchDTO;
+import dev.makos.publisher.model.dto.CommentCassandraDTO;
+import dev.makos.publisher.model.proto.CommentListMessage;
+import dev.makos.publisher.model.proto.CommentMessage;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+public class CommentProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE);
+
+    private final CommentProtoMapper commentProtoMapper;
+
+    public CommentProtobufHttpMessageConverter(CommentProtoMapper commentProtoMapper) {
+        super(APPLICATION_PROTOBUF);
+        this.commentProtoMapper = commentProtoMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == CommentCassandraDTO.class || clazz == CommentCassandraBatchDTO.class;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return (isCommentList(type) || type instanceof Class<?> clazz && supports(clazz)) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        boolean supported = type != null
+                ? isCommentList(type) || type instanceof Class<?> typeClass && supports(typeClass)
+                : supports(clazz);
+        return supported && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        if (isCommentList(type)) {
+            return commentProtoMapper.toDTOs(CommentListMessage.parseFrom(inputMessage.getBody()));
+        }
+        return readInternal((Class<?>) type, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        if (clazz == CommentCassandraDTO.class) {
+            return commentProtoMapper.toDTO(CommentMessage.parseFrom(inputMessage.getBody()));
+        }
+        if (clazz == CommentCassandraBatchDTO.class) {
+            CommentListMessage message = CommentListMessage.parseFrom(inputMessage.getBody());
+            return new CommentCassandraBatchDTO(commentProtoMapper.toDTOs(message));
+        }
+        throw new HttpMessageNotReadableException("Unsupported protobuf type " + clazz.getName(), inputMessage);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (object instanceof CommentCassandraDTO commentCassandraDTO) {
+            commentProtoMapper.toMessage(commentCassandraDTO).writeTo(outputMessage.getBody());
+        } else if (object instanceof CommentCassandraBatchDTO commentCassandraBatchDTO) {
+            commentProtoMapper.toListMessage(commentCassandraBatchDTO.getComments()).writeTo(outputMessage.getBody());
+        } else {
+            commentProtoMapper.toListMessage((List<CommentCassandraDTO>) object).writeTo(outputMessage.getBody());
+        }
+    }
+
+    private static boolean isCommentList(Type type) {
+        return type instanceof ParameterizedType parameterizedType
+                && parameterizedType.getRawType() == List.class
+                && parameterizedType.getActualTypeArguments()[0] == CommentCassandraDTO.class;
+    }
+}
@@ -0,0 +1,14 @@
+package dev.makos.publisher.exception;
+
+import lombok.Getter;
+
+@Getter
+public class CommentTweetChangedException extends RuntimeException {
+
+    private final Long commentId;
+
+    public CommentTweetChangedException(Long commentId) {
+        super("Comment " + commentId + " belongs to another tweet");
+        this.commentId = commentId;
+    }
+}
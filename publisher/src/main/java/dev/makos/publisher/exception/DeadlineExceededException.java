@@ -0,0 +1,8 @@
+package dev.makos.publisher.exception;
+
+public class DeadlineExceededException extends DiscussionUnavailableException {
+
+    public DeadlineExceededException(String operation, Throwable cause) {
+        super(operation, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package dev.makos.publisher.exception;
+
+import lombok.Getter;
+
+@Getter
+public class DiscussionUnavailableException extends RuntimeException {
+
+    private final String operation;
+
+    public DiscussionUnavailableException(String operation, Throwable cause) {
+        super("Discussion call '" + operation + "' failed", cause);
+        this.operation = operation;
+    }
+}
@@ -1,7 +1,10 @@
 package dev.makos.publisher.exception.handler;
 
 import dev.makos.publisher.exception.CustomException;
+import dev.makos.publisher.exception.DeadlineExceededException;
+import dev.makos.publisher.exception.DiscussionUnavailableException;
 import dev.makos.publisher.model.dto.exception.ErrorResponseDTO;
+import dev.makos.publisher.util.ErrorMessage;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -53,6 +56,28 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(ex.getHttpStatus()).body(errorResponse);
     }
 
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Object> handleDeadlineExceededException(DeadlineExceededException ex) {
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                .dateTime(LocalDateTime.now())
+                .code(HttpStatus.GATEWAY_TIMEOUT.value())
+                .message(ErrorMessage.DEADLINE_EXCEEDED.getText())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(errorResponse);
+    }
+
+    @ExceptionHandler(DiscussionUnavailableException.class)
+    public ResponseEntity<Object> handleDiscussionUnavailableException(DiscussionUnavailableException ex) {
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                .dateTime(LocalDateTime.now())
+                .code(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message(ErrorMessage.DISCUSSION_UNAVAILABLE.getText())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAllExceptions(Exception ex) {
         ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
@@ -0,0 +1,50 @@
+package dev.makos.publisher.mapper;
+
+import dev.makos.publisher.model.dto.CommentCassandraDTO;
+import dev.makos.publisher.model.proto.CommentListMessage;
+import dev.makos.publisher.model.proto.CommentMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class CommentProtoMapper {
+
+    public CommentMessage toMessage(CommentCassandraDTO commentCassandraDTO) {
+        CommentMessage.Builder builder = CommentMessage.newBuilder();
+        if (commentCassandraDTO.getCountry() != null) {
+            builder.setCountry(commentCassandraDTO.getCountry());
+        }
+        if (commentCassandraDTO.getId() != null) {
+            builder.setId(commentCassandraDTO.getId());
+        }
+        if (commentCassandraDTO.getTweetId() != null) {
+            builder.setTweetId(commentCassandraDTO.getTweetId());
+        }
+        if (commentCassandraDTO.getContent() != null) {
+            builder.setContent(commentCassandraDTO.getContent());
+        }
+        return builder.build();
+    }
+
+    public CommentListMessage toListMessage(List<CommentCassandraDTO> commentCassandraDTOs) {
+        CommentListMessage.Builder builder = CommentListMessage.newBuilder();
+        commentCassandraDTOs.forEach(commentCassandraDTO -> builder.addComments(toMessage(commentCassandraDTO)));
+        return builder.build();
+    }
+
+    public CommentCassandraDTO toDTO(CommentMessage message) {
+        CommentCassandraDTO commentCassandraDTO = new CommentCassandraDTO();
+        commentCassandraDTO.setCountry(message.hasCountry() ? message.getCountry() : null);
+        commentCassandraDTO.setId(message.hasId() ? message.getId() : null);
+        commentCassandraDTO.setTweetId(message.hasTweetId() ? message.getTweetId() : null);
+        commentCassandraDTO.setContent(message.hasContent() ? message.getContent() : null);
+        return commentCassandraDTO;
+    }
+
+    public List<CommentCassandraDTO> toDTOs(CommentListMessage message) {
+        return message.getCommentsList().stream()
+                .map(this::toDTO)
+                .toList();
+    }
+}
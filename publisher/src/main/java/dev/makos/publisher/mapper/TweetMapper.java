@@ -9,6 +9,7 @@ import org.mapstruct.Mapping;
 public interface TweetMapper {
 
     @Mapping(target = "creatorId", source = "creator.id")
+    @Mapping(target = "commentCount", ignore = true)
     TweetDTO toDTO(Tweet tweet);
 
     @Mapping(target = "createdAt", ignore = true)
@@ -0,0 +1,26 @@
+package dev.makos.publisher.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static io.swagger.v3.oas.annotations.media.Schema.RequiredMode.REQUIRED;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CommentBatchDTO {
+
+    @Schema(description = "Comments to create or update", requiredMode = REQUIRED)
+    @Valid
+    @NotEmpty(message = "Comments are required")
+    @Size(max = 1000, message = "Batch must contain at most 1000 comments")
+    private List<CommentDTO> comments;
+
+}
@@ -0,0 +1,16 @@
+package dev.makos.publisher.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CommentCassandraBatchDTO {
+
+    private List<CommentCassandraDTO> comments;
+
+}
@@ -0,0 +1,18 @@
+package dev.makos.publisher.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CommentCassandraPageDTO {
+
+    private List<CommentCassandraDTO> comments;
+
+    private String next;
+
+}
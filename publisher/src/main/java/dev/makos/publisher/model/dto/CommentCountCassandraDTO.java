@@ -0,0 +1,16 @@
+package dev.makos.publisher.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CommentCountCassandraDTO {
+
+    private Long tweetId;
+
+    private long count;
+
+}
@@ -0,0 +1,23 @@
+package dev.makos.publisher.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static io.swagger.v3.oas.annotations.media.Schema.RequiredMode.REQUIRED;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CommentPageDTO {
+
+    @Schema(description = "Comments of this page", requiredMode = REQUIRED)
+    private List<CommentDTO> comments;
+
+    @Schema(description = "Cursor of the next page, absent on the last page", example = "AAgAAAAAAAAAAQ")
+    private String next;
+
+}
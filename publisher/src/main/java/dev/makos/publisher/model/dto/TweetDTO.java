@@ -30,4 +30,7 @@ public class TweetDTO {
     @Min(value = 1, message = "Creator ID must be greater than 0")
     private Long creatorId;
 
+    @Schema(description = "Number of comments, present only when requested", example = "3")
+    private Long commentCount;
+
 }
@@ -0,0 +1,13 @@
+package dev.makos.publisher.repository;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Async variant of {@link CommentRepository} for calls that can overlap with local lookups.
+ * Returned comments carry only the tweet id, resolving the tweet is left to the caller.
+ */
+public interface AsyncCommentRepository {
+
+    CompletableFuture<CommentPage> findPageByTweet(Long tweetId, int limit, String cursor);
+
+}
@@ -0,0 +1,67 @@
+package dev.makos.publisher.repository;
+
+import dev.makos.publisher.exception.CustomException;
+import dev.makos.publisher.mapper.CommentMapper;
+import dev.makos.publisher.model.dto.CommentCassandraPageDTO;
+import dev.makos.publisher.util.ErrorMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@RequiredArgsConstructor
+@Repository
+public class AsyncCommentRepositoryImpl implements AsyncCommentRepository {
+
+    private static final String COUNTRY = "KZ";
+
+    private final CommentMapper commentMapper;
+    private final RestClient discussionRestClient;
+    private final DiscussionCallExecutor discussionCallExecutor;
+
+    @Override
+    public CompletableFuture<CommentPage> findPageByTweet(Long tweetId, int limit, String cursor) {
+        return discussionCallExecutor.executeHedgedAsync("find-page-by-tweet", () -> discussionRestClient.get()
+                        .uri(uriBuilder -> uriBuilder
+                                .path("/api/v1.0/comments")
+                                .queryParam("country", COUNTRY)
+                                .queryParam("tweetId", tweetId)
+                                .queryParam("limit", limit)
+                                .queryParamIfPresent("next", Optional.ofNullable(cursor))
+                                .build())
+                        .retrieve()
+                        .body(CommentCassandraPageDTO.class))
+                .handle((page, e) -> {
+                    if (e != null) {
+                        throw translate(e instanceof CompletionException ? e.getCause() : e);
+                    }
+                    return toPage(page);
+                });
+    }
+
+    private CommentPage toPage(CommentCassandraPageDTO page) {
+        if (page == null || page.getComments() == null) {
+            return new CommentPage(List.of(), null);
+        }
+
+        return new CommentPage(page.getComments().stream()
+                .map(commentMapper::toEntity)
+                .toList(), page.getNext());
+    }
+
+    private static CompletionException translate(Throwable e) {
+        if (e instanceof HttpClientErrorException.BadRequest) {
+            return new CompletionException(CustomException.builder()
+                    .message(ErrorMessage.INVALID_CURSOR.getText())
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .build());
+        }
+        return new CompletionException(e);
+    }
+}
@@ -0,0 +1,120 @@
+package dev.makos.publisher.repository;
+
+import dev.makos.publisher.config.DiscussionProperties;
+import dev.makos.publisher.model.dto.CommentCassandraDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects comment lookups that arrive within a short window and resolves them with one multi-get call.
+ * A batch is sent when the window closes or when it reaches the maximum size, whichever comes first.
+ */
+@Component
+public class CommentBatchLoader {
+
+    private static final String OPERATION = "find-all-by-ids";
+
+    private final RestClient discussionRestClient;
+    private final DiscussionCallExecutor discussionCallExecutor;
+    private final DiscussionProperties.Batching batching;
+    private final DistributionSummary batchSizes;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("comment-batch-loader").daemon().factory());
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+    private final Object lock = new Object();
+    private Map<Long, CompletableFuture<Optional<CommentCassandraDTO>>> pending = new LinkedHashMap<>();
+
+    public CommentBatchLoader(RestClient discussionRestClient,
+                              DiscussionCallExecutor discussionCallExecutor,
+                              MeterRegistry meterRegistry,
+                              DiscussionProperties properties) {
+        this.discussionRestClient = discussionRestClient;
+        this.discussionCallExecutor = discussionCallExecutor;
+        this.batching = properties.getBatching();
+        this.batchSizes = DistributionSummary.builder("discussion.client.batch.size")
+                .tag("operation", OPERATION)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<Optional<CommentCassandraDTO>> load(Long id) {
+        CompletableFuture<Optional<CommentCassandraDTO>> result;
+        Map<Long, CompletableFuture<Optional<CommentCassandraDTO>>> full = null;
+        synchronized (lock) {
+            result = pending.get(id);
+            if (result != null) {
+                return result;
+            }
+
+            result = new CompletableFuture<>();
+            pending.put(id, result);
+            if (pending.size() >= batching.getMaxBatchSize()) {
+                full = pending;
+                pending = new LinkedHashMap<>();
+            } else if (pending.size() == 1) {
+                Map<Long, CompletableFuture<Optional<CommentCassandraDTO>>> batch = pending;
+                scheduler.schedule(() -> flush(batch), batching.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (full != null) {
+            dispatch(full);
+        }
+        return result;
+    }
+
+    private void flush(Map<Long, CompletableFuture<Optional<CommentCassandraDTO>>> batch) {
+        synchronized (lock) {
+            if (pending != batch) {
+                return;
+            }
+            pending = new LinkedHashMap<>();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<Long, CompletableFuture<Optional<CommentCassandraDTO>>> batch) {
+        batchSizes.record(batch.size());
+        dispatcher.execute(() -> {
+            try {
+                List<CommentCassandraDTO> found = discussionCallExecutor.executeHedged(OPERATION,
+                        () -> discussionRestClient.get()
+                                .uri(uriBuilder -> uriBuilder
+                                        .path("/api/v1.0/comments")
+                                        .queryParam("ids", batch.keySet())
+                                        .build())
+                                .retrieve()
+                                .body(new ParameterizedTypeReference<List<CommentCassandraDTO>>() {
+                                }));
+
+                Map<Long, CommentCassandraDTO> foundById = HashMap.newHashMap(batch.size());
+                if (found != null) {
+                    found.forEach(dto -> foundById.put(dto.getId(), dto));
+                }
+                batch.forEach((id, result) -> result.complete(Optional.ofNullable(foundById.get(id))));
+            } catch (RuntimeException e) {
+                batch.values().forEach(result -> result.completeExceptionally(e));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+}
@@ -0,0 +1,11 @@
+package dev.makos.publisher.repository;
+
+import dev.makos.publisher.model.entity.Comment;
+
+import java.util.List;
+
+/**
+ * One page of comments and the opaque cursor of the following page, {@code null} on the last page.
+ */
+public record CommentPage(List<Comment> comments, String next) {
+}
@@ -2,13 +2,20 @@ package dev.makos.publisher.repository;
 
 import dev.makos.publisher.model.entity.Comment;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CommentRepository {
 
     Comment save(Comment comment);
 
+    List<Comment> saveAll(List<Comment> comments);
+
+    Comment update(Comment comment, boolean moveTweet);
+
     Optional<Comment> findById(Long id);
 
     boolean existsById(Long id);
@@ -17,4 +24,13 @@ public interface CommentRepository {
 
     List<Comment> findAll();
 
+    CommentPage findPage(int limit, String cursor);
+
+    Stream<Comment> streamAll();
+
+    /**
+     * Comment counts of the given tweets, zero for tweets without comments.
+     */
+    Map<Long, Long> countByTweetIds(Collection<Long> tweetIds);
+
 }
@@ -1,125 +1,508 @@
 package dev.makos.publisher.repository;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.makos.publisher.config.DiscussionProperties;
+import dev.makos.publisher.exception.CommentTweetChangedException;
+import dev.makos.publisher.exception.CustomException;
+import dev.makos.publisher.exception.DeadlineExceededException;
+import dev.makos.publisher.exception.DiscussionUnavailableException;
 import dev.makos.publisher.mapper.CommentMapper;
+import dev.makos.publisher.model.dto.CommentCassandraBatchDTO;
 import dev.makos.publisher.model.dto.CommentCassandraDTO;
+import dev.makos.publisher.model.dto.CommentCassandraPageDTO;
+import dev.makos.publisher.model.dto.CommentCountCassandraDTO;
 import dev.makos.publisher.model.entity.Comment;
 import dev.makos.publisher.model.entity.Tweet;
-import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import dev.makos.publisher.util.Deadline;
+import dev.makos.publisher.util.ErrorMessage;
+import dev.makos.publisher.util.StaleResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Repository;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.util.UriBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static java.util.stream.Collectors.joining;
 
-@RequiredArgsConstructor
 @Repository
 public class CommentRepositoryImpl implements CommentRepository {
 
     private static final String COUNTRY = "KZ";
+    private static final int TWEET_ID_CHUNK_SIZE = 1000;
+    private static final int STREAM_CHUNK_SIZE = 1000;
+    // 200 ids of up to 19 digits keep the request line of a count lookup under 4 KB
+    private static final int COUNT_CHUNK_SIZE = 200;
+    private static final ResponseErrorHandler ERROR_HANDLER = new DefaultResponseErrorHandler();
 
     private final CommentMapper commentMapper;
     private final TweetRepository tweetRepository;
+    private final RestClient discussionRestClient;
+    private final DiscussionCallExecutor discussionCallExecutor;
+    private final CommentBatchLoader commentBatchLoader;
+    private final DiscussionProperties.Batching batching;
+    private final ObjectReader commentReader;
+    private final DiscussionProperties.Coalescing coalescing;
+    private final Counter coalescingLeaders;
+    private final Counter coalescingFollowers;
+    private final Counter coalescingBypasses;
+    private final ConcurrentMap<Long, CompletableFuture<CommentLookup>> inFlightLookups = new ConcurrentHashMap<>();
+    private final Cache<Long, Comment> lastComments;
+    private final long maxLastListSize;
+    private volatile List<Comment> lastCommentList;
 
-    @Value("${discussion.url}")
-    private String url;
+    public CommentRepositoryImpl(CommentMapper commentMapper,
+                                 TweetRepository tweetRepository,
+                                 RestClient discussionRestClient,
+                                 DiscussionCallExecutor discussionCallExecutor,
+                                 CommentBatchLoader commentBatchLoader,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 DiscussionProperties properties) {
+        this.commentMapper = commentMapper;
+        this.tweetRepository = tweetRepository;
+        this.discussionRestClient = discussionRestClient;
+        this.discussionCallExecutor = discussionCallExecutor;
+        this.commentBatchLoader = commentBatchLoader;
+        this.batching = properties.getBatching();
+        this.commentReader = objectMapper.readerFor(CommentCassandraDTO.class);
+        this.coalescing = properties.getCoalescing();
+        this.coalescingLeaders = coalescingCounter(meterRegistry, "leader");
+        this.coalescingFollowers = coalescingCounter(meterRegistry, "follower");
+        this.coalescingBypasses = coalescingCounter(meterRegistry, "bypass");
+        Gauge.builder("discussion.client.coalescing.ratio", this, CommentRepositoryImpl::coalescingRatio)
+                .tag("operation", "find-by-id")
+                .register(meterRegistry);
+        this.maxLastListSize = properties.getFallback().getMaxEntries();
+        this.lastComments = Caffeine.newBuilder()
+                .maximumSize(maxLastListSize)
+                .expireAfterWrite(properties.getFallback().getTtl())
+                .build();
+    }
 
     @Override
     public Comment save(Comment comment) {
         CommentCassandraDTO body = commentMapper.toCassandraDTO(comment);
         body.setCountry(COUNTRY);
 
+        CommentCassandraDTO dto = discussionCallExecutor.execute("save", () -> discussionRestClient.post()
+                .uri("/api/v1.0/comments")
+                .body(body)
+                .retrieve()
+                .body(CommentCassandraDTO.class));
+
+        return cacheSaved(dto, comment);
+    }
 
+    @Override
+    public Comment update(Comment comment, boolean moveTweet) {
+        CommentCassandraDTO body = commentMapper.toCassandraDTO(comment);
+        body.setCountry(COUNTRY);
 
         try {
-            RestClient restClient = RestClient.create();
-            RestClient.RequestBodyUriSpec method = comment.getId() == null ? restClient.post(): restClient.put();
-            CommentCassandraDTO dto = method
-                    .uri(url + "/api/v1.0/comments")
-                    .contentType(APPLICATION_JSON)
+            CommentCassandraDTO dto = discussionCallExecutor.execute("update", () -> discussionRestClient.put()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/api/v1.0/comments")
+                            .queryParam("moveTweet", moveTweet)
+                            .build())
                     .body(body)
                     .retrieve()
-                    .body(CommentCassandraDTO.class);
+                    .body(CommentCassandraDTO.class));
 
-            Comment entity = commentMapper.toEntity(dto);
+            return cacheSaved(dto, comment);
+        } catch (HttpClientErrorException.NotFound e) {
+            lastComments.invalidate(comment.getId());
+            throw CustomException.builder()
+                    .message(ErrorMessage.COMMENT_NOT_FOUND.getText())
+                    .httpStatus(HttpStatus.NOT_FOUND)
+                    .build();
+        } catch (HttpClientErrorException.Conflict e) {
+            throw new CommentTweetChangedException(comment.getId());
+        }
+    }
 
-            if (dto != null) {
-                entity.setTweet(comment.getTweet());
-            }
+    private Comment cacheSaved(CommentCassandraDTO dto, Comment comment) {
+        Comment entity = commentMapper.toEntity(dto);
 
-            return entity;
-        } catch (RestClientResponseException e) {
-            return comment;
+        if (dto != null) {
+            entity.setTweet(comment.getTweet());
+            lastComments.put(entity.getId(), entity.toBuilder().build());
         }
+
+        return entity;
     }
 
     @Override
-    public Optional<Comment> findById(Long id) {
+    public List<Comment> saveAll(List<Comment> comments) {
+        List<CommentCassandraDTO> body = comments.stream()
+                .map(commentMapper::toCassandraDTO)
+                .toList();
+        body.forEach(dto -> dto.setCountry(COUNTRY));
+
         try {
-            CommentCassandraDTO dto = RestClient.create().get()
-                    .uri(url + "/api/v1.0/comments/{id}", id)
-                    .accept(APPLICATION_JSON)
+            CommentCassandraBatchDTO saved = discussionCallExecutor.execute("save-all", () -> discussionRestClient.post()
+                    .uri("/api/v1.0/comments/batch")
+                    .body(new CommentCassandraBatchDTO(body))
                     .retrieve()
-                    .body(CommentCassandraDTO.class);
+                    .body(CommentCassandraBatchDTO.class));
 
-            Comment entity = commentMapper.toEntity(dto);
+            if (saved == null || saved.getComments() == null) {
+                return List.of();
+            }
+
+            return saved.getComments().stream()
+                    .map(commentMapper::toEntity)
+                    .toList();
+        } catch (HttpClientErrorException.NotFound e) {
+            throw CustomException.builder()
+                    .message(ErrorMessage.COMMENT_NOT_FOUND.getText())
+                    .httpStatus(HttpStatus.NOT_FOUND)
+                    .build();
+        } catch (HttpClientErrorException.Conflict e) {
+            throw CustomException.builder()
+                    .message(ErrorMessage.COMMENT_TWEET_CHANGED.getText())
+                    .httpStatus(HttpStatus.CONFLICT)
+                    .build();
+        }
+    }
+
+    @Override
+    public Optional<Comment> findById(Long id) {
+        CommentLookup lookup = coalescing.isEnabled() ? coalesceFetchById(id) : fetchById(id);
+        if (lookup.stale()) {
+            StaleResponse.mark();
+        }
+        return lookup.comment().map(comment -> comment.toBuilder().build());
+    }
+
+    private CommentLookup coalesceFetchById(Long id) {
+        if (inFlightLookups.size() >= coalescing.getMaxInFlight()) {
+            coalescingBypasses.increment();
+            return fetchById(id);
+        }
 
-            if (dto != null && dto.getTweetId() != null) {
-                Optional<Tweet> tweet = tweetRepository.findById(dto.getTweetId());
-                tweet.ifPresent(entity::setTweet);
+        CompletableFuture<CommentLookup> lookup = new CompletableFuture<>();
+        CompletableFuture<CommentLookup> inFlight = inFlightLookups.putIfAbsent(id, lookup);
+        if (inFlight != null) {
+            coalescingFollowers.increment();
+            return join(inFlight, coalescing.getMaxWait());
+        }
+
+        coalescingLeaders.increment();
+        try {
+            CommentLookup result = fetchById(id);
+            lookup.complete(result);
+            return result;
+        } catch (Throwable e) {
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLookups.remove(id, lookup);
+        }
+    }
+
+    private CommentLookup fetchById(Long id) {
+        Optional<CommentCassandraDTO> dto;
+        try {
+            dto = batching.isEnabled() ? join(commentBatchLoader.load(id), null) : fetchOne(id);
+        } catch (HttpClientErrorException.NotFound e) {
+            dto = Optional.empty();
+        } catch (DiscussionUnavailableException e) {
+            Comment stale = lastComments.getIfPresent(id);
+            discussionCallExecutor.recordFallback("find-by-id", stale != null);
+            if (stale == null) {
+                throw e;
             }
+            return new CommentLookup(Optional.of(stale), true);
+        }
+
+        if (dto.isEmpty()) {
+            lastComments.invalidate(id);
+            return new CommentLookup(Optional.empty(), false);
+        }
+
+        Comment entity = commentMapper.toEntity(dto.get());
+
+        if (dto.get().getTweetId() != null) {
+            Optional<Tweet> tweet = tweetRepository.findById(dto.get().getTweetId());
+            tweet.ifPresent(entity::setTweet);
+        }
 
-            return Optional.of(entity);
-        } catch (RestClientResponseException e) {
-            return Optional.empty();
+        lastComments.put(id, entity);
+        return new CommentLookup(Optional.of(entity), false);
+    }
+
+    private Optional<CommentCassandraDTO> fetchOne(Long id) {
+        return Optional.ofNullable(discussionCallExecutor.executeHedged("find-by-id", () -> discussionRestClient.get()
+                .uri("/api/v1.0/comments/{id}", id)
+                .retrieve()
+                .body(CommentCassandraDTO.class)));
+    }
+
+    /**
+     * Waits until the request deadline, and at most {@code maxWait} when one is given.
+     */
+    private static <T> T join(CompletableFuture<T> future, Duration maxWait) {
+        Deadline deadline = Deadline.current();
+        Duration wait = deadline == null ? maxWait : deadline.remaining();
+        if (maxWait != null && wait.compareTo(maxWait) > 0) {
+            wait = maxWait;
         }
+        try {
+            return wait == null ? future.get() : future.get(wait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new DiscussionUnavailableException("find-by-id", e.getCause());
+        } catch (TimeoutException e) {
+            if (deadline == null || !deadline.isExpired()) {
+                throw new DiscussionUnavailableException("find-by-id", e);
+            }
+            throw new DeadlineExceededException("find-by-id", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DiscussionUnavailableException("find-by-id", e);
+        }
+    }
+
+    private double coalescingRatio() {
+        double lookups = coalescingLeaders.count() + coalescingFollowers.count() + coalescingBypasses.count();
+        return lookups == 0 ? 0 : coalescingFollowers.count() / lookups;
+    }
+
+    private static Counter coalescingCounter(MeterRegistry meterRegistry, String role) {
+        return meterRegistry.counter("discussion.client.coalescing", "operation", "find-by-id", "role", role);
     }
 
     @Override
     public boolean existsById(Long id) {
-        return findById(id).isPresent();
+        try {
+            discussionCallExecutor.execute("exists-by-id", () -> discussionRestClient.head()
+                    .uri("/api/v1.0/comments/{id}", id)
+                    .retrieve()
+                    .toBodilessEntity());
+            return true;
+        } catch (HttpClientErrorException.NotFound e) {
+            return false;
+        }
     }
 
     @Override
     public void deleteById(Long id) {
-        RestClient.create().delete()
-                .uri(url + "/api/v1.0/comments/{id}", id)
+        discussionCallExecutor.execute("delete-by-id", () -> discussionRestClient.delete()
+                .uri("/api/v1.0/comments/{id}", id)
                 .retrieve()
-                .toBodilessEntity();
+                .toBodilessEntity());
+        lastComments.invalidate(id);
     }
 
     @Override
     public List<Comment> findAll() {
+        List<CommentCassandraDTO> commentDTOs;
         try {
-            List<CommentCassandraDTO> commentDTOs = RestClient.create().get()
-                    .uri(url + "/api/v1.0/comments")
-                    .accept(APPLICATION_JSON)
+            commentDTOs = discussionCallExecutor.executeHedged("find-all", () -> discussionRestClient.get()
+                    .uri("/api/v1.0/comments")
                     .retrieve()
                     .body(new ParameterizedTypeReference<>() {
-                    });
-
-            if (commentDTOs == null) {
-                return List.of();
+                    }));
+        } catch (DiscussionUnavailableException e) {
+            List<Comment> stale = lastCommentList;
+            discussionCallExecutor.recordFallback("find-all", stale != null);
+            if (stale == null) {
+                throw e;
             }
+            StaleResponse.mark();
+            return stale;
+        }
 
-            List<Comment> comments = commentDTOs.stream()
-                    .map(commentMapper::toEntity)
-                    .toList();
+        if (commentDTOs == null) {
+            return List.of();
+        }
+
+        List<Comment> comments = commentDTOs.stream()
+                .map(commentMapper::toEntity)
+                .toList();
+
+        hydrateTweets(comments);
+        lastCommentList = comments.size() <= maxLastListSize ? comments : null;
+        return comments;
+    }
 
-            for (Comment comment : comments) {
-                if (comment.getTweet() != null && comment.getTweet().getId() != null) {
-                    Optional<Tweet> tweet = tweetRepository.findById(comment.getTweet().getId());
-                    tweet.ifPresent(comment::setTweet);
+    @Override
+    public CommentPage findPage(int limit, String cursor) {
+        CommentPage page = fetchPage("find-page", uriBuilder -> uriBuilder
+                .path("/api/v1.0/comments")
+                .queryParam("limit", limit)
+                .queryParamIfPresent("next", Optional.ofNullable(cursor))
+                .build());
+
+        hydrateTweets(page.comments());
+        return page;
+    }
+
+    private CommentPage fetchPage(String operation, Function<UriBuilder, URI> uri) {
+        CommentCassandraPageDTO page;
+        try {
+            page = discussionCallExecutor.executeHedged(operation, () -> discussionRestClient.get()
+                    .uri(uri)
+                    .retrieve()
+                    .body(CommentCassandraPageDTO.class));
+        } catch (HttpClientErrorException.BadRequest e) {
+            throw CustomException.builder()
+                    .message(ErrorMessage.INVALID_CURSOR.getText())
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .build();
+        }
+
+        if (page == null || page.getComments() == null) {
+            return new CommentPage(List.of(), null);
+        }
+
+        return new CommentPage(page.getComments().stream()
+                .map(commentMapper::toEntity)
+                .toList(), page.getNext());
+    }
+
+    @Override
+    public Stream<Comment> streamAll() {
+        ClientHttpResponse response = discussionCallExecutor.execute("stream-all", () -> discussionRestClient.get()
+                .uri("/api/v1.0/comments")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange((request, clientResponse) -> requireSuccess(clientResponse), false));
+
+        try {
+            MappingIterator<CommentCassandraDTO> commentDTOs = commentReader.readValues(response.getBody());
+            Iterator<List<Comment>> chunks = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return commentDTOs.hasNext();
+                }
+
+                @Override
+                public List<Comment> next() {
+                    List<Comment> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+                    while (chunk.size() < STREAM_CHUNK_SIZE && commentDTOs.hasNext()) {
+                        chunk.add(commentMapper.toEntity(commentDTOs.next()));
+                    }
+                    hydrateTweets(chunk);
+                    return chunk;
                 }
+            };
+
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED), false)
+                    .onClose(response::close)
+                    .flatMap(List::stream);
+        } catch (IOException e) {
+            response.close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Map<Long, Long> countByTweetIds(Collection<Long> tweetIds) {
+        List<Long> ids = tweetIds.stream()
+                .distinct()
+                .toList();
+
+        Map<Long, Long> counts = HashMap.newHashMap(ids.size());
+        for (int from = 0; from < ids.size(); from += COUNT_CHUNK_SIZE) {
+            String chunk = ids.subList(from, Math.min(from + COUNT_CHUNK_SIZE, ids.size())).stream()
+                    .map(String::valueOf)
+                    .collect(joining(","));
+            List<CommentCountCassandraDTO> countDTOs = discussionCallExecutor.executeHedged("count-by-tweet-ids",
+                    () -> discussionRestClient.get()
+                            .uri(uriBuilder -> uriBuilder
+                                    .path("/api/v1.0/comments/counts")
+                                    .queryParam("tweetIds", chunk)
+                                    .build())
+                            .retrieve()
+                            .body(new ParameterizedTypeReference<>() {
+                            }));
+
+            if (countDTOs != null) {
+                countDTOs.forEach(countDTO -> counts.put(countDTO.getTweetId(), countDTO.getCount()));
+            }
+        }
+        return counts;
+    }
+
+    private static ClientHttpResponse requireSuccess(ClientHttpResponse response) throws IOException {
+        if (ERROR_HANDLER.hasError(response)) {
+            try (response) {
+                ERROR_HANDLER.handleError(response);
             }
+        }
+        return response;
+    }
 
-            return comments;
-        } catch (RestClientResponseException e) {
-            return List.of();
+    private void hydrateTweets(List<Comment> comments) {
+        List<Long> tweetIds = comments.stream()
+                .map(Comment::getTweet)
+                .filter(tweet -> tweet != null && tweet.getId() != null)
+                .map(Tweet::getId)
+                .distinct()
+                .toList();
+
+        Map<Long, Tweet> tweetsById = HashMap.newHashMap(tweetIds.size());
+        for (int from = 0; from < tweetIds.size(); from += TWEET_ID_CHUNK_SIZE) {
+            List<Long> chunk = tweetIds.subList(from, Math.min(from + TWEET_ID_CHUNK_SIZE, tweetIds.size()));
+            for (Tweet tweet : tweetRepository.findAllByIdIn(chunk)) {
+                tweetsById.put(tweet.getId(), tweet);
+            }
         }
+
+        for (Comment comment : comments) {
+            if (comment.getTweet() != null) {
+                Tweet tweet = tweetsById.get(comment.getTweet().getId());
+                if (tweet != null) {
+                    comment.setTweet(tweet);
+                }
+            }
+        }
+    }
+
+    /**
+     * A lookup is shared by coalesced callers and its comment is stored in the fallback cache, so callers only
+     * ever receive copies of it.
+     */
+    private record CommentLookup(Optional<Comment> comment, boolean stale) {
     }
 }
@@ -0,0 +1,293 @@
+package dev.makos.publisher.repository;
+
+import dev.makos.publisher.config.DiscussionClientMetrics;
+import dev.makos.publisher.config.DiscussionProperties;
+import dev.makos.publisher.exception.DeadlineExceededException;
+import dev.makos.publisher.exception.DiscussionUnavailableException;
+import dev.makos.publisher.util.Deadline;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs blocking discussion calls behind a bulkhead, a circuit breaker and a per-operation time limit.
+ * Calls run on virtual threads so a timed out call is interrupted instead of holding the caller.
+ * Idempotent reads may be hedged: a second attempt is sent when the first is slower than the hedge delay.
+ * A bound request {@link Deadline} shortens the time limit, and calls are not sent once it has passed.
+ * Every call is timed per operation and outcome, including the time spent waiting for the bulkhead.
+ * Async variants run the same guarded call on a virtual thread and keep the caller's deadline.
+ */
+@Component
+public class DiscussionCallExecutor {
+
+    public static final String DISCUSSION = "discussion";
+
+    private static final double HEDGE_PERCENTILE = 0.95;
+    private static final long HEDGE_TOKEN = 1000;
+    private static final long HEDGE_BURST = 10 * HEDGE_TOKEN;
+
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final MeterRegistry meterRegistry;
+    private final DiscussionProperties.Hedging hedging;
+    private final AtomicLong hedgeTokens = new AtomicLong();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DiscussionCallExecutor(BulkheadRegistry bulkheadRegistry,
+                                  CircuitBreakerRegistry circuitBreakerRegistry,
+                                  TimeLimiterRegistry timeLimiterRegistry,
+                                  MeterRegistry meterRegistry,
+                                  DiscussionProperties properties) {
+        this.bulkhead = bulkheadRegistry.bulkhead(DISCUSSION);
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(DISCUSSION);
+        this.timeLimiterRegistry = timeLimiterRegistry;
+        this.meterRegistry = meterRegistry;
+        this.hedging = properties.getHedging();
+    }
+
+    public <T> T executeHedged(String operation, Callable<T> call) {
+        if (!hedging.isEnabled()) {
+            return execute(operation, call);
+        }
+        Callable<T> tagged = DiscussionClientMetrics.tagged(operation, call);
+        return execute(operation, () -> hedge(operation, tagged));
+    }
+
+    public <T> CompletableFuture<T> executeHedgedAsync(String operation, Callable<T> call) {
+        Callable<T> propagated = Deadline.propagate(() -> executeHedged(operation, call));
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(propagated.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    public <T> T execute(String operation, Callable<T> call) {
+        long start = System.nanoTime();
+        String outcome = "UNKNOWN";
+        try {
+            T result = guarded(operation, DiscussionClientMetrics.tagged(operation, call));
+            outcome = "SUCCESS";
+            return result;
+        } catch (HttpClientErrorException e) {
+            outcome = "CLIENT_ERROR";
+            throw e;
+        } catch (DiscussionUnavailableException e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            Timer.builder("discussion.client.calls")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> T guarded(String operation, Callable<T> call) {
+        Deadline deadline = Deadline.current();
+        if (deadline != null && deadline.isExpired()) {
+            reject(operation, "deadline_exceeded");
+            throw new DeadlineExceededException(operation, null);
+        }
+
+        Callable<T> limited = timeLimited(operation, deadline, Deadline.propagate(call));
+        Callable<T> guarded = Bulkhead.decorateCallable(bulkhead,
+                CircuitBreaker.decorateCallable(circuitBreaker, limited));
+
+        try {
+            return guarded.call();
+        } catch (HttpClientErrorException | DiscussionUnavailableException e) {
+            throw e;
+        } catch (BulkheadFullException e) {
+            reject(operation, "bulkhead_full");
+            throw new DiscussionUnavailableException(operation, e);
+        } catch (CallNotPermittedException e) {
+            reject(operation, "circuit_open");
+            throw new DiscussionUnavailableException(operation, e);
+        } catch (RestClientException | TimeoutException e) {
+            throw new DiscussionUnavailableException(operation, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DiscussionUnavailableException(operation, e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DiscussionUnavailableException(operation, e);
+        }
+    }
+
+    private static String outcome(DiscussionUnavailableException e) {
+        if (e instanceof DeadlineExceededException) {
+            return "DEADLINE_EXCEEDED";
+        }
+        return switch (e.getCause()) {
+            case BulkheadFullException ignored -> "REJECTED";
+            case CallNotPermittedException ignored -> "REJECTED";
+            case TimeoutException ignored -> "TIMEOUT";
+            case HttpServerErrorException ignored -> "SERVER_ERROR";
+            case null, default -> "IO_ERROR";
+        };
+    }
+
+    private <T> Callable<T> timeLimited(String operation, Deadline deadline, Callable<T> call) {
+        TimeLimiter timeLimiter = timeLimiterRegistry.timeLimiter(DISCUSSION + "-" + operation);
+        TimeLimiterConfig config = timeLimiter.getTimeLimiterConfig();
+        if (deadline == null || deadline.remaining().compareTo(config.getTimeoutDuration()) >= 0) {
+            return timeLimiter.decorateFutureSupplier(() -> executor.submit(call));
+        }
+
+        Callable<T> limited = TimeLimiter.of(TimeLimiterConfig.from(config)
+                        .timeoutDuration(deadline.remaining())
+                        .build())
+                .decorateFutureSupplier(() -> executor.submit(call));
+        return () -> {
+            try {
+                return limited.call();
+            } catch (TimeoutException e) {
+                throw new DeadlineExceededException(operation, e);
+            }
+        };
+    }
+
+    private <T> T hedge(String operation, Callable<T> call) throws Exception {
+        long deposit = hedging.getBudgetPercent() * HEDGE_TOKEN / 100;
+        hedgeTokens.updateAndGet(tokens -> Math.min(HEDGE_BURST, tokens + deposit));
+        Timer latency = Timer.builder("discussion.client.attempts")
+                .tag("operation", operation)
+                .publishPercentiles(HEDGE_PERCENTILE)
+                .register(meterRegistry);
+
+        CompletionService<T> attempts = new ExecutorCompletionService<>(executor);
+        List<Future<T>> futures = new ArrayList<>(2);
+        try {
+            Future<T> primary = attempts.submit(Deadline.propagate(timed(latency, call)));
+            futures.add(primary);
+            if (attempts.poll(hedgeDelay(latency).toNanos(), TimeUnit.NANOSECONDS) != null || !withdrawHedgeToken()) {
+                return result(primary);
+            }
+
+            meterRegistry.counter("discussion.client.hedges.sent", "operation", operation).increment();
+            Future<T> hedge = attempts.submit(Deadline.propagate(timed(latency, call)));
+            futures.add(hedge);
+
+            ExecutionException failure = null;
+            for (int i = 0; i < futures.size(); i++) {
+                Future<T> done = attempts.take();
+                try {
+                    T result = done.get();
+                    if (done == hedge) {
+                        meterRegistry.counter("discussion.client.hedges.won", "operation", operation).increment();
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            throw cause(failure);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Duration hedgeDelay(Timer latency) {
+        if (hedging.isAdaptive() && latency.count() >= hedging.getMinSamples()) {
+            for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+                if (percentile.percentile() == HEDGE_PERCENTILE) {
+                    Duration p95 = Duration.ofNanos((long) percentile.value(TimeUnit.NANOSECONDS));
+                    return p95.compareTo(hedging.getMinDelay()) > 0 ? p95 : hedging.getMinDelay();
+                }
+            }
+        }
+        return hedging.getDelay();
+    }
+
+    private boolean withdrawHedgeToken() {
+        long tokens;
+        do {
+            tokens = hedgeTokens.get();
+            if (tokens < HEDGE_TOKEN) {
+                return false;
+            }
+        } while (!hedgeTokens.compareAndSet(tokens, tokens - HEDGE_TOKEN));
+        return true;
+    }
+
+    private static <T> Callable<T> timed(Timer latency, Callable<T> call) {
+        return () -> {
+            long start = System.nanoTime();
+            T result = call.call();
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        };
+    }
+
+    private static <T> T result(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw cause(e);
+        }
+    }
+
+    private static Exception cause(ExecutionException e) {
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return e.getCause() instanceof Exception cause ? cause : e;
+    }
+
+    public void recordFallback(String operation, boolean stale) {
+        meterRegistry.counter("discussion.client.fallbacks",
+                "operation", operation,
+                "result", stale ? "stale" : "miss").increment();
+    }
+
+    private void reject(String operation, String reason) {
+        meterRegistry.counter("discussion.client.rejections",
+                "operation", operation,
+                "reason", reason).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
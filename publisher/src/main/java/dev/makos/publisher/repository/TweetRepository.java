@@ -1,10 +1,16 @@
 package dev.makos.publisher.repository;
 
 import dev.makos.publisher.model.entity.Tweet;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface TweetRepository extends JpaRepository<Tweet, Long> {
@@ -13,4 +19,10 @@ public interface TweetRepository extends JpaRepository<Tweet, Long> {
 
     Optional<Tweet> findTweetByTitle(String title);
 
+    @EntityGraph(attributePaths = {"creator", "stickers"})
+    List<Tweet> findAllByIdIn(Collection<Long> ids);
+
+    @Query("SELECT t.id FROM Tweet t WHERE t.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
 }
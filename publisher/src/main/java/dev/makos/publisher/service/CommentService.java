@@ -1,10 +1,15 @@
 package dev.makos.publisher.service;
 
+import dev.makos.publisher.exception.CommentTweetChangedException;
 import dev.makos.publisher.exception.CustomException;
 import dev.makos.publisher.mapper.CommentMapper;
+import dev.makos.publisher.model.dto.CommentBatchDTO;
 import dev.makos.publisher.model.dto.CommentDTO;
+import dev.makos.publisher.model.dto.CommentPageDTO;
 import dev.makos.publisher.model.entity.Comment;
 import dev.makos.publisher.model.entity.Tweet;
+import dev.makos.publisher.repository.AsyncCommentRepository;
+import dev.makos.publisher.repository.CommentPage;
 import dev.makos.publisher.repository.CommentRepository;
 import dev.makos.publisher.repository.TweetRepository;
 import dev.makos.publisher.util.ErrorMessage;
@@ -14,13 +19,22 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toSet;
 
 @RequiredArgsConstructor
 @Service
 public class CommentService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final CommentMapper commentMapper;
     private final CommentRepository commentRepository;
+    private final AsyncCommentRepository asyncCommentRepository;
     private final TweetRepository tweetRepository;
 
     @Transactional
@@ -37,6 +51,32 @@ public class CommentService {
         return commentMapper.toDTO(entity);
     }
 
+    public CommentBatchDTO saveAll(CommentBatchDTO commentBatchDTO) {
+        List<CommentDTO> commentDTOs = commentBatchDTO.getComments();
+        Set<Long> tweetIds = commentDTOs.stream()
+                .map(CommentDTO::getTweetId)
+                .collect(toSet());
+
+        if (!tweetRepository.findExistingIds(tweetIds).containsAll(tweetIds)) {
+            throw CustomException.builder()
+                    .message(ErrorMessage.TWEET_NOT_FOUND.getText())
+                    .httpStatus(HttpStatus.NOT_FOUND)
+                    .build();
+        }
+
+        List<Comment> entities = commentDTOs.stream()
+                .map(commentDTO -> {
+                    Comment entity = commentMapper.toEntity(commentDTO);
+                    entity.setTweet(Tweet.builder().id(commentDTO.getTweetId()).build());
+                    return entity;
+                })
+                .toList();
+
+        return new CommentBatchDTO(commentRepository.saveAll(entities).stream()
+                .map(commentMapper::toDTO)
+                .toList());
+    }
+
     public CommentDTO getOne(Long id) {
         return commentRepository.findById(id)
                 .map(commentMapper::toDTO)
@@ -46,7 +86,6 @@ public class CommentService {
                         .build());
     }
 
-    @Transactional
     public void deleteOne(Long id) {
         if (!commentRepository.existsById(id)) {
             throw CustomException.builder()
@@ -58,27 +97,21 @@ public class CommentService {
         commentRepository.deleteById(id);
     }
 
-    @Transactional
     public CommentDTO updateOne(CommentDTO commentDTO) {
-        Comment entity = commentRepository.findById(commentDTO.getId())
-                .orElseThrow(() -> CustomException.builder()
-                        .message(ErrorMessage.COMMENT_NOT_FOUND.getText())
-                        .httpStatus(HttpStatus.NOT_FOUND)
-                        .build());
-
-        Long tweetId = entity.getTweet().getId();
+        Comment entity = commentMapper.toEntity(commentDTO);
+        entity.setTweet(Tweet.builder().id(commentDTO.getTweetId()).build());
 
-        if (!tweetId.equals(commentDTO.getTweetId())) {
+        try {
+            entity = commentRepository.update(entity, false);
+        } catch (CommentTweetChangedException e) {
             Tweet tweet = tweetRepository.findById(commentDTO.getTweetId())
                     .orElseThrow(() -> CustomException.builder()
                             .message(ErrorMessage.TWEET_NOT_FOUND.getText())
                             .httpStatus(HttpStatus.NOT_FOUND)
                             .build());
             entity.setTweet(tweet);
+            entity = commentRepository.update(entity, true);
         }
-
-        entity.setContent(commentDTO.getContent());
-        entity = commentRepository.save(entity);
         return commentMapper.toDTO(entity);
     }
 
@@ -87,4 +120,57 @@ public class CommentService {
                 .map(commentMapper::toDTO)
                 .toList();
     }
+
+    public CommentPageDTO getPage(int limit, String next) {
+        requireValidLimit(limit);
+        return toPageDTO(commentRepository.findPage(limit, next));
+    }
+
+    public CommentPageDTO getPageByTweet(Long tweetId, int limit, String next) {
+        requireValidLimit(limit);
+        CompletableFuture<CommentPage> remotePage = asyncCommentRepository.findPageByTweet(tweetId, limit, next);
+        Tweet tweet = tweetRepository.findById(tweetId)
+                .orElseThrow(() -> {
+                    remotePage.cancel(true);
+                    return CustomException.builder()
+                            .message(ErrorMessage.TWEET_NOT_FOUND.getText())
+                            .httpStatus(HttpStatus.NOT_FOUND)
+                            .build();
+                });
+
+        CommentPage page = join(remotePage);
+        page.comments().forEach(comment -> comment.setTweet(tweet));
+        return toPageDTO(page);
+    }
+
+    public Stream<CommentDTO> streamAll() {
+        return commentRepository.streamAll()
+                .map(commentMapper::toDTO);
+    }
+
+    private CommentPageDTO toPageDTO(CommentPage page) {
+        return new CommentPageDTO(page.comments().stream()
+                .map(commentMapper::toDTO)
+                .toList(), page.next());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void requireValidLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw CustomException.builder()
+                    .message(ErrorMessage.INVALID_PAGE_LIMIT.getText())
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .build();
+        }
+    }
 }
@@ -5,6 +5,7 @@ import dev.makos.publisher.mapper.TweetMapper;
 import dev.makos.publisher.model.dto.TweetDTO;
 import dev.makos.publisher.model.entity.Creator;
 import dev.makos.publisher.model.entity.Tweet;
+import dev.makos.publisher.repository.CommentRepository;
 import dev.makos.publisher.repository.CreatorRepository;
 import dev.makos.publisher.repository.TweetRepository;
 import dev.makos.publisher.util.ErrorMessage;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @Service
@@ -22,6 +24,7 @@ public class TweetService {
     private final TweetMapper tweetMapper;
     private final TweetRepository tweetRepository;
     private final CreatorRepository creatorRepository;
+    private final CommentRepository commentRepository;
 
     @Transactional
     public TweetDTO saveOne(TweetDTO tweetDTO) {
@@ -104,9 +107,17 @@ public class TweetService {
                 .isPresent();
     }
 
-    public List<TweetDTO> getAll() {
-        return tweetRepository.findAll().stream()
+    public List<TweetDTO> getAll(boolean includeCommentCount) {
+        List<TweetDTO> tweetDTOs = tweetRepository.findAll().stream()
                 .map(tweetMapper::toDTO)
                 .toList();
+
+        if (includeCommentCount && !tweetDTOs.isEmpty()) {
+            Map<Long, Long> counts = commentRepository.countByTweetIds(tweetDTOs.stream()
+                    .map(TweetDTO::getId)
+                    .toList());
+            tweetDTOs.forEach(tweetDTO -> tweetDTO.setCommentCount(counts.getOrDefault(tweetDTO.getId(), 0L)));
+        }
+        return tweetDTOs;
     }
 }
@@ -0,0 +1,64 @@
+package dev.makos.publisher.util;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+public final class Deadline {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAt;
+
+    private Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public static <T> Callable<T> propagate(Callable<T> call) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return call;
+        }
+        return () -> {
+            try (Scope ignored = deadline.bind()) {
+                return call.call();
+            }
+        };
+    }
+
+    public Scope bind() {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAt - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAt - System.nanoTime() <= 0;
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -6,10 +6,15 @@ import lombok.Getter;
 public enum ErrorMessage {
     STICKER_NOT_FOUND("Sticker not found"),
     COMMENT_NOT_FOUND("Comment not found"),
+    COMMENT_TWEET_CHANGED("Comment belongs to another tweet"),
     TWEET_NOT_FOUND("Tweet not found"),
     TWEET_TITLE_ALREADY_EXISTS("Title already exists"),
     CREATOR_NOT_FOUND("Creator not found"),
-    CREATOR_LOGIN_ALREADY_EXISTS("Login already exists");
+    CREATOR_LOGIN_ALREADY_EXISTS("Login already exists"),
+    DISCUSSION_UNAVAILABLE("Discussion service is unavailable"),
+    DEADLINE_EXCEEDED("Request deadline exceeded"),
+    INVALID_PAGE_LIMIT("Page limit must be between 1 and 1000"),
+    INVALID_CURSOR("Invalid page cursor");
 
     private final String text;
 
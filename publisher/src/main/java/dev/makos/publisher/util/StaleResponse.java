@@ -0,0 +1,27 @@
+package dev.makos.publisher.util;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+public final class StaleResponse {
+
+    public static final String WARNING = "110 - \"Response is Stale\"";
+
+    private static final String ATTRIBUTE = StaleResponse.class.getName();
+
+    private StaleResponse() {
+    }
+
+    public static void mark() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public static boolean isMarked() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && Boolean.TRUE.equals(attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+}
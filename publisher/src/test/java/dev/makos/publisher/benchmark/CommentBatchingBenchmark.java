@@ -0,0 +1,98 @@
+package dev.makos.publisher.benchmark;
+
+import dev.makos.publisher.config.DiscussionClientConfig;
+import dev.makos.publisher.config.DiscussionClientMetrics;
+import dev.makos.publisher.config.DiscussionLoadBalancer;
+import dev.makos.publisher.config.DiscussionProperties;
+import dev.makos.publisher.mapper.CommentProtoMapper;
+import dev.makos.publisher.model.dto.CommentCassandraDTO;
+import dev.makos.publisher.repository.CommentBatchLoader;
+import dev.makos.publisher.repository.DiscussionCallExecutor;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares one discussion call per comment lookup against the micro-batching loader under concurrent load,
+ * reporting how many remote calls per second each approach sends for the same lookup rate.
+ */
+@Tag("benchmark")
+class CommentBatchingBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 64);
+    private static final int REQUESTS_PER_THREAD = Integer.getInteger("benchmark.requests-per-thread", 500);
+    private static final long DISTINCT_IDS = 100_000;
+
+    @Test
+    void perIdCalls_vs_batchLoader() throws Exception {
+        try (DiscussionStub stub = DiscussionStub.start()) {
+            DiscussionProperties properties = new DiscussionProperties();
+            properties.setUrl(stub.url());
+            properties.getBatching().setEnabled(true);
+            DiscussionClientConfig config = new DiscussionClientConfig();
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+            try (CloseableHttpClient httpClient = config.discussionHttpClient(
+                    config.discussionConnectionManager(properties), properties)) {
+                RestClient restClient = config.discussionRestClient(RestClient.builder(),
+                        config.discussionRequestFactory(httpClient, properties), new CommentProtoMapper(),
+                        new DiscussionLoadBalancer(properties, meterRegistry),
+                        new DiscussionClientMetrics(meterRegistry), properties);
+                DiscussionCallExecutor executor = new DiscussionCallExecutor(
+                        BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(THREADS).build()),
+                        CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), meterRegistry,
+                        properties);
+                CommentBatchLoader loader = new CommentBatchLoader(restClient, executor, meterRegistry, properties);
+
+                LatencyRecorder.ThrowingRunnable perIdCall = () -> executor.execute("find-by-id",
+                        () -> restClient.get()
+                                .uri("/api/v1.0/comments/{id}", randomId())
+                                .retrieve()
+                                .body(CommentCassandraDTO.class));
+                LatencyRecorder.ThrowingRunnable batchedCall = () -> assertTrue(loader.load(randomId()).join().isPresent());
+
+                try {
+                    LatencyRecorder.run(THREADS, REQUESTS_PER_THREAD / 5, perIdCall);
+                    stub.resetRequests();
+                    LatencyRecorder perId = LatencyRecorder.run(THREADS, REQUESTS_PER_THREAD, perIdCall);
+                    long perIdRequests = stub.requests();
+
+                    LatencyRecorder.run(THREADS, REQUESTS_PER_THREAD / 5, batchedCall);
+                    stub.resetRequests();
+                    LatencyRecorder batched = LatencyRecorder.run(THREADS, REQUESTS_PER_THREAD, batchedCall);
+                    long batchedRequests = stub.requests();
+
+                    System.out.println(perId.summary("per-id calls") + remoteCalls(perId, perIdRequests));
+                    System.out.println(batched.summary("batch loader") + remoteCalls(batched, batchedRequests));
+
+                    assertEquals(THREADS * REQUESTS_PER_THREAD, perIdRequests);
+                    assertTrue(batchedRequests < perIdRequests);
+                } finally {
+                    loader.shutdown();
+                    executor.shutdown();
+                }
+            }
+        }
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, DISTINCT_IDS);
+    }
+
+    private static String remoteCalls(LatencyRecorder latency, long requests) {
+        double seconds = latency.count() / latency.throughput();
+        return String.format(" remoteCalls=%d remoteCalls/s=%.0f lookupsPerCall=%.1f",
+                requests, requests / seconds, (double) latency.count() / requests);
+    }
+}
@@ -0,0 +1,73 @@
+package dev.makos.publisher.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.makos.publisher.converter.CommentProtobufHttpMessageConverter;
+import dev.makos.publisher.mapper.CommentProtoMapper;
+import dev.makos.publisher.model.dto.CommentCassandraDTO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares encoding and decoding a large findAll payload with the JSON and protobuf discussion codecs.
+ */
+@Tag("benchmark")
+class CommentCodecBenchmark {
+
+    private static final int COMMENTS = 10_000;
+    private static final int ITERATIONS = 200;
+    private static final Type COMMENT_LIST = new ParameterizedTypeReference<List<CommentCassandraDTO>>() {
+    }.getType();
+
+    @Test
+    void json_vs_protobuf() throws Exception {
+        List<CommentCassandraDTO> comments = new ArrayList<>(COMMENTS);
+        for (long id = 1; id <= COMMENTS; id++) {
+            CommentCassandraDTO dto = new CommentCassandraDTO();
+            dto.setCountry("KZ");
+            dto.setId(id);
+            dto.setTweetId(id % 500 + 1);
+            dto.setContent("benchmark comment content number " + id);
+            comments.add(dto);
+        }
+
+        measure("json", new MappingJackson2HttpMessageConverter(new ObjectMapper()),
+                MediaType.APPLICATION_JSON, comments);
+        measure("protobuf", new CommentProtobufHttpMessageConverter(new CommentProtoMapper()),
+                CommentProtobufHttpMessageConverter.APPLICATION_PROTOBUF, comments);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void measure(String name, GenericHttpMessageConverter<Object> converter, MediaType mediaType,
+                         List<CommentCassandraDTO> comments) throws Exception {
+        MockHttpOutputMessage sample = new MockHttpOutputMessage();
+        converter.write(comments, COMMENT_LIST, mediaType, sample);
+        byte[] payload = sample.getBodyAsBytes();
+
+        LatencyRecorder.ThrowingRunnable encode = () ->
+                converter.write(comments, COMMENT_LIST, mediaType, new MockHttpOutputMessage());
+        LatencyRecorder.ThrowingRunnable decode = () -> {
+            List<CommentCassandraDTO> decoded = (List<CommentCassandraDTO>) converter
+                    .read(COMMENT_LIST, null, new MockHttpInputMessage(payload));
+            assertEquals(COMMENTS, decoded.size());
+        };
+
+        LatencyRecorder.run(1, ITERATIONS / 4, encode);
+        LatencyRecorder.run(1, ITERATIONS / 4, decode);
+
+        System.out.printf("%-9s payload=%d bytes%n", name, payload.length);
+        System.out.println(LatencyRecorder.run(1, ITERATIONS, encode).summary(name + " encode"));
+        System.out.println(LatencyRecorder.run(1, ITERATIONS, decode).summary(name + " decode"));
+    }
+}
@@ -0,0 +1,69 @@
+package dev.makos.publisher.benchmark;
+
+import dev.makos.publisher.config.DiscussionClientConfig;
+import dev.makos.publisher.config.DiscussionClientMetrics;
+import dev.makos.publisher.config.DiscussionLoadBalancer;
+import dev.makos.publisher.config.DiscussionProperties;
+import dev.makos.publisher.mapper.CommentProtoMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares a new {@link RestClient} per call, as {@code CommentRepositoryImpl} used to build it,
+ * against the shared pooled discussion client.
+ * Runs against {@code -Dbenchmark.discussion.url} when given, otherwise against an in-process stub.
+ */
+@Tag("benchmark")
+class DiscussionClientBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 250;
+    private static final String COMMENT_URI = "/api/v1.0/comments/{id}";
+    private static final long COMMENT_ID = Long.getLong("benchmark.comment-id", 1L);
+
+    @Test
+    void perRequestClient_vs_pooledClient() throws Exception {
+        try (DiscussionStub stub = DiscussionStub.start()) {
+            String url = System.getProperty("benchmark.discussion.url", stub.url());
+
+            DiscussionProperties properties = new DiscussionProperties();
+            properties.setUrl(url);
+            DiscussionClientConfig config = new DiscussionClientConfig();
+
+            try (CloseableHttpClient httpClient = config.discussionHttpClient(
+                    config.discussionConnectionManager(properties), properties)) {
+                RestClient pooled = config.discussionRestClient(RestClient.builder(),
+                        config.discussionRequestFactory(httpClient, properties), new CommentProtoMapper(), new DiscussionLoadBalancer(properties, new SimpleMeterRegistry()),
+                        new DiscussionClientMetrics(new SimpleMeterRegistry()), properties);
+
+                LatencyRecorder.ThrowingRunnable perRequestCall = () -> RestClient.builder()
+                        .requestFactory(new SimpleClientHttpRequestFactory())
+                        .build()
+                        .get()
+                        .uri(url + COMMENT_URI, COMMENT_ID)
+                        .exchange((request, response) -> response.getBody().readAllBytes());
+                LatencyRecorder.ThrowingRunnable pooledCall = () -> pooled.get()
+                        .uri(COMMENT_URI, COMMENT_ID)
+                        .exchange((request, response) -> response.getBody().readAllBytes());
+
+                LatencyRecorder.run(THREADS, REQUESTS_PER_THREAD / 5, perRequestCall);
+                LatencyRecorder.run(THREADS, REQUESTS_PER_THREAD / 5, pooledCall);
+
+                LatencyRecorder perRequest = LatencyRecorder.run(THREADS, REQUESTS_PER_THREAD, perRequestCall);
+                LatencyRecorder pooledResult = LatencyRecorder.run(THREADS, REQUESTS_PER_THREAD, pooledCall);
+
+                System.out.println(perRequest.summary("client per request"));
+                System.out.println(pooledResult.summary("pooled keep-alive"));
+
+                assertEquals(THREADS * REQUESTS_PER_THREAD, perRequest.count());
+                assertEquals(THREADS * REQUESTS_PER_THREAD, pooledResult.count());
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package dev.makos.publisher.benchmark;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded Tomcat configured like discussion with {@code server.http2.enabled}, so it accepts both
+ * HTTP/1.1 and h2c. Counts requests per protocol and reports open connections.
+ */
+public class DiscussionH2cStub implements AutoCloseable {
+
+    private static final byte[] COMMENT = """
+            {"country":"KZ","id":1,"tweetId":1,"content":"benchmark-content"}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final Tomcat tomcat;
+    private final Connector connector;
+    private final Map<String, LongAdder> requestsByProtocol;
+
+    private DiscussionH2cStub(Tomcat tomcat, Connector connector, Map<String, LongAdder> requestsByProtocol) {
+        this.tomcat = tomcat;
+        this.connector = connector;
+        this.requestsByProtocol = requestsByProtocol;
+    }
+
+    public static DiscussionH2cStub start() throws IOException, LifecycleException {
+        Map<String, LongAdder> requestsByProtocol = new ConcurrentHashMap<>();
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("discussion-h2c").toString());
+
+        Connector connector = new Connector();
+        connector.setPort(0);
+        connector.addUpgradeProtocol(new Http2Protocol());
+        tomcat.setConnector(connector);
+
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "comments", new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                requestsByProtocol.computeIfAbsent(request.getProtocol(), protocol -> new LongAdder()).increment();
+                request.getInputStream().readAllBytes();
+                response.setContentType("application/json");
+                response.setContentLength(COMMENT.length);
+                response.getOutputStream().write(COMMENT);
+            }
+        });
+        context.addServletMappingDecoded("/api/v1.0/comments/*", "comments");
+        tomcat.start();
+        return new DiscussionH2cStub(tomcat, connector, requestsByProtocol);
+    }
+
+    public String url() {
+        return "http://localhost:" + connector.getLocalPort();
+    }
+
+    public long connectionCount() {
+        return ((AbstractProtocol<?>) connector.getProtocolHandler()).getConnectionCount();
+    }
+
+    public long requests(String protocol) {
+        LongAdder requests = requestsByProtocol.get(protocol);
+        return requests == null ? 0 : requests.sum();
+    }
+
+    public void resetCounters() {
+        requestsByProtocol.clear();
+    }
+
+    @Override
+    public void close() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+}
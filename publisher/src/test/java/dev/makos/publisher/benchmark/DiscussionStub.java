@@ -0,0 +1,79 @@
+package dev.makos.publisher.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class DiscussionStub implements AutoCloseable {
+
+    private static final byte[] COMMENT = """
+            {"country":"KZ","id":1,"tweetId":1,"content":"benchmark-content"}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LongAdder requests = new LongAdder();
+
+    private DiscussionStub(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static DiscussionStub start() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 512);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        DiscussionStub stub = new DiscussionStub(server, executor);
+        server.createContext("/api/v1.0/comments", stub::handleComment);
+        server.start();
+        return stub;
+    }
+
+    private void handleComment(HttpExchange exchange) throws IOException {
+        requests.increment();
+        exchange.getRequestBody().readAllBytes();
+        String query = exchange.getRequestURI().getQuery();
+        byte[] response = query != null && query.startsWith("ids=") ? comments(query) : COMMENT;
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(response);
+        }
+    }
+
+    private static byte[] comments(String query) {
+        return Stream.of(query.split("&"))
+                .map(param -> param.substring("ids=".length()))
+                .map(id -> "{\"country\":\"KZ\",\"id\":" + id + ",\"tweetId\":1,\"content\":\"benchmark-content\"}")
+                .collect(Collectors.joining(",", "[", "]"))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    public void resetRequests() {
+        requests.reset();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
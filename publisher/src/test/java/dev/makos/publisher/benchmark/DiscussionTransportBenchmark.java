@@ -0,0 +1,97 @@
+package dev.makos.publisher.benchmark;
+
+import dev.makos.publisher.config.DiscussionClientConfig;
+import dev.makos.publisher.config.DiscussionClientMetrics;
+import dev.makos.publisher.config.DiscussionLoadBalancer;
+import dev.makos.publisher.config.DiscussionProperties;
+import dev.makos.publisher.mapper.CommentProtoMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the pooled HTTP/1.1 discussion client against the h2c transport under concurrent load,
+ * reporting latency and the peak number of connections open on the server.
+ */
+@Tag("benchmark")
+class DiscussionTransportBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 64);
+    private static final int REQUESTS_PER_THREAD = Integer.getInteger("benchmark.requests-per-thread", 500);
+    private static final String COMMENT_URI = "/api/v1.0/comments/{id}";
+
+    @Test
+    void http1Pooled_vs_h2c() throws Exception {
+        try (DiscussionH2cStub stub = DiscussionH2cStub.start()) {
+            Result http1 = run(stub, DiscussionProperties.Transport.HTTP1);
+            assertEquals(THREADS * REQUESTS_PER_THREAD, stub.requests("HTTP/1.1"));
+            stub.resetCounters();
+
+            Result h2c = run(stub, DiscussionProperties.Transport.H2C);
+            assertTrue(stub.requests("HTTP/2.0") >= THREADS * REQUESTS_PER_THREAD);
+
+            System.out.println(http1.latency().summary("http/1.1 pooled") + " peakConnections=" + http1.peakConnections());
+            System.out.println(h2c.latency().summary("h2c multiplexed") + " peakConnections=" + h2c.peakConnections());
+        }
+    }
+
+    private static Result run(DiscussionH2cStub stub, DiscussionProperties.Transport transport) throws Exception {
+        DiscussionProperties properties = new DiscussionProperties();
+        properties.setUrl(stub.url());
+        properties.getClient().setTransport(transport);
+        DiscussionClientConfig config = new DiscussionClientConfig();
+
+        try (CloseableHttpClient httpClient = config.discussionHttpClient(
+                config.discussionConnectionManager(properties), properties)) {
+            RestClient restClient = config.discussionRestClient(RestClient.builder(),
+                    config.discussionRequestFactory(httpClient, properties), new CommentProtoMapper(),
+                    new DiscussionLoadBalancer(properties, new SimpleMeterRegistry()),
+                    new DiscussionClientMetrics(new SimpleMeterRegistry()), properties);
+            LatencyRecorder.ThrowingRunnable call = () -> restClient.get()
+                    .uri(COMMENT_URI, 1L)
+                    .exchange((request, response) -> response.getBody().readAllBytes());
+
+            LatencyRecorder.run(THREADS, REQUESTS_PER_THREAD / 5, call);
+            stub.resetCounters();
+            try (PeakSampler peak = new PeakSampler(stub::connectionCount)) {
+                LatencyRecorder latency = LatencyRecorder.run(THREADS, REQUESTS_PER_THREAD, call);
+                assertEquals(THREADS * REQUESTS_PER_THREAD, latency.count());
+                return new Result(latency, peak.peak());
+            }
+        }
+    }
+
+    private record Result(LatencyRecorder latency, long peakConnections) {
+    }
+
+    private static final class PeakSampler implements AutoCloseable {
+
+        private final AtomicLong peak = new AtomicLong();
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+
+        private PeakSampler(LongSupplier gauge) {
+            sampler.scheduleAtFixedRate(() -> peak.accumulateAndGet(gauge.getAsLong(), Math::max),
+                    0, 5, TimeUnit.MILLISECONDS);
+        }
+
+        private long peak() {
+            return peak.get();
+        }
+
+        @Override
+        public void close() {
+            sampler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package dev.makos.publisher.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class LatencyRecorder {
+
+    private final long[] samples;
+    private final AtomicInteger position = new AtomicInteger();
+    private long elapsedNanos;
+
+    private LatencyRecorder(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public static LatencyRecorder run(int threads, int requestsPerThread, ThrowingRunnable call) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder(threads * requestsPerThread);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        long begin = System.nanoTime();
+                        call.run();
+                        recorder.record(System.nanoTime() - begin);
+                    }
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        recorder.elapsedNanos = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        if (failure.get() != null) {
+            throw new IllegalStateException("Benchmark call failed", failure.get());
+        }
+        return recorder;
+    }
+
+    private void record(long nanos) {
+        samples[position.getAndIncrement()] = nanos;
+    }
+
+    public int count() {
+        return position.get();
+    }
+
+    public double percentileMillis(double percentile) {
+        long[] sorted = Arrays.copyOf(samples, count());
+        Arrays.sort(sorted);
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    public double throughput() {
+        return count() / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public String summary(String name) {
+        return String.format("%-24s requests=%d p50=%.2fms p99=%.2fms throughput=%.0f req/s",
+                name, count(), percentileMillis(50), percentileMillis(99), throughput());
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,74 @@
+package dev.makos.publisher.config;
+
+import dev.makos.publisher.benchmark.DiscussionH2cStub;
+import dev.makos.publisher.mapper.CommentProtoMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscussionClientConfigTest {
+
+    private final DiscussionClientConfig config = new DiscussionClientConfig();
+
+    @DisplayName("h2c transport multiplexes concurrent requests over HTTP/2")
+    @Test
+    void discussionRestClient_usesHttp2_whenTransportIsH2c() throws Exception {
+        try (DiscussionH2cStub stub = DiscussionH2cStub.start();
+             ExecutorService callers = Executors.newFixedThreadPool(16)) {
+            // given
+            DiscussionProperties properties = new DiscussionProperties();
+            properties.setUrl(stub.url());
+            properties.getClient().setTransport(DiscussionProperties.Transport.H2C);
+            RestClient restClient = restClient(properties);
+            restClient.get().uri("/api/v1.0/comments/{id}", 1L).retrieve().toBodilessEntity();
+            stub.resetCounters();
+            // when
+            List<CompletableFuture<?>> calls = new ArrayList<>();
+            for (long id = 0; id < 64; id++) {
+                long commentId = id;
+                calls.add(CompletableFuture.runAsync(() -> restClient.get()
+                        .uri("/api/v1.0/comments/{id}", commentId)
+                        .retrieve()
+                        .toBodilessEntity(), callers));
+            }
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+            // then
+            assertEquals(64, stub.requests("HTTP/2.0"));
+            assertTrue(stub.connectionCount() <= 2, "connections: " + stub.connectionCount());
+        }
+    }
+
+    @DisplayName("Default transport stays on pooled HTTP/1.1")
+    @Test
+    void discussionRestClient_usesHttp1_byDefault() throws Exception {
+        try (DiscussionH2cStub stub = DiscussionH2cStub.start()) {
+            // given
+            DiscussionProperties properties = new DiscussionProperties();
+            properties.setUrl(stub.url());
+            RestClient restClient = restClient(properties);
+            // when
+            restClient.get().uri("/api/v1.0/comments/{id}", 1L).retrieve().toBodilessEntity();
+            // then
+            assertEquals(1, stub.requests("HTTP/1.1"));
+            assertEquals(0, stub.requests("HTTP/2.0"));
+        }
+    }
+
+    private RestClient restClient(DiscussionProperties properties) {
+        CloseableHttpClient httpClient = config.discussionHttpClient(
+                config.discussionConnectionManager(properties), properties);
+        return config.discussionRestClient(RestClient.builder(), config.discussionRequestFactory(httpClient, properties),
+                new CommentProtoMapper(), new DiscussionLoadBalancer(properties, new SimpleMeterRegistry()),
+                new DiscussionClientMetrics(new SimpleMeterRegistry()), properties);
+    }
+}
@@ -0,0 +1,79 @@
+package dev.makos.publisher.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class DiscussionClientMetricsTest {
+
+    private static final String URL = "http://discussion:8081";
+    private static final String BODY = "{\"id\":1,\"content\":\"content\"}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockRestServiceServer server;
+    private RestClient restClient;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RestClient.Builder builder = RestClient.builder()
+                .baseUrl(URL)
+                .requestInterceptor(new DiscussionClientMetrics(meterRegistry));
+        server = MockRestServiceServer.bindTo(builder).build();
+        restClient = builder.build();
+    }
+
+    @DisplayName("Exchange is timed and sized under the bound operation once the response is read")
+    @Test
+    void intercept_recordsExchange_forBoundOperation() throws Exception {
+        // given
+        server.expect(requestTo(URL + "/api/v1.0/comments"))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+        // when
+        String body = DiscussionClientMetrics.tagged("save", () -> restClient.post()
+                .uri("/api/v1.0/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"content\":\"content\"}")
+                .retrieve()
+                .body(String.class)).call();
+        // then
+        assertEquals(BODY, body);
+        assertEquals(1, meterRegistry.timer("discussion.client.exchanges",
+                "operation", "save", "endpoint", URL, "status", "200").count());
+        assertEquals(21.0, meterRegistry.summary("discussion.client.request.size",
+                "operation", "save").totalAmount());
+        assertEquals(BODY.length(), meterRegistry.summary("discussion.client.response.size",
+                "operation", "save").totalAmount());
+        assertEquals(0.0, meterRegistry.get("discussion.client.in-flight").gauge().value());
+        server.verify();
+    }
+
+    @DisplayName("Error responses are counted by status code")
+    @Test
+    void intercept_recordsStatus_forErrorResponses() {
+        // given
+        server.expect(requestTo(URL + "/api/v1.0/comments/1"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        // when
+        assertThrows(HttpServerErrorException.class, () -> restClient.get()
+                .uri("/api/v1.0/comments/{id}", 1)
+                .retrieve()
+                .toBodilessEntity());
+        // then
+        assertEquals(1, meterRegistry.timer("discussion.client.exchanges",
+                "operation", DiscussionClientMetrics.UNKNOWN_OPERATION, "endpoint", URL, "status", "503").count());
+        assertEquals(0.0, meterRegistry.get("discussion.client.in-flight").gauge().value());
+        server.verify();
+    }
+}
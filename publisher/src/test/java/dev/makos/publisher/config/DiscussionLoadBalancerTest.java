@@ -0,0 +1,158 @@
+package dev.makos.publisher.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscussionLoadBalancerTest {
+
+    private static final String COMMENT_URI = "/api/v1.0/comments/{id}";
+
+    private final List<Instance> instances = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        instances.forEach(instance -> instance.server.stop(0));
+    }
+
+    @DisplayName("Requests are spread over every discussion instance")
+    @Test
+    void intercept_spreadsRequestsAcrossInstances() throws Exception {
+        // given
+        DiscussionLoadBalancer loadBalancer = loadBalancer(properties(start(), start(), start()));
+        RestClient restClient = restClient(loadBalancer);
+        // when
+        for (long id = 0; id < 300; id++) {
+            restClient.get().uri(COMMENT_URI, id).retrieve().toBodilessEntity();
+        }
+        // then
+        assertEquals(300, instances.stream().mapToInt(instance -> instance.hits.get()).sum());
+        for (Instance instance : instances) {
+            assertTrue(instance.hits.get() > 50, "instance " + instance.url() + " got " + instance.hits.get());
+        }
+    }
+
+    @DisplayName("Failing instance is ejected and re-probed once the ejection time passes")
+    @Test
+    void intercept_ejectsFailingInstance_andReprobesIt() throws Exception {
+        // given
+        Instance healthy = start();
+        Instance failing = start();
+        failing.status = 500;
+        DiscussionProperties properties = properties(healthy, failing);
+        properties.getLoadBalancer().setFailureThreshold(2);
+        properties.getLoadBalancer().setEjectionTime(Duration.ofSeconds(2));
+        DiscussionLoadBalancer loadBalancer = loadBalancer(properties);
+        RestClient restClient = restClient(loadBalancer);
+        // when
+        for (long id = 0; id < 50; id++) {
+            try {
+                restClient.get().uri(COMMENT_URI, id).retrieve().toBodilessEntity();
+            } catch (HttpServerErrorException ignored) {
+            }
+        }
+        // then
+        assertEquals(2, failing.hits.get());
+        assertEquals(48, healthy.hits.get());
+        assertTrue(loadBalancer.endpoints().get(1).isEjected());
+        assertEquals(1.0, meterRegistry.counter("discussion.client.ejections", "endpoint", failing.url()).count());
+
+        // when
+        failing.status = 200;
+        Thread.sleep(2100);
+        for (long id = 0; id < 50; id++) {
+            restClient.get().uri(COMMENT_URI, id).retrieve().toBodilessEntity();
+        }
+        // then
+        assertFalse(loadBalancer.endpoints().get(1).isEjected());
+        assertTrue(failing.hits.get() > 3);
+    }
+
+    @DisplayName("Request paths are rebased onto the path prefix of the chosen instance")
+    @Test
+    void intercept_rebasesPath_whenInstancesHaveDifferentPrefixes() throws Exception {
+        // given
+        Instance first = start("/discussion-a");
+        Instance second = start("/discussion-b/");
+        DiscussionLoadBalancer loadBalancer = loadBalancer(properties(first, second));
+        RestClient restClient = restClient(loadBalancer);
+        // when
+        for (long id = 0; id < 100; id++) {
+            restClient.get().uri(COMMENT_URI, id).retrieve().toBodilessEntity();
+        }
+        // then
+        assertEquals(100, first.hits.get() + second.hits.get());
+        assertTrue(first.hits.get() > 0, "first instance got no requests");
+        assertTrue(second.hits.get() > 0, "second instance got no requests");
+    }
+
+    private DiscussionLoadBalancer loadBalancer(DiscussionProperties properties) {
+        return new DiscussionLoadBalancer(properties, meterRegistry);
+    }
+
+    private RestClient restClient(DiscussionLoadBalancer loadBalancer) {
+        return RestClient.builder()
+                .baseUrl(instances.getFirst().url())
+                .requestInterceptor(loadBalancer)
+                .requestFactory(new JdkClientHttpRequestFactory())
+                .build();
+    }
+
+    private static DiscussionProperties properties(Instance... instances) {
+        DiscussionProperties properties = new DiscussionProperties();
+        for (Instance instance : instances) {
+            properties.getUrls().add(instance.url());
+        }
+        return properties;
+    }
+
+    private Instance start() throws IOException {
+        return start("");
+    }
+
+    private Instance start(String prefix) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        Instance instance = new Instance(server, prefix);
+        String path = prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
+        server.createContext(path + "/api/v1.0/comments", exchange -> {
+            instance.hits.incrementAndGet();
+            exchange.sendResponseHeaders(instance.status, -1);
+            exchange.close();
+        });
+        server.start();
+        instances.add(instance);
+        return instance;
+    }
+
+    private static final class Instance {
+
+        private final HttpServer server;
+        private final String prefix;
+        private final AtomicInteger hits = new AtomicInteger();
+        private volatile int status = 200;
+
+        private Instance(HttpServer server, String prefix) {
+            this.server = server;
+            this.prefix = prefix;
+        }
+
+        private String url() {
+            return "http://localhost:" + server.getAddress().getPort() + prefix;
+        }
+    }
+}
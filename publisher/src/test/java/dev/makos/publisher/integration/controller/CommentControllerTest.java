@@ -2,6 +2,9 @@ package dev.makos.publisher.integration.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.makos.publisher.exception.CommentTweetChangedException;
+import dev.makos.publisher.exception.CustomException;
+import dev.makos.publisher.model.dto.CommentBatchDTO;
 import dev.makos.publisher.model.dto.CommentDTO;
 import dev.makos.publisher.model.dto.exception.ErrorResponseDTO;
 import dev.makos.publisher.model.entity.Comment;
@@ -33,7 +36,9 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.AdditionalMatchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -80,6 +85,20 @@ class CommentControllerTest {
         when(commentRepository.save(comment)).thenReturn(comment);
         when(commentRepository.existsById(comment.getId())).thenReturn(true);
         when(commentRepository.existsById(not(eq(comment.getId())))).thenReturn(false);
+        when(commentRepository.update(any(Comment.class), anyBoolean())).thenAnswer(invocation -> {
+            Comment update = invocation.getArgument(0);
+            boolean moveTweet = invocation.getArgument(1);
+            if (!comment.getId().equals(update.getId())) {
+                throw CustomException.builder()
+                        .message(ErrorMessage.COMMENT_NOT_FOUND.getText())
+                        .httpStatus(HttpStatus.NOT_FOUND)
+                        .build();
+            }
+            if (!moveTweet && !tweet.getId().equals(update.getTweet().getId())) {
+                throw new CommentTweetChangedException(update.getId());
+            }
+            return update;
+        });
     }
 
     @AfterEach
@@ -170,6 +189,84 @@ class CommentControllerTest {
         assertEquals(commentDTO.getTweetId(), savedEntity.getTweet().getId());
     }
 
+    @Test
+    void saveAll_returnsNotFound_whenTweetNotFound() throws Exception {
+        // given
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setContent("content");
+        commentDTO.setTweetId(tweet.getId() + 100);
+
+        String requestBody = objectMapper.writeValueAsString(new CommentBatchDTO(List.of(commentDTO)));
+        // when
+        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1.0/comments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody)
+                        .characterEncoding("utf-8"))
+                .andExpect(status().isNotFound()).andReturn();
+
+        // then
+        String contentAsString = mvcResult.getResponse().getContentAsString();
+        ErrorResponseDTO errorResponseDTO = objectMapper.readValue(contentAsString, ErrorResponseDTO.class);
+
+        assertEquals(ErrorMessage.TWEET_NOT_FOUND.getText(), errorResponseDTO.getMessage());
+        verify(commentRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void saveAll_returnsCreated() throws Exception {
+        // given
+        when(commentRepository.saveAll(any())).thenReturn(List.of(comment));
+
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setContent(comment.getContent());
+        commentDTO.setTweetId(tweet.getId());
+
+        String requestBody = objectMapper.writeValueAsString(new CommentBatchDTO(List.of(commentDTO)));
+        // when
+        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1.0/comments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody)
+                        .characterEncoding("utf-8"))
+                .andExpect(status().isCreated()).andReturn();
+
+        // then
+        String contentAsString = mvcResult.getResponse().getContentAsString();
+        CommentBatchDTO savedDTO = objectMapper.readValue(contentAsString, CommentBatchDTO.class);
+
+        assertEquals(1, savedDTO.getComments().size());
+        assertEquals(comment.getId(), savedDTO.getComments().getFirst().getId());
+        assertEquals(tweet.getId(), savedDTO.getComments().getFirst().getTweetId());
+    }
+
+    @Test
+    void saveAll_returnsConflict_whenBatchMovesComment() throws Exception {
+        // given
+        when(commentRepository.saveAll(any())).thenThrow(CustomException.builder()
+                .message(ErrorMessage.COMMENT_TWEET_CHANGED.getText())
+                .httpStatus(HttpStatus.CONFLICT)
+                .build());
+
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setId(comment.getId());
+        commentDTO.setContent(comment.getContent());
+        commentDTO.setTweetId(tweet.getId());
+
+        String requestBody = objectMapper.writeValueAsString(new CommentBatchDTO(List.of(commentDTO)));
+        // when
+        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1.0/comments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody)
+                        .characterEncoding("utf-8"))
+                .andExpect(status().isConflict()).andReturn();
+
+        // then
+        String contentAsString = mvcResult.getResponse().getContentAsString();
+        ErrorResponseDTO errorResponseDTO = objectMapper.readValue(contentAsString, ErrorResponseDTO.class);
+
+        assertEquals(ErrorMessage.COMMENT_TWEET_CHANGED.getText(), errorResponseDTO.getMessage());
+        assertEquals(HttpStatus.CONFLICT.value(), errorResponseDTO.getCode());
+    }
+
     @Test
     void getOne_returnsNotFound_whenCommentNotFound() throws Exception {
         // given
@@ -0,0 +1,99 @@
+package dev.makos.publisher.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.makos.publisher.config.DiscussionProperties;
+import dev.makos.publisher.exception.CustomException;
+import dev.makos.publisher.mapper.CommentMapperImpl;
+import dev.makos.publisher.model.dto.CommentCassandraDTO;
+import dev.makos.publisher.model.dto.CommentCassandraPageDTO;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class AsyncCommentRepositoryImplTest {
+
+    private static final String URL = "http://discussion";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockRestServiceServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private DiscussionCallExecutor discussionCallExecutor;
+    private AsyncCommentRepositoryImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl(URL);
+        server = MockRestServiceServer.bindTo(builder).build();
+        meterRegistry = new SimpleMeterRegistry();
+        discussionCallExecutor = new DiscussionCallExecutor(BulkheadRegistry.ofDefaults(),
+                CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), meterRegistry,
+                new DiscussionProperties());
+        underTest = new AsyncCommentRepositoryImpl(new CommentMapperImpl(), builder.build(), discussionCallExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        discussionCallExecutor.shutdown();
+    }
+
+    @DisplayName("Find page by tweet reads one tweet slice through the guarded call path")
+    @Test
+    void findPageByTweet_queriesTweetSlice() throws Exception {
+        // given
+        CommentCassandraDTO dto = new CommentCassandraDTO();
+        dto.setCountry("KZ");
+        dto.setId(1L);
+        dto.setTweetId(42L);
+        dto.setContent("content");
+
+        server.expect(requestTo(URL + "/api/v1.0/comments?country=KZ&tweetId=42&limit=2"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(
+                        new CommentCassandraPageDTO(List.of(dto), null)), MediaType.APPLICATION_JSON));
+        // when
+        CommentPage result = underTest.findPageByTweet(42L, 2, null).join();
+        // then
+        assertEquals(1, result.comments().size());
+        assertEquals(42L, result.comments().getFirst().getTweet().getId());
+        assertNull(result.comments().getFirst().getTweet().getTitle());
+        assertNull(result.next());
+        assertEquals(1, meterRegistry.get("discussion.client.calls")
+                .tag("operation", "find-page-by-tweet")
+                .tag("outcome", "SUCCESS")
+                .timer().count());
+        server.verify();
+    }
+
+    @DisplayName("Find page by tweet completes with an invalid cursor error when discussion rejects it")
+    @Test
+    void findPageByTweet_failsWithInvalidCursor_whenDiscussionReportsBadRequest() {
+        // given
+        server.expect(requestTo(URL + "/api/v1.0/comments?country=KZ&tweetId=42&limit=2&next=bad"))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST));
+        // when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> underTest.findPageByTweet(42L, 2, "bad").join());
+        // then
+        CustomException cause = assertInstanceOf(CustomException.class, exception.getCause());
+        assertEquals(HttpStatus.BAD_REQUEST, cause.getHttpStatus());
+    }
+}
@@ -0,0 +1,139 @@
+package dev.makos.publisher.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.makos.publisher.config.DiscussionProperties;
+import dev.makos.publisher.exception.DiscussionUnavailableException;
+import dev.makos.publisher.model.dto.CommentCassandraDTO;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class CommentBatchLoaderTest {
+
+    private static final String URL = "http://discussion";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockRestServiceServer server;
+    private RestClient restClient;
+    private SimpleMeterRegistry meterRegistry;
+    private DiscussionCallExecutor discussionCallExecutor;
+    private CommentBatchLoader underTest;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl(URL);
+        server = MockRestServiceServer.bindTo(builder).build();
+        restClient = builder.build();
+        meterRegistry = new SimpleMeterRegistry();
+        discussionCallExecutor = new DiscussionCallExecutor(BulkheadRegistry.ofDefaults(),
+                CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), meterRegistry,
+                new DiscussionProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+        discussionCallExecutor.shutdown();
+    }
+
+    @DisplayName("Load sends one multi-get for every id requested within the window")
+    @Test
+    void load_sendsOneRequest_forIdsWithinWindow() throws Exception {
+        // given
+        underTest = loader(Duration.ofMillis(50), 100);
+        server.expect(requestTo(URL + "/api/v1.0/comments?ids=1&ids=2&ids=3"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(List.of(comment(1L), comment(3L))),
+                        MediaType.APPLICATION_JSON));
+        // when
+        CompletableFuture<Optional<CommentCassandraDTO>> first = underTest.load(1L);
+        CompletableFuture<Optional<CommentCassandraDTO>> second = underTest.load(2L);
+        CompletableFuture<Optional<CommentCassandraDTO>> third = underTest.load(3L);
+        CompletableFuture<Optional<CommentCassandraDTO>> duplicate = underTest.load(1L);
+        // then
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        assertTrue(second.get(5, TimeUnit.SECONDS).isEmpty());
+        assertEquals(3L, third.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        assertSame(first, duplicate);
+        assertEquals(1, meterRegistry.summary("discussion.client.batch.size",
+                "operation", "find-all-by-ids").count());
+        assertEquals(3.0, meterRegistry.summary("discussion.client.batch.size",
+                "operation", "find-all-by-ids").totalAmount());
+        server.verify();
+    }
+
+    @DisplayName("Load sends the batch as soon as it reaches the maximum size")
+    @Test
+    void load_sendsBatchImmediately_whenMaxSizeReached() throws Exception {
+        // given
+        underTest = loader(Duration.ofMinutes(1), 2);
+        server.expect(requestTo(URL + "/api/v1.0/comments?ids=1&ids=2"))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(List.of(comment(1L), comment(2L))),
+                        MediaType.APPLICATION_JSON));
+        // when
+        CompletableFuture<Optional<CommentCassandraDTO>> first = underTest.load(1L);
+        CompletableFuture<Optional<CommentCassandraDTO>> second = underTest.load(2L);
+        // then
+        assertTrue(first.get(5, TimeUnit.SECONDS).isPresent());
+        assertTrue(second.get(5, TimeUnit.SECONDS).isPresent());
+        server.verify();
+    }
+
+    @DisplayName("Load fails every caller of a batch when discussion is unavailable")
+    @Test
+    void load_failsEveryCaller_whenDiscussionIsUnavailable() {
+        // given
+        underTest = loader(Duration.ofMillis(20), 100);
+        server.expect(requestTo(URL + "/api/v1.0/comments?ids=1&ids=2"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        // when
+        CompletableFuture<Optional<CommentCassandraDTO>> first = underTest.load(1L);
+        CompletableFuture<Optional<CommentCassandraDTO>> second = underTest.load(2L);
+        // then
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DiscussionUnavailableException.class, firstFailure.getCause());
+        assertSame(firstFailure.getCause(), secondFailure.getCause());
+        server.verify();
+    }
+
+    private CommentBatchLoader loader(Duration window, int maxBatchSize) {
+        DiscussionProperties properties = new DiscussionProperties();
+        properties.getBatching().setEnabled(true);
+        properties.getBatching().setWindow(window);
+        properties.getBatching().setMaxBatchSize(maxBatchSize);
+        return new CommentBatchLoader(restClient, discussionCallExecutor, meterRegistry, properties);
+    }
+
+    private static CommentCassandraDTO comment(Long id) {
+        CommentCassandraDTO dto = new CommentCassandraDTO();
+        dto.setCountry("KZ");
+        dto.setId(id);
+        dto.setTweetId(id);
+        dto.setContent("content-" + id);
+        return dto;
+    }
+}
@@ -0,0 +1,654 @@
+package dev.makos.publisher.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.makos.publisher.config.DiscussionProperties;
+import dev.makos.publisher.exception.CommentTweetChangedException;
+import dev.makos.publisher.exception.CustomException;
+import dev.makos.publisher.exception.DeadlineExceededException;
+import dev.makos.publisher.exception.DiscussionUnavailableException;
+import dev.makos.publisher.mapper.CommentMapperImpl;
+import dev.makos.publisher.model.dto.CommentCassandraBatchDTO;
+import dev.makos.publisher.model.dto.CommentCassandraDTO;
+import dev.makos.publisher.model.dto.CommentCassandraPageDTO;
+import dev.makos.publisher.model.dto.CommentCountCassandraDTO;
+import dev.makos.publisher.model.entity.Comment;
+import dev.makos.publisher.model.entity.Tweet;
+import dev.makos.publisher.util.Deadline;
+import dev.makos.publisher.util.ErrorMessage;
+import dev.makos.publisher.util.StaleResponse;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@ExtendWith(MockitoExtension.class)
+class CommentRepositoryImplTest {
+
+    private static final String URL = "http://discussion";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private TweetRepository tweetRepository;
+
+    private MockRestServiceServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private DiscussionCallExecutor discussionCallExecutor;
+    private CommentBatchLoader commentBatchLoader;
+    private RestClient restClient;
+    private CommentRepositoryImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl(URL);
+        server = MockRestServiceServer.bindTo(builder).build();
+        meterRegistry = new SimpleMeterRegistry();
+        discussionCallExecutor = new DiscussionCallExecutor(BulkheadRegistry.ofDefaults(),
+                CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), meterRegistry,
+                new DiscussionProperties());
+        restClient = builder.build();
+        commentBatchLoader = new CommentBatchLoader(restClient, discussionCallExecutor, meterRegistry,
+                new DiscussionProperties());
+        underTest = new CommentRepositoryImpl(new CommentMapperImpl(), tweetRepository, restClient,
+                discussionCallExecutor, commentBatchLoader, objectMapper, meterRegistry, new DiscussionProperties());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        commentBatchLoader.shutdown();
+        discussionCallExecutor.shutdown();
+    }
+
+    @DisplayName("Find all comments hydrates tweets with one query per chunk of distinct ids")
+    @Test
+    void findAll_loadsTweetsWithOneQueryPerChunk() throws Exception {
+        // given
+        int distinctTweets = 1500;
+        List<CommentCassandraDTO> remote = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            CommentCassandraDTO dto = new CommentCassandraDTO();
+            dto.setCountry("KZ");
+            dto.setId(id);
+            dto.setTweetId(id % distinctTweets + 1);
+            dto.setContent("content-" + id);
+            remote.add(dto);
+        }
+
+        server.expect(requestTo(URL + "/api/v1.0/comments"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(remote), MediaType.APPLICATION_JSON));
+
+        when(tweetRepository.findAllByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .map(id -> Tweet.builder().id(id).title("title-" + id).build())
+                    .toList();
+        });
+        // when
+        List<Comment> result = underTest.findAll();
+        // then
+        assertEquals(remote.size(), result.size());
+        for (Comment comment : result) {
+            assertEquals("title-" + comment.getTweet().getId(), comment.getTweet().getTitle());
+        }
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(tweetRepository, times(2)).findAllByIdIn(captor.capture());
+        verify(tweetRepository, never()).findById(any());
+        assertEquals(distinctTweets, captor.getAllValues().stream().mapToInt(Collection::size).sum());
+        assertEquals(LongStream.rangeClosed(1, distinctTweets).boxed().toList(),
+                captor.getAllValues().stream().flatMap(Collection::stream).sorted().toList());
+        server.verify();
+    }
+
+    @DisplayName("Find all comments keeps the remote tweet id when the tweet is missing")
+    @Test
+    void findAll_keepsTweetId_whenTweetNotFound() throws Exception {
+        // given
+        CommentCassandraDTO dto = new CommentCassandraDTO();
+        dto.setCountry("KZ");
+        dto.setId(1L);
+        dto.setTweetId(42L);
+        dto.setContent("content");
+
+        server.expect(requestTo(URL + "/api/v1.0/comments"))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(List.of(dto)), MediaType.APPLICATION_JSON));
+        when(tweetRepository.findAllByIdIn(List.of(42L))).thenReturn(List.of());
+        // when
+        List<Comment> result = underTest.findAll();
+        // then
+        assertEquals(1, result.size());
+        assertEquals(42L, result.getFirst().getTweet().getId());
+        assertNull(result.getFirst().getTweet().getTitle());
+        verify(tweetRepository, times(1)).findAllByIdIn(anyCollection());
+    }
+
+    @DisplayName("Find page forwards limit and cursor and hydrates tweets of the page")
+    @Test
+    void findPage_forwardsCursor_andReturnsNextCursor() throws Exception {
+        // given
+        CommentCassandraDTO dto = new CommentCassandraDTO();
+        dto.setCountry("KZ");
+        dto.setId(1L);
+        dto.setTweetId(42L);
+        dto.setContent("content");
+
+        server.expect(requestTo(URL + "/api/v1.0/comments?limit=2&next=Bwg"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(
+                        new CommentCassandraPageDTO(List.of(dto), "CQo")), MediaType.APPLICATION_JSON));
+        when(tweetRepository.findAllByIdIn(List.of(42L)))
+                .thenReturn(List.of(Tweet.builder().id(42L).title("title").build()));
+        // when
+        CommentPage result = underTest.findPage(2, "Bwg");
+        // then
+        assertEquals(1, result.comments().size());
+        assertEquals("title", result.comments().getFirst().getTweet().getTitle());
+        assertEquals("CQo", result.next());
+        server.verify();
+    }
+
+    @DisplayName("Count by tweet ids asks discussion once per chunk with request lines under 4 KB")
+    @Test
+    void countByTweetIds_requestsCountsPerChunk() throws Exception {
+        // given
+        List<Long> tweetIds = new ArrayList<>(LongStream.rangeClosed(1, 1000)
+                .map(id -> Long.MAX_VALUE - id)
+                .boxed()
+                .toList());
+        tweetIds.add(Long.MAX_VALUE - 1);
+
+        for (int chunk = 0; chunk < 5; chunk++) {
+            long first = Long.MAX_VALUE - 1 - chunk * 200L;
+            server.expect(requestTo(startsWith(URL + "/api/v1.0/comments/counts?tweetIds=" + first + ",")))
+                    .andExpect(method(HttpMethod.GET))
+                    .andExpect(request -> assertTrue(request.getURI().toString().length() < 4096))
+                    .andRespond(withSuccess(objectMapper.writeValueAsString(
+                            List.of(new CommentCountCassandraDTO(first, chunk))), MediaType.APPLICATION_JSON));
+        }
+        // when
+        Map<Long, Long> result = underTest.countByTweetIds(tweetIds);
+        // then
+        assertEquals(5, result.size());
+        assertEquals(0L, result.get(Long.MAX_VALUE - 1));
+        assertEquals(4L, result.get(Long.MAX_VALUE - 801));
+        server.verify();
+    }
+
+    @DisplayName("Find page reports an invalid cursor when discussion rejects it")
+    @Test
+    void findPage_throwsInvalidCursor_whenDiscussionReportsBadRequest() {
+        // given
+        server.expect(requestTo(URL + "/api/v1.0/comments?limit=2&next=bad"))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST));
+        // when
+        CustomException exception = assertThrows(CustomException.class, () -> underTest.findPage(2, "bad"));
+        // then
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        verifyNoInteractions(tweetRepository);
+    }
+
+    @DisplayName("Exists by id sends one HEAD request and does not touch tweets")
+    @Test
+    void existsById_returnsTrue_whenDiscussionFindsComment() {
+        // given
+        server.expect(requestTo(URL + "/api/v1.0/comments/1"))
+                .andExpect(method(HttpMethod.HEAD))
+                .andRespond(withStatus(HttpStatus.OK));
+        // when
+        boolean result = underTest.existsById(1L);
+        // then
+        assertTrue(result);
+        verifyNoInteractions(tweetRepository);
+        server.verify();
+    }
+
+    @DisplayName("Exists by id returns false when discussion answers not found")
+    @Test
+    void existsById_returnsFalse_whenDiscussionReturnsNotFound() {
+        // given
+        server.expect(requestTo(URL + "/api/v1.0/comments/1"))
+                .andExpect(method(HttpMethod.HEAD))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        // when
+        boolean result = underTest.existsById(1L);
+        // then
+        assertFalse(result);
+        verifyNoInteractions(tweetRepository);
+        server.verify();
+    }
+
+    @DisplayName("Save all sends one batched request to discussion")
+    @Test
+    void saveAll_postsOneBatch() throws Exception {
+        // given
+        List<Comment> comments = List.of(
+                Comment.builder().content("first").tweet(Tweet.builder().id(1L).build()).build(),
+                Comment.builder().content("second").tweet(Tweet.builder().id(2L).build()).build());
+
+        List<CommentCassandraDTO> saved = new ArrayList<>();
+        for (long id = 1; id <= 2; id++) {
+            CommentCassandraDTO dto = new CommentCassandraDTO();
+            dto.setCountry("KZ");
+            dto.setId(id);
+            dto.setTweetId(id);
+            dto.setContent(id == 1 ? "first" : "second");
+            saved.add(dto);
+        }
+
+        server.expect(requestTo(URL + "/api/v1.0/comments/batch"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(jsonPath("$.comments.length()").value(2))
+                .andExpect(jsonPath("$.comments[0].country").value("KZ"))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(new CommentCassandraBatchDTO(saved)),
+                        MediaType.APPLICATION_JSON));
+        // when
+        List<Comment> result = underTest.saveAll(comments);
+        // then
+        assertEquals(List.of(1L, 2L), result.stream().map(Comment::getId).toList());
+        assertEquals(List.of(1L, 2L), result.stream().map(comment -> comment.getTweet().getId()).toList());
+        verifyNoInteractions(tweetRepository);
+        server.verify();
+    }
+
+    @DisplayName("Save all reports a conflict when discussion rejects moving a comment to another tweet")
+    @Test
+    void saveAll_throwsConflict_whenDiscussionReportsTweetChange() {
+        // given
+        List<Comment> comments = List.of(
+                Comment.builder().id(1L).content("moved").tweet(Tweet.builder().id(2L).build()).build());
+
+        server.expect(requestTo(URL + "/api/v1.0/comments/batch"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.CONFLICT));
+        // when
+        CustomException exception = assertThrows(CustomException.class, () -> underTest.saveAll(comments));
+        // then
+        assertEquals(HttpStatus.CONFLICT, exception.getHttpStatus());
+        assertEquals(ErrorMessage.COMMENT_TWEET_CHANGED.getText(), exception.getMessage());
+        server.verify();
+    }
+
+    @DisplayName("Find by id falls back to the last known comment and marks the response stale")
+    @Test
+    void findById_returnsStaleComment_whenDiscussionIsUnavailable() throws Exception {
+        // given
+        CommentCassandraDTO dto = new CommentCassandraDTO();
+        dto.setCountry("KZ");
+        dto.setId(1L);
+        dto.setTweetId(2L);
+        dto.setContent("content");
+
+        server.expect(requestTo(URL + "/api/v1.0/comments/1"))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(dto), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(URL + "/api/v1.0/comments/1"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        when(tweetRepository.findById(2L)).thenReturn(Optional.of(Tweet.builder().id(2L).title("title").build()));
+        Comment fresh = underTest.findById(1L).orElseThrow();
+        assertFalse(StaleResponse.isMarked());
+        // when
+        Optional<Comment> result = underTest.findById(1L);
+        // then
+        assertEquals(Optional.of(fresh), result);
+        assertTrue(StaleResponse.isMarked());
+        assertEquals(1.0, meterRegistry.counter("discussion.client.fallbacks",
+                "operation", "find-by-id", "result", "stale").count());
+        server.verify();
+    }
+
+    @DisplayName("Find by id resolves lookups through the batch loader when batching is enabled")
+    @Test
+    void findById_usesBatchLoader_whenBatchingEnabled() throws Exception {
+        // given
+        DiscussionProperties properties = new DiscussionProperties();
+        properties.getBatching().setEnabled(true);
+        CommentBatchLoader batchLoader = new CommentBatchLoader(restClient, discussionCallExecutor, meterRegistry,
+                properties);
+        CommentRepositoryImpl batched = new CommentRepositoryImpl(new CommentMapperImpl(), tweetRepository,
+                restClient, discussionCallExecutor, batchLoader, objectMapper, meterRegistry, properties);
+
+        CommentCassandraDTO dto = new CommentCassandraDTO();
+        dto.setCountry("KZ");
+        dto.setId(1L);
+        dto.setContent("content");
+
+        server.expect(requestTo(URL + "/api/v1.0/comments?ids=1"))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(List.of(dto)), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(URL + "/api/v1.0/comments?ids=2"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        // when
+        Optional<Comment> found = batched.findById(1L);
+        Optional<Comment> missing = batched.findById(2L);
+        batchLoader.shutdown();
+        // then
+        assertEquals("content", found.orElseThrow().getContent());
+        assertTrue(missing.isEmpty());
+        server.verify();
+    }
+
+    @DisplayName("Find by id fails when discussion is unavailable and nothing is cached")
+    @Test
+    void findById_throws_whenDiscussionIsUnavailableAndNothingCached() {
+        // given
+        server.expect(requestTo(URL + "/api/v1.0/comments/1"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        // when
+        assertThrows(DiscussionUnavailableException.class, () -> underTest.findById(1L));
+        // then
+        assertFalse(StaleResponse.isMarked());
+        assertEquals(1.0, meterRegistry.counter("discussion.client.fallbacks",
+                "operation", "find-by-id", "result", "miss").count());
+        verifyNoInteractions(tweetRepository);
+    }
+
+    @DisplayName("Find all falls back to the last listed comments instead of an empty list")
+    @Test
+    void findAll_returnsStaleList_whenDiscussionIsUnavailable() throws Exception {
+        // given
+        CommentCassandraDTO dto = new CommentCassandraDTO();
+        dto.setCountry("KZ");
+        dto.setId(1L);
+        dto.setTweetId(2L);
+        dto.setContent("content");
+
+        server.expect(requestTo(URL + "/api/v1.0/comments"))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(List.of(dto)), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(URL + "/api/v1.0/comments"))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+        when(tweetRepository.findAllByIdIn(List.of(2L))).thenReturn(List.of(Tweet.builder().id(2L).build()));
+        List<Comment> fresh = underTest.findAll();
+        // when
+        List<Comment> result = underTest.findAll();
+        // then
+        assertEquals(fresh, result);
+        assertEquals(1, result.size());
+        assertTrue(StaleResponse.isMarked());
+        server.verify();
+    }
+
+    @DisplayName("Save surfaces discussion failures instead of returning the unsaved comment")
+    @Test
+    void save_throws_whenDiscussionFails() {
+        // given
+        Comment comment = Comment.builder().content("content").tweet(Tweet.builder().id(1L).build()).build();
+        server.expect(requestTo(URL + "/api/v1.0/comments"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.BAD_GATEWAY));
+        // when
+        DiscussionUnavailableException exception = assertThrows(DiscussionUnavailableException.class,
+                () -> underTest.save(comment));
+        // then
+        assertEquals("save", exception.getOperation());
+        server.verify();
+    }
+
+    @DisplayName("Update sends one conditional PUT and reports a changed tweet")
+    @Test
+    void update_throwsTweetChanged_whenDiscussionReportsConflict() {
+        // given
+        Comment comment = Comment.builder().id(1L).content("content").tweet(Tweet.builder().id(2L).build()).build();
+        server.expect(requestTo(URL + "/api/v1.0/comments?moveTweet=false"))
+                .andExpect(method(HttpMethod.PUT))
+                .andExpect(jsonPath("$.tweetId").value(2))
+                .andRespond(withStatus(HttpStatus.CONFLICT));
+        // when
+        CommentTweetChangedException exception = assertThrows(CommentTweetChangedException.class,
+                () -> underTest.update(comment, false));
+        // then
+        assertEquals(1L, exception.getCommentId());
+        server.verify();
+        verifyNoInteractions(tweetRepository);
+    }
+
+    @DisplayName("Update reports a missing comment as not found")
+    @Test
+    void update_throwsNotFound_whenDiscussionReportsNotFound() {
+        // given
+        Comment comment = Comment.builder().id(1L).content("content").tweet(Tweet.builder().id(2L).build()).build();
+        server.expect(requestTo(URL + "/api/v1.0/comments?moveTweet=true"))
+                .andExpect(method(HttpMethod.PUT))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        // when
+        CustomException exception = assertThrows(CustomException.class, () -> underTest.update(comment, true));
+        // then
+        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+        server.verify();
+    }
+
+    @DisplayName("Stream all parses NDJSON incrementally and hydrates tweets one chunk at a time")
+    @Test
+    void streamAll_hydratesTweetsPerChunk_asTheStreamIsConsumed() throws Exception {
+        // given
+        StringBuilder ndjson = new StringBuilder();
+        for (long id = 1; id <= 2500; id++) {
+            CommentCassandraDTO dto = new CommentCassandraDTO();
+            dto.setCountry("KZ");
+            dto.setId(id);
+            dto.setTweetId(id);
+            dto.setContent("content-" + id);
+            ndjson.append(objectMapper.writeValueAsString(dto)).append('\n');
+        }
+
+        server.expect(requestTo(URL + "/api/v1.0/comments"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("Accept", MediaType.APPLICATION_NDJSON_VALUE))
+                .andRespond(withSuccess(ndjson.toString(), MediaType.APPLICATION_NDJSON));
+        when(tweetRepository.findAllByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .map(id -> Tweet.builder().id(id).title("title-" + id).build())
+                    .toList();
+        });
+        // when
+        try (Stream<Comment> comments = underTest.streamAll()) {
+            Iterator<Comment> iterator = comments.iterator();
+            Comment first = iterator.next();
+            // then
+            assertEquals("title-1", first.getTweet().getTitle());
+            verify(tweetRepository, times(1)).findAllByIdIn(anyCollection());
+
+            long remaining = 0;
+            while (iterator.hasNext()) {
+                Comment comment = iterator.next();
+                assertEquals("title-" + comment.getId(), comment.getTweet().getTitle());
+                remaining++;
+            }
+            assertEquals(2499, remaining);
+        }
+        verify(tweetRepository, times(3)).findAllByIdIn(anyCollection());
+        server.verify();
+    }
+
+    @DisplayName("Changes a caller makes to a found comment do not leak into the fallback cache")
+    @Test
+    void findById_returnsCopy_soCallerChangesDoNotReachCache() throws Exception {
+        // given
+        CommentCassandraDTO dto = new CommentCassandraDTO();
+        dto.setCountry("KZ");
+        dto.setId(1L);
+        dto.setTweetId(2L);
+        dto.setContent("content");
+
+        server.expect(requestTo(URL + "/api/v1.0/comments/1"))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(dto), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(URL + "/api/v1.0/comments/1"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        when(tweetRepository.findById(2L)).thenReturn(Optional.of(Tweet.builder().id(2L).build()));
+        Comment fresh = underTest.findById(1L).orElseThrow();
+        fresh.setContent("changed by caller");
+        // when
+        Comment stale = underTest.findById(1L).orElseThrow();
+        // then
+        assertEquals("content", stale.getContent());
+        assertNotSame(fresh, stale);
+        server.verify();
+    }
+
+    @DisplayName("Concurrent lookups of the same comment share one remote fetch and one tweet lookup")
+    @Test
+    void findById_coalescesConcurrentLookups() throws Exception {
+        // given
+        int callers = 8;
+        CommentCassandraDTO dto = new CommentCassandraDTO();
+        dto.setCountry("KZ");
+        dto.setId(1L);
+        dto.setTweetId(2L);
+        dto.setContent("content");
+
+        CountDownLatch release = new CountDownLatch(1);
+        server.expect(requestTo(URL + "/api/v1.0/comments/1"))
+                .andRespond(request -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return withSuccess(objectMapper.writeValueAsString(dto), MediaType.APPLICATION_JSON)
+                            .createResponse(request);
+                });
+        when(tweetRepository.findById(2L)).thenReturn(Optional.of(Tweet.builder().id(2L).build()));
+        // when
+        List<CompletableFuture<Optional<Comment>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> underTest.findById(1L), executor));
+            }
+            while (meterRegistry.counter("discussion.client.coalescing",
+                    "operation", "find-by-id", "role", "follower").count() < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+        }
+        // then
+        Set<Comment> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (CompletableFuture<Optional<Comment>> result : results) {
+            assertEquals(1L, result.join().orElseThrow().getId());
+            distinct.add(result.join().orElseThrow());
+        }
+        assertEquals(callers, distinct.size());
+        verify(tweetRepository, times(1)).findById(2L);
+        assertEquals((callers - 1) / (double) callers,
+                meterRegistry.get("discussion.client.coalescing.ratio").gauge().value());
+        server.verify();
+    }
+
+    @DisplayName("Find by id releases followers when the leader fails with an error")
+    @Test
+    void findById_failsFollowers_whenLeaderThrowsError() throws Exception {
+        // given
+        int callers = 4;
+        CommentCassandraDTO dto = new CommentCassandraDTO();
+        dto.setCountry("KZ");
+        dto.setId(1L);
+        dto.setTweetId(2L);
+        dto.setContent("content");
+
+        CountDownLatch release = new CountDownLatch(1);
+        server.expect(requestTo(URL + "/api/v1.0/comments/1"))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(dto), MediaType.APPLICATION_JSON));
+        when(tweetRepository.findById(2L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new StackOverflowError();
+        });
+        // when
+        List<CompletableFuture<Optional<Comment>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> underTest.findById(1L), executor));
+            }
+            while (meterRegistry.counter("discussion.client.coalescing",
+                    "operation", "find-by-id", "role", "follower").count() < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+        }
+        // then
+        for (CompletableFuture<Optional<Comment>> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> result.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, exception.getCause());
+        }
+    }
+
+    @DisplayName("Find by id stops waiting for the leader when the follower's deadline passes")
+    @Test
+    void findById_followerGivesUp_whenDeadlinePasses() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        server.expect(requestTo(URL + "/api/v1.0/comments/1"))
+                .andRespond(request -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return withStatus(HttpStatus.NOT_FOUND).createResponse(request);
+                });
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            CompletableFuture<Optional<Comment>> leader =
+                    CompletableFuture.supplyAsync(() -> underTest.findById(1L), executor);
+            while (meterRegistry.counter("discussion.client.coalescing",
+                    "operation", "find-by-id", "role", "leader").count() < 1) {
+                Thread.sleep(5);
+            }
+            // when
+            long started = System.nanoTime();
+            try (Deadline.Scope ignored = Deadline.after(Duration.ofMillis(100)).bind()) {
+                assertThrows(DeadlineExceededException.class, () -> underTest.findById(1L));
+            }
+            // then
+            assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1));
+            release.countDown();
+            assertTrue(leader.handle((result, error) -> true).get(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package dev.makos.publisher.repository;
+
+import dev.makos.publisher.config.DiscussionProperties;
+import dev.makos.publisher.exception.DeadlineExceededException;
+import dev.makos.publisher.exception.DiscussionUnavailableException;
+import dev.makos.publisher.util.Deadline;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static dev.makos.publisher.repository.DiscussionCallExecutor.DISCUSSION;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscussionCallExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private BulkheadRegistry bulkheadRegistry;
+    private TimeLimiterRegistry timeLimiterRegistry;
+    private DiscussionCallExecutor underTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordExceptions(ResourceAccessException.class, HttpServerErrorException.class, TimeoutException.class)
+                .build());
+        bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        timeLimiterRegistry = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofSeconds(5))
+                .build());
+        timeLimiterRegistry.timeLimiter(DISCUSSION + "-find-by-id", TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(100))
+                .build());
+        underTest = new DiscussionCallExecutor(bulkheadRegistry, circuitBreakerRegistry, timeLimiterRegistry,
+                meterRegistry, new DiscussionProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+    }
+
+    @DisplayName("Execute fails fast without calling discussion once the circuit is open")
+    @Test
+    void execute_failsFast_whenCircuitIsOpen() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(DiscussionUnavailableException.class, () -> underTest.execute("find-all", () -> {
+                calls.incrementAndGet();
+                throw new ResourceAccessException("Connection refused");
+            }));
+        }
+        // when
+        DiscussionUnavailableException exception = assertThrows(DiscussionUnavailableException.class,
+                () -> underTest.execute("find-all", calls::incrementAndGet));
+        // then
+        assertInstanceOf(CallNotPermittedException.class, exception.getCause());
+        assertEquals(4, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker(DISCUSSION).getState());
+        assertEquals(1.0, meterRegistry.counter("discussion.client.rejections",
+                "operation", "find-all", "reason", "circuit_open").count());
+    }
+
+    @DisplayName("Execute passes client errors through without counting them as failures")
+    @Test
+    void execute_rethrowsClientErrors_withoutOpeningCircuit() {
+        // given
+        HttpClientErrorException notFound = HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found",
+                null, null, null);
+        // when
+        for (int i = 0; i < 10; i++) {
+            assertThrows(HttpClientErrorException.NotFound.class, () -> underTest.execute("find-by-id", () -> {
+                throw notFound;
+            }));
+        }
+        // then
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(DISCUSSION);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @DisplayName("Execute times every call by operation and outcome")
+    @Test
+    void execute_recordsCallLatency_byOutcome() {
+        // given
+        HttpClientErrorException notFound = HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found",
+                null, null, null);
+        // when
+        underTest.execute("find-by-id", () -> "found");
+        assertThrows(HttpClientErrorException.class, () -> underTest.execute("find-by-id", () -> {
+            throw notFound;
+        }));
+        assertThrows(DiscussionUnavailableException.class, () -> underTest.execute("find-by-id", () -> {
+            throw HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null);
+        }));
+        // then
+        assertEquals(1, meterRegistry.timer("discussion.client.calls",
+                "operation", "find-by-id", "outcome", "SUCCESS").count());
+        assertEquals(1, meterRegistry.timer("discussion.client.calls",
+                "operation", "find-by-id", "outcome", "CLIENT_ERROR").count());
+        assertEquals(1, meterRegistry.timer("discussion.client.calls",
+                "operation", "find-by-id", "outcome", "SERVER_ERROR").count());
+    }
+
+    @DisplayName("Execute rejects calls beyond the bulkhead limit")
+    @Test
+    void execute_rejects_whenBulkheadIsFull() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> inFlight = CompletableFuture.supplyAsync(() -> underTest.execute("find-all", () -> {
+            started.countDown();
+            release.await();
+            return "done";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // when
+        DiscussionUnavailableException exception = assertThrows(DiscussionUnavailableException.class,
+                () -> underTest.execute("find-all", () -> "rejected"));
+        release.countDown();
+        // then
+        assertInstanceOf(BulkheadFullException.class, exception.getCause());
+        assertEquals("done", inFlight.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.counter("discussion.client.rejections",
+                "operation", "find-all", "reason", "bulkhead_full").count());
+    }
+
+    @DisplayName("Execute applies the per-operation timeout and interrupts the call")
+    @Test
+    void execute_timesOut_andInterruptsCall() throws Exception {
+        // given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        // when
+        DiscussionUnavailableException exception = assertThrows(DiscussionUnavailableException.class,
+                () -> underTest.execute("find-by-id", () -> {
+                    try {
+                        Thread.sleep(Duration.ofSeconds(10));
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return "late";
+                }));
+        // then
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals("find-by-id", exception.getOperation());
+    }
+
+    @DisplayName("Execute cuts the call short when the request deadline is tighter than the operation timeout")
+    @Test
+    void execute_timesOutAtDeadline_whenDeadlineIsTighter() {
+        // given
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+        DeadlineExceededException exception;
+        // when
+        try (Deadline.Scope ignored = Deadline.after(Duration.ofMillis(200)).bind()) {
+            exception = assertThrows(DeadlineExceededException.class, () -> underTest.execute("find-all", () -> {
+                seen.set(Deadline.current());
+                Thread.sleep(Duration.ofSeconds(10));
+                return "late";
+            }));
+        }
+        // then
+        assertNotNull(seen.get());
+        assertEquals("find-all", exception.getOperation());
+        assertEquals(0, circuitBreakerRegistry.circuitBreaker(DISCUSSION).getMetrics().getNumberOfFailedCalls());
+    }
+
+    @DisplayName("Execute does not call discussion once the request deadline has passed")
+    @Test
+    void execute_failsFast_whenDeadlineExpired() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        // when
+        try (Deadline.Scope ignored = Deadline.after(Duration.ZERO).bind()) {
+            assertThrows(DeadlineExceededException.class, () -> underTest.execute("find-all", calls::incrementAndGet));
+        }
+        // then
+        assertEquals(0, calls.get());
+        assertEquals(1.0, meterRegistry.counter("discussion.client.rejections",
+                "operation", "find-all", "reason", "deadline_exceeded").count());
+    }
+
+    @DisplayName("Execute hedged sends a second attempt when the first is slow and cancels the loser")
+    @Test
+    void executeHedged_returnsHedge_whenPrimaryIsSlow() throws Exception {
+        // given
+        DiscussionCallExecutor hedged = hedgingExecutor(100);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+        // when
+        String result = hedged.executeHedged("find-all", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(Duration.ofSeconds(10));
+                } catch (InterruptedException e) {
+                    primaryInterrupted.countDown();
+                }
+                return "primary";
+            }
+            return "hedge";
+        });
+        hedged.shutdown();
+        // then
+        assertEquals("hedge", result);
+        assertEquals(2, attempts.get());
+        assertTrue(primaryInterrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.counter("discussion.client.hedges.sent", "operation", "find-all").count());
+        assertEquals(1.0, meterRegistry.counter("discussion.client.hedges.won", "operation", "find-all").count());
+    }
+
+    @DisplayName("Execute hedged does not hedge answers that arrive before the hedge delay")
+    @Test
+    void executeHedged_doesNotHedge_whenPrimaryIsFast() {
+        // given
+        DiscussionCallExecutor hedged = hedgingExecutor(100);
+        AtomicInteger attempts = new AtomicInteger();
+        // when
+        String result = hedged.executeHedged("find-all", () -> "attempt-" + attempts.incrementAndGet());
+        hedged.shutdown();
+        // then
+        assertEquals("attempt-1", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, meterRegistry.counter("discussion.client.hedges.sent", "operation", "find-all").count());
+    }
+
+    @DisplayName("Execute hedged waits for the first attempt once the hedge budget is spent")
+    @Test
+    void executeHedged_waitsForPrimary_whenBudgetIsExhausted() {
+        // given
+        DiscussionCallExecutor hedged = hedgingExecutor(0);
+        AtomicInteger attempts = new AtomicInteger();
+        // when
+        String result = hedged.executeHedged("find-all", () -> {
+            attempts.incrementAndGet();
+            Thread.sleep(100);
+            return "primary";
+        });
+        hedged.shutdown();
+        // then
+        assertEquals("primary", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, meterRegistry.counter("discussion.client.hedges.sent", "operation", "find-all").count());
+    }
+
+    private DiscussionCallExecutor hedgingExecutor(int budgetPercent) {
+        DiscussionProperties properties = new DiscussionProperties();
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setAdaptive(false);
+        properties.getHedging().setDelay(Duration.ofMillis(20));
+        properties.getHedging().setBudgetPercent(budgetPercent);
+        return new DiscussionCallExecutor(bulkheadRegistry, circuitBreakerRegistry, timeLimiterRegistry,
+                meterRegistry, properties);
+    }
+}
@@ -1,11 +1,16 @@
 package dev.makos.publisher.service;
 
+import dev.makos.publisher.exception.CommentTweetChangedException;
 import dev.makos.publisher.exception.CustomException;
 import dev.makos.publisher.mapper.CommentMapper;
 import dev.makos.publisher.mapper.CommentMapperImpl;
+import dev.makos.publisher.model.dto.CommentBatchDTO;
 import dev.makos.publisher.model.dto.CommentDTO;
+import dev.makos.publisher.model.dto.CommentPageDTO;
 import dev.makos.publisher.model.entity.Comment;
 import dev.makos.publisher.model.entity.Tweet;
+import dev.makos.publisher.repository.AsyncCommentRepository;
+import dev.makos.publisher.repository.CommentPage;
 import dev.makos.publisher.repository.CommentRepository;
 import dev.makos.publisher.repository.TweetRepository;
 import dev.makos.publisher.util.ErrorMessage;
@@ -13,6 +18,7 @@ import org.instancio.Instancio;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -21,9 +27,15 @@ import org.springframework.http.HttpStatus;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +47,9 @@ class CommentServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private AsyncCommentRepository asyncCommentRepository;
+
     @Mock
     private TweetRepository tweetRepository;
 
@@ -81,6 +96,54 @@ class CommentServiceTest {
         assertEquals(commentDTO.getContent(), result.getContent());
     }
 
+    @DisplayName("Save comments in bulk with a missing tweet")
+    @Test
+    void saveAll_throwException_whenAnyTweetNotFound() {
+        // given
+        List<CommentDTO> commentDTOs = Instancio.ofList(CommentDTO.class).size(3).create();
+        Set<Long> tweetIds = commentDTOs.stream().map(CommentDTO::getTweetId).collect(Collectors.toSet());
+
+        when(tweetRepository.findExistingIds(tweetIds)).thenReturn(Set.of(commentDTOs.getFirst().getTweetId()));
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+                () -> underTest.saveAll(new CommentBatchDTO(commentDTOs)));
+        // then
+        assertEquals(ErrorMessage.TWEET_NOT_FOUND.getText(), exception.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+
+        verify(commentRepository, never()).saveAll(any());
+    }
+
+    @DisplayName("Save comments in bulk with one tweet query and one remote call")
+    @Test
+    void saveAll_saveComments_whenAllTweetsFound() {
+        // given
+        List<CommentDTO> commentDTOs = Instancio.ofList(CommentDTO.class).size(3).create();
+        commentDTOs.forEach(commentDTO -> commentDTO.setId(null));
+        Set<Long> tweetIds = commentDTOs.stream().map(CommentDTO::getTweetId).collect(Collectors.toSet());
+
+        when(tweetRepository.findExistingIds(tweetIds)).thenReturn(tweetIds);
+        when(commentRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Comment> comments = invocation.getArgument(0);
+            long id = 1;
+            for (Comment comment : comments) {
+                comment.setId(id++);
+            }
+            return comments;
+        });
+        // when
+        CommentBatchDTO result = underTest.saveAll(new CommentBatchDTO(commentDTOs));
+        // then
+        assertEquals(List.of(1L, 2L, 3L), result.getComments().stream().map(CommentDTO::getId).toList());
+        assertEquals(commentDTOs.stream().map(CommentDTO::getTweetId).toList(),
+                result.getComments().stream().map(CommentDTO::getTweetId).toList());
+
+        verify(tweetRepository, times(1)).findExistingIds(any());
+        verify(tweetRepository, never()).findById(any());
+        verify(commentRepository, times(1)).saveAll(any());
+        verify(commentRepository, never()).save(any());
+    }
+
     @DisplayName("Get one comment with no comment found")
     @Test
     void getOne_throwException_whenCommentNotFound() {
@@ -141,16 +204,13 @@ class CommentServiceTest {
         verify(commentRepository).deleteById(id);
     }
 
-    @DisplayName("Update one comment with different tweet")
+    @DisplayName("Update one comment with no tweet found")
     @Test
     void updateOne_throwException_whenTweetNotFound() {
         // given
         CommentDTO commentDTO = Instancio.create(CommentDTO.class);
-        commentDTO.setTweetId(1L);
-        Comment comment = Instancio.create(Comment.class);
-        comment.getTweet().setId(2L);
 
-        when(commentRepository.findById(commentDTO.getId())).thenReturn(Optional.of(comment));
+        when(commentRepository.update(any(), eq(false))).thenThrow(new CommentTweetChangedException(commentDTO.getId()));
         when(tweetRepository.findById(commentDTO.getTweetId())).thenReturn(Optional.empty());
         // when
         CustomException exception = assertThrows(CustomException.class, () -> underTest.updateOne(commentDTO));
@@ -158,7 +218,7 @@ class CommentServiceTest {
         assertEquals(ErrorMessage.TWEET_NOT_FOUND.getText(), exception.getMessage());
         assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
 
-        verify(commentRepository, never()).save(any());
+        verify(commentRepository, never()).update(any(), eq(true));
     }
 
     @DisplayName("Update one comment with no comment found")
@@ -167,14 +227,17 @@ class CommentServiceTest {
         // given
         CommentDTO commentDTO = Instancio.create(CommentDTO.class);
 
-        when(commentRepository.findById(commentDTO.getId())).thenReturn(Optional.empty());
+        when(commentRepository.update(any(), eq(false))).thenThrow(CustomException.builder()
+                .message(ErrorMessage.COMMENT_NOT_FOUND.getText())
+                .httpStatus(HttpStatus.NOT_FOUND)
+                .build());
         // when
         CustomException exception = assertThrows(CustomException.class, () -> underTest.updateOne(commentDTO));
         // then
         assertEquals(ErrorMessage.COMMENT_NOT_FOUND.getText(), exception.getMessage());
         assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
 
-        verify(commentRepository, never()).save(any());
+        verifyNoInteractions(tweetRepository);
     }
 
     @DisplayName("Update one comment with different tweet")
@@ -182,25 +245,18 @@ class CommentServiceTest {
     void updateOne_updateComment_whenDifferentTweet() {
         // given
         CommentDTO commentDTO = Instancio.create(CommentDTO.class);
-        Comment entity = Instancio.create(Comment.class);
-        entity.setId(commentDTO.getId());
-        entity.setTweet(Instancio.create(Tweet.class));
-        entity.getTweet().setId(1L);
-        entity.setContent("old content");
-
         Tweet tweet = Instancio.create(Tweet.class);
-        tweet.setId(2L);
+        tweet.setId(commentDTO.getTweetId());
 
-        when(commentRepository.findById(commentDTO.getId())).thenReturn(Optional.of(entity));
+        when(commentRepository.update(any(), eq(false))).thenThrow(new CommentTweetChangedException(commentDTO.getId()));
         when(tweetRepository.findById(commentDTO.getTweetId())).thenReturn(Optional.of(tweet));
-        when(commentRepository.save(any())).thenReturn(entity);
+        doAnswer(invocation -> invocation.getArgument(0)).when(commentRepository).update(any(), eq(true));
         // when
         CommentDTO result = underTest.updateOne(commentDTO);
         // then
-        assertNotNull(result);
-        assertEquals(commentDTO.getId(), result.getId());
-        assertEquals(tweet.getId(), result.getTweetId());
-        assertEquals(commentDTO.getContent(), result.getContent());
+        assertEquals(commentDTO, result);
+
+        verify(commentRepository).update(argThat(comment -> comment.getTweet() == tweet), eq(true));
     }
 
     @DisplayName("Update one comment with same tweet")
@@ -208,23 +264,15 @@ class CommentServiceTest {
     void updateOne_updateComment_whenSameTweet() {
         // given
         CommentDTO commentDTO = Instancio.create(CommentDTO.class);
-        Comment entity = Instancio.create(Comment.class);
-        entity.setId(commentDTO.getId());
-        entity.setTweet(Instancio.create(Tweet.class));
-        entity.getTweet().setId(commentDTO.getTweetId());
-        entity.setContent("old content");
 
-        when(commentRepository.findById(commentDTO.getId())).thenReturn(Optional.of(entity));
-        when(commentRepository.save(any())).thenReturn(entity);
+        when(commentRepository.update(any(), eq(false))).thenAnswer(invocation -> invocation.getArgument(0));
         // when
         CommentDTO result = underTest.updateOne(commentDTO);
         // then
-        assertNotNull(result);
-        assertEquals(commentDTO.getId(), result.getId());
-        assertEquals(commentDTO.getTweetId(), result.getTweetId());
-        assertEquals(commentDTO.getContent(), result.getContent());
+        assertEquals(commentDTO, result);
 
-        verify(tweetRepository, never()).findById(any());
+        verify(commentRepository, times(1)).update(any(), anyBoolean());
+        verifyNoInteractions(tweetRepository);
     }
 
     @DisplayName("Get all comments")
@@ -242,4 +290,101 @@ class CommentServiceTest {
         assertEquals(2, result.size());
         assertEquals(expected, result);
     }
-}
\ No newline at end of file
+
+    @DisplayName("Get one page of comments")
+    @Test
+    void getPage_returnCommentsAndNextCursor() {
+        // given
+        List<Comment> comments = Instancio.ofList(Comment.class).size(2).create();
+        List<CommentDTO> expected = comments.stream().map(commentMapper::toDTO).toList();
+
+        when(commentRepository.findPage(2, "Bwg")).thenReturn(new CommentPage(comments, "CQo"));
+        // when
+        CommentPageDTO result = underTest.getPage(2, "Bwg");
+        // then
+        assertEquals(expected, result.getComments());
+        assertEquals("CQo", result.getNext());
+    }
+
+    @DisplayName("Get one page of comments with a limit out of range")
+    @Test
+    void getPage_throwException_whenLimitOutOfRange() {
+        // when
+        CustomException exception = assertThrows(CustomException.class, () -> underTest.getPage(1001, null));
+        // then
+        assertEquals(ErrorMessage.INVALID_PAGE_LIMIT.getText(), exception.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        verifyNoInteractions(commentRepository);
+    }
+
+    @DisplayName("Get one page of the comments of a tweet")
+    @Test
+    void getPageByTweet_returnCommentsOfTweet() {
+        // given
+        Tweet tweet = Instancio.create(Tweet.class);
+        List<Comment> comments = Instancio.ofList(Comment.class).size(2).create();
+        comments.forEach(comment -> comment.setTweet(tweet));
+        List<CommentDTO> expected = comments.stream().map(commentMapper::toDTO).toList();
+
+        when(asyncCommentRepository.findPageByTweet(tweet.getId(), 2, null))
+                .thenReturn(CompletableFuture.completedFuture(new CommentPage(comments, "AAAAAAAAAAE")));
+        when(tweetRepository.findById(tweet.getId())).thenReturn(Optional.of(tweet));
+        // when
+        CommentPageDTO result = underTest.getPageByTweet(tweet.getId(), 2, null);
+        // then
+        assertEquals(expected, result.getComments());
+        assertEquals("AAAAAAAAAAE", result.getNext());
+        comments.forEach(comment -> assertSame(tweet, comment.getTweet()));
+        InOrder inOrder = inOrder(asyncCommentRepository, tweetRepository);
+        inOrder.verify(asyncCommentRepository).findPageByTweet(tweet.getId(), 2, null);
+        inOrder.verify(tweetRepository).findById(tweet.getId());
+    }
+
+    @DisplayName("Get one page of the comments of a missing tweet")
+    @Test
+    void getPageByTweet_throwException_whenTweetNotFound() {
+        // given
+        CompletableFuture<CommentPage> remotePage = new CompletableFuture<>();
+        when(asyncCommentRepository.findPageByTweet(1L, 2, null)).thenReturn(remotePage);
+        when(tweetRepository.findById(1L)).thenReturn(Optional.empty());
+        // when
+        CustomException exception = assertThrows(CustomException.class, () -> underTest.getPageByTweet(1L, 2, null));
+        // then
+        assertEquals(ErrorMessage.TWEET_NOT_FOUND.getText(), exception.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+        assertTrue(remotePage.isCancelled());
+    }
+
+    @DisplayName("Get one page of the comments of a tweet with a cursor discussion rejects")
+    @Test
+    void getPageByTweet_throwException_whenCursorInvalid() {
+        // given
+        Tweet tweet = Instancio.create(Tweet.class);
+        CustomException invalidCursor = CustomException.builder()
+                .message(ErrorMessage.INVALID_CURSOR.getText())
+                .httpStatus(HttpStatus.BAD_REQUEST)
+                .build();
+
+        when(asyncCommentRepository.findPageByTweet(tweet.getId(), 2, "bad"))
+                .thenReturn(CompletableFuture.failedFuture(invalidCursor));
+        when(tweetRepository.findById(tweet.getId())).thenReturn(Optional.of(tweet));
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+                () -> underTest.getPageByTweet(tweet.getId(), 2, "bad"));
+        // then
+        assertSame(invalidCursor, exception);
+    }
+
+    @Test
+    void streamAll_mapsStreamedComments() {
+        // given
+        List<Comment> comments = Instancio.ofList(Comment.class).size(3).create();
+        List<CommentDTO> expected = comments.stream().map(commentMapper::toDTO).toList();
+
+        when(commentRepository.streamAll()).thenReturn(comments.stream());
+        // when
+        List<CommentDTO> result = underTest.streamAll().toList();
+        // then
+        assertEquals(expected, result);
+    }
+}
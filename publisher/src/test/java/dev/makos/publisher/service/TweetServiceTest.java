@@ -6,6 +6,7 @@ import dev.makos.publisher.mapper.TweetMapperImpl;
 import dev.makos.publisher.model.dto.TweetDTO;
 import dev.makos.publisher.model.entity.Creator;
 import dev.makos.publisher.model.entity.Tweet;
+import dev.makos.publisher.repository.CommentRepository;
 import dev.makos.publisher.repository.CreatorRepository;
 import dev.makos.publisher.repository.TweetRepository;
 import dev.makos.publisher.util.ErrorMessage;
@@ -20,6 +21,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +40,9 @@ class TweetServiceTest {
     @Mock
     private CreatorRepository creatorRepository;
 
+    @Mock
+    private CommentRepository commentRepository;
+
     @InjectMocks
     private TweetService underTest;
 
@@ -273,10 +278,31 @@ class TweetServiceTest {
 
         when(tweetRepository.findAll()).thenReturn(tweets);
         // when
-        List<TweetDTO> result = underTest.getAll();
+        List<TweetDTO> result = underTest.getAll(false);
         // then
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals(expected, result);
+
+        verifyNoInteractions(commentRepository);
+    }
+
+    @DisplayName("Get all tweets with comment counts from one batched call")
+    @Test
+    void getAll_fillsCommentCounts_whenRequested() {
+        // given
+        List<Tweet> tweets = Instancio.ofList(Tweet.class).size(2).create();
+        Long firstId = tweets.get(0).getId();
+        Long secondId = tweets.get(1).getId();
+
+        when(tweetRepository.findAll()).thenReturn(tweets);
+        when(commentRepository.countByTweetIds(List.of(firstId, secondId))).thenReturn(Map.of(firstId, 3L));
+        // when
+        List<TweetDTO> result = underTest.getAll(true);
+        // then
+        assertEquals(3L, result.get(0).getCommentCount());
+        assertEquals(0L, result.get(1).getCommentCount());
+
+        verify(commentRepository, times(1)).countByTweetIds(any());
     }
 }
\ No newline at end of file